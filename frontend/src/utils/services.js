@@ -77,7 +77,31 @@ function errorHandler(error) {
   return response;
 }
 
-export const useTimeKeeperAPI = (urlAPI, ...rest) => {
+// The collections are sent by pages, the cursor of the next page is in this header (absent on the last page)
+const NEXT_CURSOR = 'X-Next-Cursor';
+
+/**
+ * GET an endpoint, and the next pages while the response has the cursor of a next page.
+ * The items of the pages are returned as one list, as the body of a single page response.
+ *
+ * @param url the endpoint to call
+ * @param after the cursor of the page, or undefined for the first page
+ * @param items the items of the previous pages
+ */
+const fetchAllPages = (url, after, items = []) => {
+  const pageUrl = after ? url + (url.includes('?') ? '&' : '?') + 'after=' + after : url;
+  // The errors are thrown, so that useRequest returns them
+  return request(pageUrl, {getResponse: true, errorHandler: error => { throw error; }})
+    .then(({data, response}) => {
+      const nextCursor = response.headers.get(NEXT_CURSOR);
+      if (!Array.isArray(data)) {
+        return data;
+      }
+      return nextCursor ? fetchAllPages(url, nextCursor, items.concat(data)) : items.concat(data);
+    });
+};
+
+export const useTimeKeeperAPI = (urlAPI, options) => {
   const [keycloak, initialized] = useKeycloak();
 
   // Do a dummy usage of request to avoid a warn at compile
@@ -94,7 +118,7 @@ export const useTimeKeeperAPI = (urlAPI, ...rest) => {
   }, [urlAPI, initialized, keycloak]
   );
 
-  const toReturn = useRequest(process.env.REACT_APP_QUARKUS_BACKEND + urlAPI, ...rest);
+  const toReturn = useRequest(() => fetchAllPages(process.env.REACT_APP_QUARKUS_BACKEND + urlAPI), {...options, refreshDeps: [urlAPI]});
 
   if (toReturn.error) {
     console.log('got an error');
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.gauges;
+
+import io.quarkus.runtime.StartupEvent;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.annotation.Gauge;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hits and misses of the cache of the authentication contexts (see AuthenticationContextProvider)
+ */
+@ApplicationScoped
+public class AuthenticationCacheGauge {
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public void hit() {
+        hits.incrementAndGet();
+    }
+
+    public void miss() {
+        misses.incrementAndGet();
+    }
+
+    @Gauge(name = "authenticationCacheHits", unit = MetricUnits.NONE, description = "Number of requests authenticated from the cache")
+    public Long hits() {
+        return hits.get();
+    }
+
+    @Gauge(name = "authenticationCacheMisses", unit = MetricUnits.NONE, description = "Number of requests authenticated with the database")
+    public Long misses() {
+        return misses.get();
+    }
+
+    void init(@Observes StartupEvent event) {
+        // keep this method as it is required by Quarkus
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.gauges;
+
+import io.quarkus.runtime.StartupEvent;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.annotation.Gauge;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+/**
+ * Time and duration of the last refresh of the materialized views of the dashboard (see DashboardService)
+ */
+@ApplicationScoped
+public class DashboardRefreshGauge {
+
+    private volatile long lastRefreshTime;
+    private volatile long lastRefreshDuration;
+
+    public void refreshed(long time, long duration) {
+        lastRefreshTime = time;
+        lastRefreshDuration = duration;
+    }
+
+    @Gauge(name = "dashboardLastRefreshTime", unit = MetricUnits.MILLISECONDS, description = "Time of the last refresh of the dashboard views, since the epoch, 0 before the first refresh")
+    public Long lastRefreshTime() {
+        return lastRefreshTime;
+    }
+
+    @Gauge(name = "dashboardLastRefreshDuration", unit = MetricUnits.MILLISECONDS, description = "Duration of the last refresh of the dashboard views")
+    public Long lastRefreshDuration() {
+        return lastRefreshDuration;
+    }
+
+    void init(@Observes StartupEvent event) {
+        // keep this method as it is required by Quarkus
+    }
+}
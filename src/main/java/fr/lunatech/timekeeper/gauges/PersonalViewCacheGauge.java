@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.gauges;
+
+import io.quarkus.runtime.StartupEvent;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.annotation.Gauge;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size, hits, misses and evictions of the cache of the personal weeks and months (see PersonalViewCache)
+ */
+@ApplicationScoped
+public class PersonalViewCacheGauge {
+
+    private final AtomicLong size = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public void resized(int size) {
+        this.size.set(size);
+    }
+
+    public void hit() {
+        hits.incrementAndGet();
+    }
+
+    public void miss() {
+        misses.incrementAndGet();
+    }
+
+    public void evicted(int count) {
+        evictions.addAndGet(count);
+    }
+
+    @Gauge(name = "personalViewCacheSize", unit = MetricUnits.NONE, description = "Number of personal weeks and months in the cache")
+    public Long size() {
+        return size.get();
+    }
+
+    @Gauge(name = "personalViewCacheHits", unit = MetricUnits.NONE, description = "Number of personal weeks and months served from the cache")
+    public Long hits() {
+        return hits.get();
+    }
+
+    @Gauge(name = "personalViewCacheMisses", unit = MetricUnits.NONE, description = "Number of personal weeks and months loaded from the database")
+    public Long misses() {
+        return misses.get();
+    }
+
+    @Gauge(name = "personalViewCacheHitRatio", unit = MetricUnits.NONE, description = "Share of the personal weeks and months served from the cache, between 0 and 1")
+    public Double hitRatio() {
+        final long served = hits.get();
+        final long total = served + misses.get();
+        return total == 0 ? 0d : (double) served / total;
+    }
+
+    @Gauge(name = "personalViewCacheEvictions", unit = MetricUnits.NONE, description = "Number of personal weeks and months dropped from the cache after a change")
+    public Long evictions() {
+        return evictions.get();
+    }
+
+    void init(@Observes StartupEvent event) {
+        // keep this method as it is required by Quarkus
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.jobs;
+
+import fr.lunatech.timekeeper.services.AbsenceCounterService;
+import io.quarkus.scheduler.Scheduled;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+/**
+ * Recomputes the absence counters from the userEvents, with the public holidays of the calendar.
+ * The counters are maintained by UserEventService, this job fixes any drift (userEvents changed directly in the database...)
+ */
+@ApplicationScoped
+public class AbsenceCountersRepairJob {
+
+    private static Logger logger = LoggerFactory.getLogger(AbsenceCountersRepairJob.class);
+
+    @Inject
+    AbsenceCounterService absenceCounterService;
+
+    @Scheduled(cron = "{timekeeper.jobs.absence-counters-repair.cron}")
+    void repair() {
+        final int users = absenceCounterService.rebuild();
+        logger.debug("Rebuilt the absence counters of {} users", users);
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package fr.lunatech.timekeeper.jobs;
+
+import fr.lunatech.timekeeper.services.TimeSheetService;
+import io.quarkus.scheduler.Scheduled;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+/**
+ * Recomputes the consumed hours of the timesheets from their entries.
+ * The counter is maintained by TimeEntryService, this job fixes any drift (entries changed directly in the database...)
+ */
+@ApplicationScoped
+public class ConsumedHoursRepairJob {
+
+    private static Logger logger = LoggerFactory.getLogger(ConsumedHoursRepairJob.class);
+
+    @Inject
+    TimeSheetService timeSheetService;
+
+    @Scheduled(cron = "{timekeeper.jobs.consumed-hours-repair.cron}")
+    void repair() {
+        final int repaired = timeSheetService.repairConsumedHours();
+        if (repaired > 0) {
+            logger.warn("Repaired the consumed hours of {} timesheets", repaired);
+        } else {
+            logger.debug("The consumed hours of the timesheets are in sync");
+        }
+    }
+}
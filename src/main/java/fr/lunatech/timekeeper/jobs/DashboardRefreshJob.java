@@ -0,0 +1,39 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.jobs;
+
+import fr.lunatech.timekeeper.services.DashboardService;
+import io.quarkus.scheduler.Scheduled;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+/**
+ * Refreshes the materialized views of the dashboard : the dashboard shows the time entries and userEvents as of the last refresh.
+ */
+@ApplicationScoped
+public class DashboardRefreshJob {
+
+    @Inject
+    DashboardService dashboardService;
+
+    @Scheduled(cron = "{timekeeper.jobs.dashboard-refresh.cron}")
+    void refresh() {
+        dashboardService.refresh();
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.jobs;
+
+import fr.lunatech.timekeeper.services.MonthlySnapshotService;
+import io.quarkus.scheduler.Scheduled;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.time.YearMonth;
+
+/**
+ * Writes the snapshot of the billable and non billable hours of the previous month, once it is closed, and of the
+ * closed months missed since the last snapshot. Each month is written in its own transaction.
+ * The job can run several times for a month (several instances, a restart...), the snapshot is only written once.
+ */
+@ApplicationScoped
+public class MonthlySnapshotJob {
+
+    @Inject
+    MonthlySnapshotService monthlySnapshotService;
+
+    @Scheduled(cron = "{timekeeper.jobs.monthly-snapshot.cron}")
+    void snapshotPreviousMonth() {
+        monthlySnapshotService.findMonthsToSnapshot(YearMonth.now().minusMonths(1))
+                .forEach(monthlySnapshotService::snapshot);
+    }
+}
@@ -45,4 +45,7 @@ public class Client extends PanacheEntityBase {
     @NotNull
     public List<Project> projects;
 
+    @Version
+    public Long version;
+
 }
@@ -47,4 +47,7 @@ public class Organization extends PanacheEntityBase {
     @OneToMany(mappedBy = "organization")
     @NotNull
     public List<Project> clients;
+
+    @Version
+    public Long version;
 }
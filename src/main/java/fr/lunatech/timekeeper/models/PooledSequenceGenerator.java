@@ -0,0 +1,53 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package fr.lunatech.timekeeper.models;
+
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.hibernate.MappingException;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Sequence generator with the pooled optimizer : one call to the sequence reserves a block of ids,
+ * so that Hibernate can batch the inserts of the entities created in bulk (userEvents, timesheets...).
+ * The size of a block is read from timekeeper.id.allocation-size, it must be equal to the increment
+ * of the database sequence (see V24__pooled_sequences_for_bulk_inserts.sql) : it is checked at startup
+ * by SequenceAllocationChecker, as the increment is only set when the migration runs.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String ALLOCATION_SIZE = "timekeeper.id.allocation-size";
+
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    // The sequences of the entities generated with this generator
+    public static final List<String> SEQUENCES = List.of("projects_users_id_seq", "timesheets_id_seq", "timeentries_id_seq", "user_events_id_seq");
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        final int allocationSize = ConfigProvider.getConfig()
+                .getOptionalValue(ALLOCATION_SIZE, Integer.class)
+                .orElse(DEFAULT_ALLOCATION_SIZE);
+        params.setProperty(INCREMENT_PARAM, Integer.toString(allocationSize));
+        params.setProperty(OPT_PARAM, "pooled");
+        super.configure(type, params, serviceRegistry);
+    }
+}
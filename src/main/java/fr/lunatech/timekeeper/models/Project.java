@@ -31,7 +31,19 @@ import static java.util.Optional.ofNullable;
 
 @Entity
 @Table(name = "projects", uniqueConstraints = {@UniqueConstraint(columnNames = {"name", "organization_id"})})
+@NamedEntityGraph(name = Project.GRAPH_FOR_LISTING,
+        attributeNodes = {
+                @NamedAttributeNode("organization"),
+                @NamedAttributeNode("client")
+        })
 public class Project extends PanacheEntityBase {
+    /**
+     * Fetch plan used to list projects : client and organization are loaded with the project.
+     * The members are not join fetched so that the listing can be paginated by the database, they are read for the
+     * whole page with a second query (see ProjectService.fetchMembers)
+     */
+    public static final String GRAPH_FOR_LISTING = "Project.forListing";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     public Long id;
@@ -18,6 +18,10 @@ package fr.lunatech.timekeeper.models;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 
@@ -25,7 +29,9 @@ import javax.validation.constraints.NotNull;
 @Table(name = "projects_users", uniqueConstraints = {@UniqueConstraint(columnNames = {"project_id", "user_id"})})
 public class ProjectUser extends PanacheEntityBase {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "projects_users_id_seq")
+    @GenericGenerator(name = "projects_users_id_seq", strategy = "fr.lunatech.timekeeper.models.PooledSequenceGenerator",
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "projects_users_id_seq"))
     public Long id;
 
     @ManyToOne
@@ -27,7 +27,15 @@ import java.util.List;
 
 @Entity
 @Table(name = "users", uniqueConstraints = {@UniqueConstraint(columnNames = {"email"})})
+@NamedEntityGraph(name = User.GRAPH_FOR_LISTING,
+        attributeNodes = @NamedAttributeNode("organization"))
 public class User extends PanacheEntityBase {
+    /**
+     * Fetch plan used to list users : the organization is loaded with the user.
+     * The projects are not join fetched so that the listing can be paginated by the database, they are batch fetched
+     */
+    public static final String GRAPH_FOR_LISTING = "User.forListing";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     public Long id;
@@ -59,6 +67,11 @@ public class User extends PanacheEntityBase {
     @NotNull
     public List<ProjectUser> projects;
 
+    // Not an optimistic lock : incremented by UserService.authenticate when the token changes the user, as two
+    // authentications at the same time must not fail. It changes the entity tags of the responses that show the user
+    @NotNull
+    public Long version = 0L;
+
     public User() {
 
     }
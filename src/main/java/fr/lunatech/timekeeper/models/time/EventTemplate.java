@@ -63,6 +63,9 @@ public class EventTemplate extends PanacheEntityBase {
     @NotNull
     public User creator;
 
+    @Version
+    public Long version;
+
     @Override
     public String toString() {
         return "EventTemplate{" +
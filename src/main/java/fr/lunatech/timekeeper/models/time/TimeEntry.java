@@ -18,6 +18,10 @@ package fr.lunatech.timekeeper.models.time;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import java.time.Duration;
@@ -27,7 +31,9 @@ import java.time.LocalDateTime;
 @Table(name = "timeentries")
 public class TimeEntry extends PanacheEntityBase {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "timeentries_id_seq")
+    @GenericGenerator(name = "timeentries_id_seq", strategy = "fr.lunatech.timekeeper.models.PooledSequenceGenerator",
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "timeentries_id_seq"))
     public Long id;
 
     @Column(name = "comment", length = 255)
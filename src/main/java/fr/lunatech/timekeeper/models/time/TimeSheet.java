@@ -21,6 +21,10 @@ import fr.lunatech.timekeeper.models.User;
 import fr.lunatech.timekeeper.timeutils.TimeUnit;
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Null;
@@ -29,9 +33,27 @@ import java.util.List;
 
 @Entity
 @Table(name = "timesheets")
+@NamedEntityGraph(name = TimeSheet.GRAPH_FOR_LISTING,
+        attributeNodes = {
+                @NamedAttributeNode(value = "project", subgraph = "project"),
+                @NamedAttributeNode(value = "owner", subgraph = "owner")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "project", attributeNodes = {@NamedAttributeNode("organization"), @NamedAttributeNode("client")}),
+                @NamedSubgraph(name = "owner", attributeNodes = @NamedAttributeNode("organization"))
+        })
 public class TimeSheet extends PanacheEntityBase {
+    /**
+     * Fetch plan used to list timesheets : project, client and owner are loaded with the timesheet.
+     * Project members are read for all the timesheets with one query (see ProjectService.fetchMembers),
+     * entries are batch fetched (see quarkus.hibernate-orm.batch-fetch-size)
+     */
+    public static final String GRAPH_FOR_LISTING = "TimeSheet.forListing";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "timesheets_id_seq")
+    @GenericGenerator(name = "timesheets_id_seq", strategy = "fr.lunatech.timekeeper.models.PooledSequenceGenerator",
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "timesheets_id_seq"))
     public Long id;
 
     @ManyToOne
@@ -68,6 +90,19 @@ public class TimeSheet extends PanacheEntityBase {
     @NotNull
     public LocalDate startDate;
 
+    // Sum of the rounded hours of the entries, only written by TimeSheetService.addConsumedHours and the repair job
+    @NotNull
+    @Column(updatable = false)
+    public Long consumedHours = 0L;
+
+    @Version
+    public Long version;
+
+    // Incremented with the consumed hours, apart from the version so that a new entry does not conflict with an update
+    @NotNull
+    @Column(name = "entries_version", updatable = false)
+    public Long entriesVersion = 0L;
+
     public TimeSheet() {}
 
     public TimeSheet(@NotNull Project project,
@@ -88,6 +123,7 @@ public class TimeSheet extends PanacheEntityBase {
         this.durationUnit = durationUnit;
         this.entries = entries;
         this.startDate = startDate;
+        this.consumedHours = entries == null ? 0L : entries.stream().mapToLong(TimeEntry::getRoundedNumberOfHours).sum();
     }
 
     @Override
@@ -103,6 +139,7 @@ public class TimeSheet extends PanacheEntityBase {
                 ", durationUnit=" + durationUnit +
                 ", entries=" + entries +
                 ", startDate=" + startDate +
+                ", consumedHours=" + consumedHours +
                 '}';
     }
 }
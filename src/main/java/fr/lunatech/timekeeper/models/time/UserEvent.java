@@ -21,11 +21,18 @@ import fr.lunatech.timekeeper.models.User;
 import fr.lunatech.timekeeper.timeutils.TimeKeeperDateUtils;
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Null;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * An Event is something that "block" a cell in your TimeSheet, so that one cannot enters TimeEntry for this
@@ -38,7 +45,9 @@ import java.time.LocalDateTime;
 @Table(name = "user_events")
 public class UserEvent extends PanacheEntityBase {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_events_id_seq")
+    @GenericGenerator(name = "user_events_id_seq", strategy = "fr.lunatech.timekeeper.models.PooledSequenceGenerator",
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "user_events_id_seq"))
     public Long id;
 
     @NotNull
@@ -113,6 +122,34 @@ public class UserEvent extends PanacheEntityBase {
         return TimeKeeperDateUtils.computeTotalNumberOfHours(startDateTime, endDateTime);
     }
 
+    public Map<LocalDate, Long> getHoursPerDay() {
+        return hoursPerDay(startDateTime, endDateTime);
+    }
+
+    /**
+     * Splits a userEvent by day, the same way as the EventUserDayResponse of the UserEventResponse :
+     * from the start to 5PM the first day, from 9AM to 5PM the days in between and from 9AM to the end the last day.
+     * Must stay in line with the initial load of V27__create_user_day_hours.sql
+     *
+     * @param startDateTime is the start of the userEvent
+     * @param endDateTime   is the end of the userEvent
+     * @return the number of hours for each day of the userEvent, empty if a date is missing or the end is before the start
+     */
+    public static Map<LocalDate, Long> hoursPerDay(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        final Map<LocalDate, Long> hours = new LinkedHashMap<>();
+        if (startDateTime == null || endDateTime == null || endDateTime.isBefore(startDateTime)) {
+            return hours;
+        }
+        final LocalDate firstDay = startDateTime.toLocalDate();
+        final LocalDate lastDay = endDateTime.toLocalDate();
+        firstDay.datesUntil(lastDay.plusDays(1)).forEach(day -> {
+            final LocalDateTime from = day.equals(firstDay) ? startDateTime.truncatedTo(ChronoUnit.MINUTES) : day.atTime(9, 0);
+            final LocalDateTime to = day.equals(lastDay) ? endDateTime.truncatedTo(ChronoUnit.MINUTES) : day.atTime(17, 0);
+            hours.put(day, Math.max(0L, from.until(to, ChronoUnit.HOURS)));
+        });
+        return hours;
+    }
+
     @Override
     public String toString() {
         return "UserEvent{" +
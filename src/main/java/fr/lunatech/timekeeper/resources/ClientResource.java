@@ -18,6 +18,8 @@ package fr.lunatech.timekeeper.resources;
 
 import fr.lunatech.timekeeper.resources.openapi.ClientResourceApi;
 import fr.lunatech.timekeeper.resources.providers.AuthenticationContextProvider;
+import fr.lunatech.timekeeper.resources.providers.EntityTagProvider;
+import fr.lunatech.timekeeper.resources.providers.PaginationProvider;
 import fr.lunatech.timekeeper.services.ClientService;
 import fr.lunatech.timekeeper.services.requests.ClientRequest;
 import fr.lunatech.timekeeper.services.responses.ClientResponse;
@@ -29,10 +31,12 @@ import javax.annotation.security.RolesAllowed;
 import javax.inject.Inject;
 import javax.validation.Valid;
 import javax.ws.rs.NotFoundException;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import java.net.URI;
-import java.util.List;
+import java.util.Optional;
 
 public class ClientResource implements ClientResourceApi {
 
@@ -42,13 +46,22 @@ public class ClientResource implements ClientResourceApi {
     @Inject
     AuthenticationContextProvider authentication;
 
+    @Inject
+    PaginationProvider pagination;
+
+    @Inject
+    EntityTagProvider entityTags;
+
+    @Context
+    Request request;
+
     @RolesAllowed({"user", "admin"})
     @Override
     @Counted(name = "countGetAllClients", description = "Counts how many times the user load the client list on method 'getAllClients'")
     @Timed(name = "timeGetAllClients", description = "Times how long it takes the user load the client list on method 'getAllClients'", unit = MetricUnits.MILLISECONDS)
-    public List<ClientResponse> getAllClients() {
+    public Response getAllClients(Optional<Long> after, Optional<Integer> limit) {
         final var ctx = authentication.context();
-        return clientService.listAllResponses(ctx);
+        return pagination.response(clientService.listAllResponses(ctx, pagination.page(after, limit)));
     }
 
     @RolesAllowed({"admin"})
@@ -68,6 +81,8 @@ public class ClientResource implements ClientResourceApi {
     @Override
     public ClientResponse getClient(Long id) {
         final var ctx = authentication.context();
+        entityTags.evaluate(request, clientService.findVersionTagById(id, ctx)
+                .orElseThrow(NotFoundException::new));
         return clientService.findResponseById(id, ctx)
                 .orElseThrow(NotFoundException::new);
     }
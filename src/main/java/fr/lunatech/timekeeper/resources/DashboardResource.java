@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.resources;
+
+import fr.lunatech.timekeeper.resources.openapi.DashboardResourceApi;
+import fr.lunatech.timekeeper.resources.providers.AuthenticationContextProvider;
+import fr.lunatech.timekeeper.services.DashboardService;
+import fr.lunatech.timekeeper.services.requests.PeriodRequest;
+import fr.lunatech.timekeeper.services.responses.DashboardAbsencesResponse;
+import fr.lunatech.timekeeper.services.responses.DashboardFillRateResponse;
+import fr.lunatech.timekeeper.services.responses.DashboardProjectHoursResponse;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.annotation.Counted;
+import org.eclipse.microprofile.metrics.annotation.Timed;
+
+import javax.annotation.security.RolesAllowed;
+import javax.inject.Inject;
+import java.util.List;
+
+public class DashboardResource implements DashboardResourceApi {
+
+    @Inject
+    DashboardService dashboardService;
+
+    @Inject
+    AuthenticationContextProvider authentication;
+
+    @RolesAllowed({"admin"})
+    @Override
+    @Counted(name = "countGetDashboardProjectHours", description = "Counts how many times the user load the hours per project on method 'getProjectHours'")
+    @Timed(name = "timeGetDashboardProjectHours", description = "Times how long it takes the user load the hours per project on method 'getProjectHours'", unit = MetricUnits.MILLISECONDS)
+    public List<DashboardProjectHoursResponse> getProjectHours(String from, String to) {
+        final var ctx = authentication.context();
+        return dashboardService.findProjectHours(PeriodRequest.of(from, to), ctx);
+    }
+
+    @RolesAllowed({"admin"})
+    @Override
+    @Counted(name = "countGetDashboardAbsences", description = "Counts how many times the user load the absences on method 'getAbsences'")
+    @Timed(name = "timeGetDashboardAbsences", description = "Times how long it takes the user load the absences on method 'getAbsences'", unit = MetricUnits.MILLISECONDS)
+    public List<DashboardAbsencesResponse> getAbsences(String from, String to) {
+        final var ctx = authentication.context();
+        return dashboardService.findAbsences(PeriodRequest.of(from, to), ctx);
+    }
+
+    @RolesAllowed({"admin"})
+    @Override
+    @Counted(name = "countGetDashboardFillRate", description = "Counts how many times the user load the fill rate on method 'getFillRate'")
+    @Timed(name = "timeGetDashboardFillRate", description = "Times how long it takes the user load the fill rate on method 'getFillRate'", unit = MetricUnits.MILLISECONDS)
+    public List<DashboardFillRateResponse> getFillRate(String from, String to) {
+        final var ctx = authentication.context();
+        return dashboardService.findFillRate(PeriodRequest.of(from, to), ctx);
+    }
+}
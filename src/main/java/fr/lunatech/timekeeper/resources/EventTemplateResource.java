@@ -18,6 +18,8 @@ package fr.lunatech.timekeeper.resources;
 
 import fr.lunatech.timekeeper.resources.openapi.EventTemplateResourceApi;
 import fr.lunatech.timekeeper.resources.providers.AuthenticationContextProvider;
+import fr.lunatech.timekeeper.resources.providers.EntityTagProvider;
+import fr.lunatech.timekeeper.resources.providers.PaginationProvider;
 import fr.lunatech.timekeeper.services.EventTemplateService;
 import fr.lunatech.timekeeper.services.exceptions.IllegalEntityStateException;
 import fr.lunatech.timekeeper.services.requests.EventTemplateRequest;
@@ -32,10 +34,13 @@ import javax.inject.Inject;
 import javax.json.Json;
 import javax.validation.Valid;
 import javax.ws.rs.NotFoundException;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import java.util.List;
+import java.util.Optional;
 
 public class EventTemplateResource implements EventTemplateResourceApi {
 
@@ -45,9 +50,21 @@ public class EventTemplateResource implements EventTemplateResourceApi {
     @Inject
     AuthenticationContextProvider authentication;
 
+    @Inject
+    PaginationProvider pagination;
+
+    @Inject
+    EntityTagProvider entityTags;
+
+    @Context
+    Request request;
+
     @Override
     public EventTemplateResponse getEventById(Long id) {
-        return eventTemplateService.getById(id, authentication.context())
+        final var ctx = authentication.context();
+        entityTags.evaluate(request, eventTemplateService.findVersionTagById(id, ctx)
+                .orElseThrow(NotFoundException::new));
+        return eventTemplateService.getById(id, ctx)
                 .orElseThrow(NotFoundException::new);
     }
 
@@ -55,8 +72,8 @@ public class EventTemplateResource implements EventTemplateResourceApi {
     @Override
     @Counted(name = "countGetAllEventsTemplate", description = "Counts how many times the user load the event list on method 'getAllEventsTemplate'")
     @Timed(name = "timeGetAllEventsTemplate", description = "Times how long it takes the user load the event list on method 'getAllEventsTemplate'", unit = MetricUnits.MILLISECONDS)
-    public List<EventTemplateResponse> getAllEvents() {
-        return eventTemplateService.getAllEventsTemplate(authentication.context());
+    public Response getAllEvents(Optional<Long> after, Optional<Integer> limit, Optional<Boolean> optimized) {
+        return pagination.response(eventTemplateService.getAllEventsTemplate(authentication.context(), pagination.page(after, limit), optimized));
     }
 
     @RolesAllowed({"user", "admin"})
@@ -18,6 +18,7 @@ package fr.lunatech.timekeeper.resources;
 
 import fr.lunatech.timekeeper.resources.openapi.OrganizationResourceApi;
 import fr.lunatech.timekeeper.resources.providers.AuthenticationContextProvider;
+import fr.lunatech.timekeeper.resources.providers.EntityTagProvider;
 import fr.lunatech.timekeeper.services.OrganizationService;
 import fr.lunatech.timekeeper.services.requests.OrganizationRequest;
 import fr.lunatech.timekeeper.services.responses.OrganizationResponse;
@@ -29,6 +30,8 @@ import javax.annotation.security.RolesAllowed;
 import javax.inject.Inject;
 import javax.validation.Valid;
 import javax.ws.rs.NotFoundException;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import java.net.URI;
@@ -42,6 +45,12 @@ public class OrganizationResource implements OrganizationResourceApi {
     @Inject
     AuthenticationContextProvider authentication;
 
+    @Inject
+    EntityTagProvider entityTags;
+
+    @Context
+    Request request;
+
     @RolesAllowed({"super_admin"})
     @Override
     @Counted(name = "countGetAllOrganizations", description = "Counts how many times the user load the organization list on method 'getAllOrganizations'")
@@ -68,6 +77,8 @@ public class OrganizationResource implements OrganizationResourceApi {
     @Timed(name = "timeGetOrganization", description = "Times how long it takes the user to get the organization on method 'getOrganization'", unit = MetricUnits.MILLISECONDS)
     public OrganizationResponse getOrganization(Long id) {
         final var ctx = authentication.context();
+        entityTags.evaluate(request, organizationService.findVersionTagById(id, ctx)
+                .orElseThrow(NotFoundException::new));
         return organizationService.findResponseById(id, ctx)
                 .orElseThrow(NotFoundException::new);
     }
@@ -18,9 +18,14 @@ package fr.lunatech.timekeeper.resources;
 
 import fr.lunatech.timekeeper.resources.openapi.ProjectResourceApi;
 import fr.lunatech.timekeeper.resources.providers.AuthenticationContextProvider;
+import fr.lunatech.timekeeper.resources.providers.EntityTagProvider;
+import fr.lunatech.timekeeper.resources.providers.PaginationProvider;
+import fr.lunatech.timekeeper.services.BurnDownService;
 import fr.lunatech.timekeeper.services.ProjectService;
 import fr.lunatech.timekeeper.services.TimeSheetService;
+import fr.lunatech.timekeeper.services.requests.BurnDownRequest;
 import fr.lunatech.timekeeper.services.requests.ProjectRequest;
+import fr.lunatech.timekeeper.services.responses.BurnDownResponse;
 import fr.lunatech.timekeeper.services.responses.ProjectResponse;
 import fr.lunatech.timekeeper.services.responses.TimeSheetResponse;
 import org.eclipse.microprofile.metrics.MetricUnits;
@@ -31,10 +36,11 @@ import javax.annotation.security.RolesAllowed;
 import javax.inject.Inject;
 import javax.validation.Valid;
 import javax.ws.rs.NotFoundException;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import java.net.URI;
-import java.util.List;
 import java.util.Optional;
 
 public class ProjectResource implements ProjectResourceApi {
@@ -45,16 +51,30 @@ public class ProjectResource implements ProjectResourceApi {
     @Inject
     TimeSheetService timeSheetService;
 
+    @Inject
+    BurnDownService burnDownService;
+
     @Inject
     AuthenticationContextProvider authentication;
 
+    @Inject
+    PaginationProvider pagination;
+
+    @Inject
+    EntityTagProvider entityTags;
+
+    @Context
+    Request request;
+
     @RolesAllowed({"user", "admin"})
     @Override
     @Counted(name = "countGetAllProjects", description = "Counts how many times the user load the project list on method 'getAllProjects'")
     @Timed(name = "timeGetAllProjects", description = "Times how long it takes the user load the project list on method 'getAllProjects'", unit = MetricUnits.MILLISECONDS)
-    public List<ProjectResponse> getAllProjects() {
+    public Response getAllProjects(Optional<Long> after, Optional<Integer> limit) {
         final var ctx = authentication.context();
-        return projectService.listAllResponses(ctx);
+        final var page = pagination.page(after, limit);
+        entityTags.evaluate(request, projectService.listAllVersionTag(ctx, page));
+        return pagination.response(projectService.listAllResponses(ctx, page));
     }
 
     @RolesAllowed({"user", "admin"})
@@ -74,6 +94,8 @@ public class ProjectResource implements ProjectResourceApi {
     @Timed(name = "timeGetProject", description = "Times how long it takes the user to get the client on method 'getProject'", unit = MetricUnits.MILLISECONDS)
     public ProjectResponse getProject(Long id, Optional<Boolean> optimized) {
         final var ctx = authentication.context();
+        entityTags.evaluate(request, projectService.findVersionTagById(id, ctx)
+                .orElseThrow(() -> new NotFoundException(String.format("Project not found for id=%d", id))));
         return projectService.findResponseById(id, optimized, ctx)
                 .orElseThrow(() -> new NotFoundException(String.format("Project not found for id=%d", id)));
     }
@@ -109,4 +131,14 @@ public class ProjectResource implements ProjectResourceApi {
         Optional<TimeSheetResponse> maybeResponse = timeSheetService.findFirstForProjectForUser(idProject, idUser);
         return maybeResponse.orElseThrow(() -> new NotFoundException(String.format("No timesheet found for project_id=%d, and user_id=%d", idProject, idUser)));
     }
+
+    @RolesAllowed({"user", "admin"})
+    @Override
+    @Counted(name = "countGetBurnDown", description = "Counts how many times the user load the burn-down of a project on method 'getBurnDown'")
+    @Timed(name = "timeGetBurnDown", description = "Times how long it takes the user load the burn-down of a project on method 'getBurnDown'", unit = MetricUnits.MILLISECONDS)
+    public BurnDownResponse getBurnDown(Long id, String from, String to, String granularity) {
+        final var ctx = authentication.context();
+        return burnDownService.findForProject(id, BurnDownRequest.of(from, to, granularity), ctx)
+                .orElseThrow(NotFoundException::new);
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.resources;
+
+import fr.lunatech.timekeeper.resources.openapi.ReportResourceApi;
+import fr.lunatech.timekeeper.resources.providers.AuthenticationContextProvider;
+import fr.lunatech.timekeeper.services.CompletenessService;
+import fr.lunatech.timekeeper.services.ReportService;
+import fr.lunatech.timekeeper.services.requests.PeriodRequest;
+import fr.lunatech.timekeeper.services.requests.ReportRequest;
+import fr.lunatech.timekeeper.services.responses.MissingDaysResponse;
+import fr.lunatech.timekeeper.services.responses.ReportResponse;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.annotation.Counted;
+import org.eclipse.microprofile.metrics.annotation.Timed;
+
+import javax.annotation.security.RolesAllowed;
+import javax.inject.Inject;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static javax.ws.rs.core.HttpHeaders.CONTENT_DISPOSITION;
+
+public class ReportResource implements ReportResourceApi {
+
+    @Inject
+    ReportService reportService;
+
+    @Inject
+    CompletenessService completenessService;
+
+    @Inject
+    AuthenticationContextProvider authentication;
+
+    @RolesAllowed({"admin"})
+    @Override
+    @Counted(name = "countGetHoursReport", description = "Counts how many times the user load a report on method 'getHours'")
+    @Timed(name = "timeGetHoursReport", description = "Times how long it takes the user load a report on method 'getHours'", unit = MetricUnits.MILLISECONDS)
+    public ReportResponse getHours(String from, String to, List<String> groupBy) {
+        final var ctx = authentication.context();
+        return reportService.hours(ReportRequest.of(from, to, groupBy), ctx);
+    }
+
+    @RolesAllowed({"admin"})
+    @Override
+    @Counted(name = "countExportTimeEntries", description = "Counts how many times the user export the time entries on method 'exportTimeEntries'")
+    @Timed(name = "timeExportTimeEntries", description = "Times how long it takes the user to start the export of the time entries on method 'exportTimeEntries'", unit = MetricUnits.MILLISECONDS)
+    public Response exportTimeEntries(String from, String to) {
+        final var ctx = authentication.context();
+        final PeriodRequest request = PeriodRequest.of(from, to);
+        // The entries are written to the response while they are read, the response is never fully in memory
+        final StreamingOutput csv = outputStream -> {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            reportService.exportTimeEntries(request, ctx, writer);
+            writer.flush();
+        };
+        final String fileName = String.format("time-entries-%s-%s.csv", request.getFrom(), request.getTo());
+        return Response.ok(csv)
+                .header(CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .build();
+    }
+
+    @RolesAllowed({"admin"})
+    @Override
+    @Counted(name = "countGetMissingDays", description = "Counts how many times the user load the missing days on method 'getMissingDays'")
+    @Timed(name = "timeGetMissingDays", description = "Times how long it takes the user load the missing days on method 'getMissingDays'", unit = MetricUnits.MILLISECONDS)
+    public List<MissingDaysResponse> getMissingDays(String from, String to) {
+        final var ctx = authentication.context();
+        return completenessService.findMissingDays(PeriodRequest.of(from, to), ctx);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.resources;
+
+import fr.lunatech.timekeeper.resources.openapi.TeamResourceApi;
+import fr.lunatech.timekeeper.resources.providers.AuthenticationContextProvider;
+import fr.lunatech.timekeeper.services.WeekService;
+import fr.lunatech.timekeeper.services.responses.TeamWeekResponse;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.annotation.Counted;
+import org.eclipse.microprofile.metrics.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.security.RolesAllowed;
+import javax.inject.Inject;
+import javax.ws.rs.NotFoundException;
+import java.util.Optional;
+
+/**
+ * A Resource to serve the week of all the members of a project or of an organization.
+ */
+public class TeamResource implements TeamResourceApi {
+    private static Logger logger = LoggerFactory.getLogger(TeamResource.class);
+
+    @Inject
+    WeekService weekService;
+
+    @Inject
+    AuthenticationContextProvider authentication;
+
+    @RolesAllowed({"user", "admin"})
+    @Override
+    @Counted(name = "countGetTeamWeek", description = "Counts how many times the user load the week of a team on method 'getWeek'")
+    @Timed(name = "timeGetTeamWeek", description = "Times how long it takes the user load the week of a team on method 'getWeek'", unit = MetricUnits.MILLISECONDS)
+    public TeamWeekResponse getWeek(Integer year, Integer weekNumber, Long projectId) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(String.format("getWeek year=%d weekNumber=%d projectId=%d", year, weekNumber, projectId));
+        }
+        final var ctx = authentication.context();
+        return weekService.getTeamWeek(ctx, year, weekNumber, Optional.ofNullable(projectId))
+                .orElseThrow(() -> new NotFoundException(String.format("Project not found for id=%d", projectId)));
+    }
+}
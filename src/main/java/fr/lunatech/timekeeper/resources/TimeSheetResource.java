@@ -18,6 +18,7 @@ package fr.lunatech.timekeeper.resources;
 
 import fr.lunatech.timekeeper.resources.openapi.TimeSheetResourceApi;
 import fr.lunatech.timekeeper.resources.providers.AuthenticationContextProvider;
+import fr.lunatech.timekeeper.resources.providers.EntityTagProvider;
 import fr.lunatech.timekeeper.services.TimeSheetService;
 import fr.lunatech.timekeeper.services.requests.TimeSheetRequest;
 import fr.lunatech.timekeeper.services.responses.TimeSheetResponse;
@@ -28,6 +29,8 @@ import org.eclipse.microprofile.metrics.annotation.Timed;
 import javax.annotation.security.RolesAllowed;
 import javax.inject.Inject;
 import javax.ws.rs.NotFoundException;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 
 public class TimeSheetResource implements TimeSheetResourceApi {
@@ -38,6 +41,12 @@ public class TimeSheetResource implements TimeSheetResourceApi {
     @Inject
     AuthenticationContextProvider authentication;
 
+    @Inject
+    EntityTagProvider entityTags;
+
+    @Context
+    Request request;
+
 
     @RolesAllowed({"user", "admin"})
     @Override
@@ -45,6 +54,8 @@ public class TimeSheetResource implements TimeSheetResourceApi {
     @Timed(name = "timeGetTimeSheet", description = "Times how long it takes the user to get the time sheet on method 'getTimeSheet'", unit = MetricUnits.MILLISECONDS)
     public TimeSheetResponse getTimeSheet(Long id) {
         final var ctx = authentication.context();
+        entityTags.evaluate(request, timeSheetService.findVersionTagById(id, ctx)
+                .orElseThrow(NotFoundException::new));
         return timeSheetService.findTimeSheetById(id,ctx)
                 .orElseThrow(NotFoundException::new);
     }
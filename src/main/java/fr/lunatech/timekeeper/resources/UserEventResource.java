@@ -18,9 +18,12 @@ package fr.lunatech.timekeeper.resources;
 
 import fr.lunatech.timekeeper.resources.openapi.UserEventResourceApi;
 import fr.lunatech.timekeeper.resources.providers.AuthenticationContextProvider;
+import fr.lunatech.timekeeper.resources.providers.PaginationProvider;
+import fr.lunatech.timekeeper.services.AbsenceCounterService;
 import fr.lunatech.timekeeper.services.UserEventService;
 import fr.lunatech.timekeeper.services.exceptions.IllegalEntityStateException;
 import fr.lunatech.timekeeper.services.requests.UserEventRequest;
+import fr.lunatech.timekeeper.services.responses.AbsenceCountersResponse;
 import fr.lunatech.timekeeper.services.responses.UserEventResponse;
 import org.eclipse.microprofile.metrics.MetricUnits;
 import org.eclipse.microprofile.metrics.annotation.Counted;
@@ -33,15 +36,22 @@ import javax.ws.rs.NotFoundException;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import java.util.List;
+import java.util.Optional;
 
 public class UserEventResource implements UserEventResourceApi {
 
     @Inject
     UserEventService userEventService;
 
+    @Inject
+    AbsenceCounterService absenceCounterService;
+
     @Inject
     AuthenticationContextProvider authentication;
 
+    @Inject
+    PaginationProvider pagination;
+
     @Override
     public UserEventResponse getUserEventById(Long id) {
         return userEventService.getUserEventById(id, authentication.context())
@@ -53,8 +63,8 @@ public class UserEventResource implements UserEventResourceApi {
     @Override
     @Counted(name = "countgetPersonalEvents", description = "Counts how many times the user load the event list on method 'getPersonalEvents'")
     @Timed(name = "timegetPersonalEvents", description = "Times how long it takes the user load the event list on method 'getPersonalEvents'", unit = MetricUnits.MILLISECONDS)
-    public List<UserEventResponse> getPersonalEvents(Long userId) {
-        return userEventService.getAllPersonalEventsForAnUser(userId, authentication.context());
+    public Response getPersonalEvents(Long userId, Optional<Long> after, Optional<Integer> limit) {
+        return pagination.response(userEventService.getAllPersonalEventsForAnUser(userId, pagination.page(after, limit), authentication.context()));
     }
 
     @RolesAllowed({"user", "admin"})
@@ -80,8 +90,15 @@ public class UserEventResource implements UserEventResourceApi {
     @Override
     @Counted(name = "countGetUserEvents", description = "Counts how many times the user load the event list on method 'getUserEventsByOrganizationId'")
     @Timed(name = "timeGetUserEvents", description = "Times how long it takes the user load the event list on method 'getUserEventsByOrganizationId'", unit = MetricUnits.MILLISECONDS)
-    public List<UserEventResponse> getEventsByOrganizationId(Long organizationId) {
-        return userEventService.getEventsByOrganizationId(organizationId, authentication.context());
+    public Response getEventsByOrganizationId(Long organizationId, Optional<Long> after, Optional<Integer> limit) {
+        return pagination.response(userEventService.getEventsByOrganizationId(organizationId, pagination.page(after, limit), authentication.context()));
     }
 
+    @RolesAllowed({"admin"})
+    @Override
+    @Counted(name = "countGetAbsences", description = "Counts how many times the user load the days of absence on method 'getAbsences'")
+    @Timed(name = "timeGetAbsences", description = "Times how long it takes the user load the days of absence on method 'getAbsences'", unit = MetricUnits.MILLISECONDS)
+    public List<AbsenceCountersResponse> getAbsences(Integer year) {
+        return absenceCounterService.findForOrganization(year, authentication.context());
+    }
 }
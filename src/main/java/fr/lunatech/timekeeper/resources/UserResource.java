@@ -18,6 +18,7 @@ package fr.lunatech.timekeeper.resources;
 
 import fr.lunatech.timekeeper.resources.openapi.UserResourceApi;
 import fr.lunatech.timekeeper.resources.providers.AuthenticationContextProvider;
+import fr.lunatech.timekeeper.resources.providers.PaginationProvider;
 import fr.lunatech.timekeeper.services.UserService;
 import fr.lunatech.timekeeper.services.responses.UserResponse;
 import org.eclipse.microprofile.metrics.MetricUnits;
@@ -27,7 +28,8 @@ import org.eclipse.microprofile.metrics.annotation.Timed;
 import javax.annotation.security.RolesAllowed;
 import javax.inject.Inject;
 import javax.ws.rs.NotFoundException;
-import java.util.List;
+import javax.ws.rs.core.Response;
+import java.util.Optional;
 
 public class UserResource implements UserResourceApi {
 
@@ -37,6 +39,9 @@ public class UserResource implements UserResourceApi {
     @Inject
     AuthenticationContextProvider authentication;
 
+    @Inject
+    PaginationProvider pagination;
+
     @RolesAllowed({"user", "admin"})
     @Override
     @Counted(name = "countMe", description = "Counts how many times the user load his information on method 'me'")
@@ -51,9 +56,9 @@ public class UserResource implements UserResourceApi {
     @Override
     @Counted(name = "countGetAllUsers", description = "Counts how many times the user load the organization list on method 'getAllUsers'")
     @Timed(name = "timeGetAllUsers", description = "Times how long it takes the user load the organization list on method 'getAllUsers'", unit = MetricUnits.MILLISECONDS)
-    public List<UserResponse> getAllUsers() {
+    public Response getAllUsers(Optional<Long> after, Optional<Integer> limit) {
         final var ctx = authentication.context();
-        return userService.listAllResponses(ctx);
+        return pagination.response(userService.listAllResponses(ctx, pagination.page(after, limit)));
     }
 
     @RolesAllowed({"user", "admin"})
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.resources.handlers;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.json.Json;
+import javax.persistence.OptimisticLockException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Handler that should trigger a 409 Conflict when an entity was updated by another request at the same time
+ */
+@Provider
+public class OptimisticLockExceptionMapper implements ExceptionMapper<OptimisticLockException> {
+    private static Logger logger = LoggerFactory.getLogger(OptimisticLockExceptionMapper.class);
+
+    @Override
+    public Response toResponse(OptimisticLockException e) {
+        logger.warn(e.getMessage(), e);
+        return Response
+                .status(Response.Status.CONFLICT)
+                .type(MediaType.APPLICATION_JSON)
+                .entity(Json.createObjectBuilder()
+                        .add("message", String.format("%s", e.getMessage())) // e.getMessage can be null, but JSON format requires a value.
+                        .build()
+                        .toString()
+                )
+                .build();
+    }
+}
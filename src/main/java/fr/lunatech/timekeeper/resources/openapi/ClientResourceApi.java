@@ -32,8 +32,9 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
-import java.util.List;
+import java.util.Optional;
 
+import static fr.lunatech.timekeeper.resources.providers.PaginationProvider.NEXT_CURSOR;
 import static javax.ws.rs.core.HttpHeaders.LOCATION;
 
 @Path("/clients")
@@ -47,10 +48,17 @@ public interface ClientResourceApi {
     @APIResponses(value = {
             @APIResponse(
                     responseCode = "200",
-                    description = "Clients retrieved"
+                    description = "Clients retrieved",
+                    headers = {
+                            @Header(name = NEXT_CURSOR, description = "Cursor of the next page, absent on the last page", schema = @Schema(type = SchemaType.INTEGER))
+                    }
+            ),
+            @APIResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor or page size"
             )
     })
-    List<ClientResponse> getAllClients();
+    Response getAllClients(@QueryParam("after") Optional<Long> after, @QueryParam("limit") Optional<Integer> limit);
 
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
@@ -79,6 +87,10 @@ public interface ClientResourceApi {
                     responseCode = "200",
                     description = "Client retrieved"
             ),
+            @APIResponse(
+                    responseCode = "304",
+                    description = "Client not modified since the version of the If-None-Match header"
+            ),
             @APIResponse(
                     responseCode = "404",
                     description = "Client not found"
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.resources.openapi;
+
+import fr.lunatech.timekeeper.services.responses.DashboardAbsencesResponse;
+import fr.lunatech.timekeeper.services.responses.DashboardFillRateResponse;
+import fr.lunatech.timekeeper.services.responses.DashboardProjectHoursResponse;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import java.util.List;
+
+@Path("/dashboard")
+public interface DashboardResourceApi {
+
+    @GET
+    @Path("/project-hours")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Retrieve the hours per project and month",
+            description = "Retrieve the billable and non billable hours of the projects of the organization, per month, for the months between two days (yyyy-MM-dd). The dashboard is refreshed periodically.")
+    @Tag(ref = "dashboard")
+    @APIResponses(value = {
+            @APIResponse(
+                    responseCode = "200",
+                    description = "Hours per project retrieved"
+            ),
+            @APIResponse(
+                    responseCode = "400",
+                    description = "Invalid date range"
+            )
+    })
+    List<DashboardProjectHoursResponse> getProjectHours(@QueryParam("from") String from, @QueryParam("to") String to);
+
+    @GET
+    @Path("/absences")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Retrieve the absences per week",
+            description = "Retrieve the users absent and their days of absence per week and event type, for the weeks between two days (yyyy-MM-dd). The dashboard is refreshed periodically.")
+    @Tag(ref = "dashboard")
+    @APIResponses(value = {
+            @APIResponse(
+                    responseCode = "200",
+                    description = "Absences retrieved"
+            ),
+            @APIResponse(
+                    responseCode = "400",
+                    description = "Invalid date range"
+            )
+    })
+    List<DashboardAbsencesResponse> getAbsences(@QueryParam("from") String from, @QueryParam("to") String to);
+
+    @GET
+    @Path("/fill-rate")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Retrieve the fill rate per week",
+            description = "Retrieve the hours filled by the members of the organization compared to 8 hours a day, per week, for the weeks between two days (yyyy-MM-dd). The dashboard is refreshed periodically.")
+    @Tag(ref = "dashboard")
+    @APIResponses(value = {
+            @APIResponse(
+                    responseCode = "200",
+                    description = "Fill rate retrieved"
+            ),
+            @APIResponse(
+                    responseCode = "400",
+                    description = "Invalid date range"
+            )
+    })
+    List<DashboardFillRateResponse> getFillRate(@QueryParam("from") String from, @QueryParam("to") String to);
+}
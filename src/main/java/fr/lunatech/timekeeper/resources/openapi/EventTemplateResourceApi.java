@@ -35,7 +35,9 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import java.util.List;
+import java.util.Optional;
 
+import static fr.lunatech.timekeeper.resources.providers.PaginationProvider.NEXT_CURSOR;
 import static javax.ws.rs.core.HttpHeaders.LOCATION;
 
 @Path("/events-template")
@@ -51,6 +53,10 @@ public interface EventTemplateResourceApi {
             @APIResponse(
                     responseCode = "200",
                     description = "EventTemplate retrieved"
+            ),
+            @APIResponse(
+                    responseCode = "304",
+                    description = "EventTemplate not modified since the version of the If-None-Match header"
             )
     })
     EventTemplateResponse getEventById(@PathParam("id") Long id);
@@ -59,15 +65,23 @@ public interface EventTemplateResourceApi {
     @RolesAllowed({"admin"})
     @Produces(MediaType.APPLICATION_JSON)
     @Operation(summary = "Retrieve all eventTemplates",
-            description = "Retrieve the list of existing eventTemplates for you organization. Each event also returns the list of current attendees or participants.")
+            description = "Retrieve the list of existing eventTemplates for you organization. Each event also returns the list of current attendees or participants.\n" +
+                    "if optimized is true: each event only returns the number of attendees")
     @Tag(ref = "events")
     @APIResponses(value = {
             @APIResponse(
                     responseCode = "200",
-                    description = "List of eventTemplates"
+                    description = "List of eventTemplates",
+                    headers = {
+                            @Header(name = NEXT_CURSOR, description = "Cursor of the next page, absent on the last page", schema = @Schema(type = SchemaType.INTEGER))
+                    }
+            ),
+            @APIResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor or page size"
             )
     })
-    List<EventTemplateResponse> getAllEvents();
+    Response getAllEvents(@QueryParam("after") Optional<Long> after, @QueryParam("limit") Optional<Integer> limit, @QueryParam("optimized") Optional<Boolean> optimized);
 
     @GET
     @Path("/{id}/users")
@@ -79,6 +79,10 @@ public interface OrganizationResourceApi {
                     responseCode = "200",
                     description = "Organization retrieved"
             ),
+            @APIResponse(
+                    responseCode = "304",
+                    description = "Organization not modified since the version of the If-None-Match header"
+            ),
             @APIResponse(
                     responseCode = "404",
                     description = "Organization not found"
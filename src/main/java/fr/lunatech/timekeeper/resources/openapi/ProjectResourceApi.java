@@ -17,6 +17,7 @@
 package fr.lunatech.timekeeper.resources.openapi;
 
 import fr.lunatech.timekeeper.services.requests.ProjectRequest;
+import fr.lunatech.timekeeper.services.responses.BurnDownResponse;
 import fr.lunatech.timekeeper.services.responses.ProjectResponse;
 import fr.lunatech.timekeeper.services.responses.TimeSheetResponse;
 import org.eclipse.microprofile.openapi.annotations.Operation;
@@ -33,9 +34,9 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
-import java.util.List;
 import java.util.Optional;
 
+import static fr.lunatech.timekeeper.resources.providers.PaginationProvider.NEXT_CURSOR;
 import static javax.ws.rs.core.HttpHeaders.LOCATION;
 
 @Path("/projects")
@@ -49,10 +50,21 @@ public interface ProjectResourceApi {
     @APIResponses(value = {
             @APIResponse(
                     responseCode = "200",
-                    description = "Projects retrieved"
+                    description = "Projects retrieved",
+                    headers = {
+                            @Header(name = NEXT_CURSOR, description = "Cursor of the next page, absent on the last page", schema = @Schema(type = SchemaType.INTEGER))
+                    }
+            ),
+            @APIResponse(
+                    responseCode = "304",
+                    description = "Projects not modified since the version of the If-None-Match header"
+            ),
+            @APIResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor or page size"
             )
     })
-    List<ProjectResponse> getAllProjects();
+    Response getAllProjects(@QueryParam("after") Optional<Long> after, @QueryParam("limit") Optional<Integer> limit);
 
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
@@ -82,6 +94,10 @@ public interface ProjectResourceApi {
                     responseCode = "200",
                     description = "Project retrieved"
             ),
+            @APIResponse(
+                    responseCode = "304",
+                    description = "Project not modified since the version of the If-None-Match header"
+            ),
             @APIResponse(
                     responseCode = "404",
                     description = "Project not found"
@@ -89,6 +105,28 @@ public interface ProjectResourceApi {
     })
     ProjectResponse getProject(@PathParam("id") Long id, @QueryParam("optimized") Optional<Boolean> optimized);
 
+    @GET
+    @Path("/{id}/burn-down")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Retrieve the burn-down of a project",
+            description = "Retrieve the cumulative hours of each member and of all the members between two days (yyyy-MM-dd, both included), per day or week (granularity, week by default), against the budget of their timesheets.")
+    @Tag(ref = "projects")
+    @APIResponses(value = {
+            @APIResponse(
+                    responseCode = "200",
+                    description = "Burn-down retrieved"
+            ),
+            @APIResponse(
+                    responseCode = "400",
+                    description = "Invalid date range or granularity"
+            ),
+            @APIResponse(
+                    responseCode = "404",
+                    description = "Project not found"
+            )
+    })
+    BurnDownResponse getBurnDown(@PathParam("id") Long id, @QueryParam("from") String from, @QueryParam("to") String to, @QueryParam("granularity") String granularity);
+
     @PUT
     @Path("/{id}")
     @Consumes(MediaType.APPLICATION_JSON)
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.resources.openapi;
+
+import fr.lunatech.timekeeper.services.responses.MissingDaysResponse;
+import fr.lunatech.timekeeper.services.responses.ReportResponse;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.headers.Header;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.util.List;
+
+import static javax.ws.rs.core.HttpHeaders.CONTENT_DISPOSITION;
+
+@Path("/reports")
+public interface ReportResourceApi {
+
+    String TEXT_CSV = "text/csv";
+
+    @GET
+    @Path("/hours")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Report the hours of a date range",
+            description = "Sum the hours of the time entries of the organization between two days (yyyy-MM-dd, both included), grouped by organization, client, project, user, billable, and one of day, week or month (e.g. groupBy=project,user,month).")
+    @Tag(ref = "reports")
+    @APIResponses(value = {
+            @APIResponse(
+                    responseCode = "200",
+                    description = "Report computed"
+            ),
+            @APIResponse(
+                    responseCode = "400",
+                    description = "Invalid date range or dimension"
+            )
+    })
+    ReportResponse getHours(@QueryParam("from") String from, @QueryParam("to") String to, @QueryParam("groupBy") List<String> groupBy);
+
+    @GET
+    @Path("/time-entries")
+    @Produces(TEXT_CSV)
+    @Operation(summary = "Export the time entries of a date range",
+            description = "Export the time entries of the organization between two days (yyyy-MM-dd, both included) as CSV : user, project, client, start, hours, comment and billable.")
+    @Tag(ref = "reports")
+    @APIResponses(value = {
+            @APIResponse(
+                    responseCode = "200",
+                    description = "Time entries exported",
+                    headers = {
+                            @Header(name = CONTENT_DISPOSITION, description = "Name of the CSV file", schema = @Schema(type = SchemaType.STRING))
+                    }
+            ),
+            @APIResponse(
+                    responseCode = "400",
+                    description = "Invalid date range"
+            )
+    })
+    Response exportTimeEntries(@QueryParam("from") String from, @QueryParam("to") String to);
+
+    @GET
+    @Path("/missing-days")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Find the users who did not fill all the business days of a date range",
+            description = "List the users of the organization with the business days between two days (yyyy-MM-dd, both included) that they did not fill with 8 hours of time entries or events.")
+    @Tag(ref = "reports")
+    @APIResponses(value = {
+            @APIResponse(
+                    responseCode = "200",
+                    description = "Users with missing days retrieved"
+            ),
+            @APIResponse(
+                    responseCode = "400",
+                    description = "Invalid date range"
+            )
+    })
+    List<MissingDaysResponse> getMissingDays(@QueryParam("from") String from, @QueryParam("to") String to);
+}
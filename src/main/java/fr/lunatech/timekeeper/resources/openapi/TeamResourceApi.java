@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.resources.openapi;
+
+import fr.lunatech.timekeeper.services.responses.TeamWeekResponse;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+
+@Path("/team")
+public interface TeamResourceApi {
+
+    @GET
+    @Path("/{year}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Retrieve the specified week of the year, for all the members of a team",
+            description = "Retrieve the hours per day, the time entries and the events of each member of a project (projectId, for its managers, with only the entries of this project) or of the organization (for the admins), and the public holidays of the week")
+    @Tag(ref = "team")
+    @APIResponses(value = {
+            @APIResponse(
+                    responseCode = "200",
+                    description = "Week successfully retrieved"
+            ),
+            @APIResponse(
+                    responseCode = "400",
+                    description = "Invalid weeknumber, must be in the range 1 to 52"),
+            @APIResponse(
+                    responseCode = "400",
+                    description = "Invalid year value"),
+            @APIResponse(
+                    responseCode = "404",
+                    description = "Project not found"),
+            @APIResponse(
+                    responseCode = "403",
+                    description = "Not a manager of the project, or not an admin of the organization")
+    })
+    TeamWeekResponse getWeek(@PathParam("year") Integer year,
+                             @QueryParam("weekNumber") Integer weekNumber,
+                             @QueryParam("projectId") Long projectId);
+}
@@ -43,6 +43,10 @@ public interface TimeSheetResourceApi {
                     responseCode = "200",
                     description = "TimeSheet retrieved"
             ),
+            @APIResponse(
+                    responseCode = "304",
+                    description = "TimeSheet not modified since the version of the If-None-Match header"
+            ),
             @APIResponse(
                     responseCode = "404",
                     description = "TimeSheet not found"
@@ -1,6 +1,7 @@
 package fr.lunatech.timekeeper.resources.openapi;
 
 import fr.lunatech.timekeeper.services.requests.UserEventRequest;
+import fr.lunatech.timekeeper.services.responses.AbsenceCountersResponse;
 import fr.lunatech.timekeeper.services.responses.UserEventResponse;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
@@ -17,7 +18,9 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import java.util.List;
+import java.util.Optional;
 
+import static fr.lunatech.timekeeper.resources.providers.PaginationProvider.NEXT_CURSOR;
 import static javax.ws.rs.core.HttpHeaders.LOCATION;
 
 @Path("/user-events")
@@ -64,11 +67,14 @@ public interface UserEventResourceApi {
     @APIResponses(value = {
             @APIResponse(
                     responseCode = "200",
-                    description = "List of userEvents"
+                    description = "List of userEvents",
+                    headers = {
+                            @Header(name = NEXT_CURSOR, description = "Cursor of the next page, absent on the last page", schema = @Schema(type = SchemaType.INTEGER))
+                    }
             ),
             @APIResponse(
                     responseCode = "400",
-                    description = "Invalid userId value"),
+                    description = "Invalid userId value, cursor or page size"),
             @APIResponse(
                     responseCode = "403",
                     description = "Invalid JWT token"),
@@ -77,7 +83,7 @@ public interface UserEventResourceApi {
                     description = "user not found"
             )
     })
-    List<UserEventResponse> getPersonalEvents(@QueryParam("userId") Long id);
+    Response getPersonalEvents(@QueryParam("userId") Long id, @QueryParam("after") Optional<Long> after, @QueryParam("limit") Optional<Integer> limit);
 
     @GET
     @Path("organization/{organizationId}")
@@ -88,11 +94,14 @@ public interface UserEventResourceApi {
     @APIResponses(value = {
             @APIResponse(
                     responseCode = "200",
-                    description = "List of user events"
+                    description = "List of user events",
+                    headers = {
+                            @Header(name = NEXT_CURSOR, description = "Cursor of the next page, absent on the last page", schema = @Schema(type = SchemaType.INTEGER))
+                    }
             ),
             @APIResponse(
                     responseCode = "400",
-                    description = "Invalid organizationId value"),
+                    description = "Invalid organizationId value, cursor or page size"),
             @APIResponse(
                     responseCode = "403",
                     description = "Invalid JWT token"),
@@ -101,7 +110,22 @@ public interface UserEventResourceApi {
                     description = "user events not found"
             )
     })
-    List<UserEventResponse> getEventsByOrganizationId(@PathParam("organizationId") Long organizationId);
-
+    Response getEventsByOrganizationId(@PathParam("organizationId") Long organizationId, @QueryParam("after") Optional<Long> after, @QueryParam("limit") Optional<Integer> limit);
 
+    @GET
+    @Path("absences/{year}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Retrieve the days of absence of the users of the organization for a year",
+            description = "Retrieve, for each user of the organization, the business days of its userEvents during the year, by event type. A partial day counts as a full day.")
+    @Tag(ref = "UserEventsByOrganizationId")
+    @APIResponses(value = {
+            @APIResponse(
+                    responseCode = "200",
+                    description = "Days of absence by user"
+            ),
+            @APIResponse(
+                    responseCode = "403",
+                    description = "Invalid JWT token")
+    })
+    List<AbsenceCountersResponse> getAbsences(@PathParam("year") Integer year);
 }
@@ -18,6 +18,9 @@ package fr.lunatech.timekeeper.resources.openapi;
 
 import fr.lunatech.timekeeper.services.responses.UserResponse;
 import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.headers.Header;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
@@ -26,8 +29,12 @@ import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
-import java.util.List;
+import javax.ws.rs.core.Response;
+import java.util.Optional;
+
+import static fr.lunatech.timekeeper.resources.providers.PaginationProvider.NEXT_CURSOR;
 
 @Path("/users")
 public interface UserResourceApi {
@@ -57,10 +64,17 @@ public interface UserResourceApi {
     @APIResponses(value = {
             @APIResponse(
                     responseCode = "200",
-                    description = "Users retrieved"
+                    description = "Users retrieved",
+                    headers = {
+                            @Header(name = NEXT_CURSOR, description = "Cursor of the next page, absent on the last page", schema = @Schema(type = SchemaType.INTEGER))
+                    }
+            ),
+            @APIResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor or page size"
             )
     })
-    List<UserResponse> getAllUsers();
+    Response getAllUsers(@QueryParam("after") Optional<Long> after, @QueryParam("limit") Optional<Integer> limit);
 
     @GET
     @Path("/{id}")
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.resources.providers;
+
+import fr.lunatech.timekeeper.services.AuthenticationContext;
+import fr.lunatech.timekeeper.services.BoundedCache;
+import fr.lunatech.timekeeper.services.requests.AuthenticationRequest;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The authentication contexts already resolved, by token subject and claims : a token with other claims
+ * (a new name, organization or profile) is authenticated again, and so is a context older than the time to live.
+ * The least recently used context is dropped when the cache is full.
+ */
+final class AuthenticationContextCache {
+
+    private final BoundedCache<Key, AuthenticationContext> contexts;
+
+    AuthenticationContextCache(int maxSize, Duration timeToLive, Clock clock) {
+        this.contexts = new BoundedCache<>(maxSize, timeToLive, clock);
+    }
+
+    Optional<AuthenticationContext> get(String subject, AuthenticationRequest request) {
+        return contexts.get(new Key(subject, request));
+    }
+
+    void put(String subject, AuthenticationRequest request, AuthenticationContext context) {
+        contexts.put(new Key(subject, request), context);
+    }
+
+    int size() {
+        return contexts.size();
+    }
+
+    // A cache without size or time to live authenticates every request
+    boolean isEnabled() {
+        return contexts.isEnabled();
+    }
+
+    private static final class Key {
+
+        private final String subject;
+        // The claims read by UserService.authenticate
+        private final List<Object> claims;
+
+        private Key(String subject, AuthenticationRequest request) {
+            this.subject = subject;
+            this.claims = Arrays.asList(request.getEmail(), request.getFirstName(), request.getLastName(), request.getPicture(),
+                    request.getOrganizationTokenName(), request.getProfiles());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final Key key = (Key) o;
+            return Objects.equals(subject, key.subject) &&
+                    claims.equals(key.claims);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(subject, claims);
+        }
+    }
+}
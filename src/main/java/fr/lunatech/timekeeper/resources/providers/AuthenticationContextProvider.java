@@ -16,6 +16,7 @@
 
 package fr.lunatech.timekeeper.resources.providers;
 
+import fr.lunatech.timekeeper.gauges.AuthenticationCacheGauge;
 import fr.lunatech.timekeeper.models.Profile;
 import fr.lunatech.timekeeper.services.AuthenticationContext;
 import fr.lunatech.timekeeper.services.UserService;
@@ -26,14 +27,18 @@ import io.quarkus.security.ForbiddenException;
 import io.quarkus.security.UnauthorizedException;
 import io.quarkus.security.identity.SecurityIdentity;
 import org.jose4j.jwt.JwtClaims;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jose4j.jwt.MalformedClaimException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
+import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.json.JsonObject;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -50,12 +55,29 @@ public class AuthenticationContextProvider {
     @Inject
     SecurityIdentity identity;
 
+    @Inject
+    AuthenticationCacheGauge authenticationCacheGauge;
+
+    @ConfigProperty(name = "timekeeper.authentication.cache-size", defaultValue = "1000")
+    Integer cacheSize;
+
+    @ConfigProperty(name = "timekeeper.authentication.cache-time-to-live", defaultValue = "PT5M")
+    Duration cacheTimeToLive;
+
+    private AuthenticationContextCache cache;
+
+    @PostConstruct
+    void init() {
+        cache = new AuthenticationContextCache(cacheSize, cacheTimeToLive, Clock.systemUTC());
+    }
+
     public AuthenticationContext context() {
         if (identity.getPrincipal() instanceof io.quarkus.oidc.runtime.OidcJwtCallerPrincipal) {
-            final var authenticationRequest = getAuthenticationRequest((OidcJwtCallerPrincipal) identity.getPrincipal());
+            final var jwtCallerPrincipal = (OidcJwtCallerPrincipal) identity.getPrincipal();
+            final var authenticationRequest = getAuthenticationRequest(jwtCallerPrincipal);
 
             try {
-                final AuthenticationContext authenticationContext = userService.authenticate(authenticationRequest);
+                final AuthenticationContext authenticationContext = authenticate(jwtCallerPrincipal.getClaims().getClaimValueAsString("sub"), authenticationRequest);
                 MDC.put("authenticationContext.userId", authenticationContext.getUserId().toString());
                 return authenticationContext;
             } catch (IllegalEntityStateException e) {
@@ -70,6 +92,19 @@ public class AuthenticationContextProvider {
         }
     }
 
+    // The user is only read (and updated) from the database when the claims of the token change or the cached context expires
+    private AuthenticationContext authenticate(String subject, AuthenticationRequest authenticationRequest) {
+        final Optional<AuthenticationContext> cached = cache.get(subject, authenticationRequest);
+        if (cached.isPresent()) {
+            authenticationCacheGauge.hit();
+            return cached.get();
+        }
+        authenticationCacheGauge.miss();
+        final AuthenticationContext authenticationContext = userService.authenticate(authenticationRequest);
+        cache.put(subject, authenticationRequest, authenticationContext);
+        return authenticationContext;
+    }
+
     private AuthenticationRequest getAuthenticationRequest(OidcJwtCallerPrincipal jwtCallerPrincipal) {
         final var jwtClaims = jwtCallerPrincipal.getClaims();
         final String email = jwtClaims.getClaimValueAsString("email");
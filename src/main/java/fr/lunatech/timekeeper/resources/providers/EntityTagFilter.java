@@ -0,0 +1,43 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.resources.providers;
+
+import javax.inject.Inject;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Sends the entity tag of a successful response in its ETag header, when the resource evaluated one (see EntityTagProvider)
+ */
+@Provider
+public class EntityTagFilter implements ContainerResponseFilter {
+
+    @Inject
+    EntityTagProvider entityTags;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        if (responseContext.getStatus() == Response.Status.OK.getStatusCode()) {
+            entityTags.entityTag().ifPresent(entityTag -> responseContext.getHeaders().putSingle(HttpHeaders.ETAG, entityTag));
+        }
+    }
+}
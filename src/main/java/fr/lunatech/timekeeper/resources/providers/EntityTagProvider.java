@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.resources.providers;
+
+import fr.lunatech.timekeeper.services.VersionTag;
+
+import javax.enterprise.context.RequestScoped;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import java.util.Optional;
+
+/**
+ * The entity tag of the response to the current request, built from the versions of the entities of the response.
+ * A request with a matching If-None-Match header is answered 304 Not Modified before the response is bound,
+ * otherwise the tag is sent in the ETag header of the response (see EntityTagFilter).
+ */
+@RequestScoped
+public class EntityTagProvider {
+
+    private EntityTag entityTag;
+
+    /**
+     * @param request is the current request, with its conditional headers
+     * @param tag     is the tag of the response
+     * @throws WebApplicationException with a 304 Not Modified response when the client already has this response
+     */
+    public void evaluate(Request request, VersionTag tag) {
+        entityTag = new EntityTag(tag.value());
+        final Response.ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+        if (notModified != null) {
+            throw new WebApplicationException(notModified.build());
+        }
+    }
+
+    Optional<EntityTag> entityTag() {
+        return Optional.ofNullable(entityTag);
+    }
+}
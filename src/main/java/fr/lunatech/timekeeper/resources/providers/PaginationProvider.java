@@ -0,0 +1,60 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package fr.lunatech.timekeeper.resources.providers;
+
+import fr.lunatech.timekeeper.services.exceptions.IllegalEntityStateException;
+import fr.lunatech.timekeeper.services.requests.PageRequest;
+import fr.lunatech.timekeeper.services.responses.PageResponse;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.ws.rs.core.Response;
+import java.util.Optional;
+
+/**
+ * Builds the page requested with the query parameters "after" and "limit", and the response of a page.
+ * The body of the response is the list of items, the cursor of the next page is sent in the X-Next-Cursor header.
+ */
+@ApplicationScoped
+public class PaginationProvider {
+
+    public static final String NEXT_CURSOR = "X-Next-Cursor";
+
+    @ConfigProperty(name = "timekeeper.pagination.default-page-size", defaultValue = "500")
+    Integer defaultPageSize;
+
+    @ConfigProperty(name = "timekeeper.pagination.max-page-size", defaultValue = "1000")
+    Integer maxPageSize;
+
+    public PageRequest page(Optional<Long> after, Optional<Integer> limit) {
+        final long cursor = after.orElse(PageRequest.FIRST_PAGE);
+        if (cursor < 0) {
+            throw new IllegalEntityStateException(String.format("Invalid cursor after=%d", cursor));
+        }
+        final int size = limit.orElse(defaultPageSize);
+        if (size < 1) {
+            throw new IllegalEntityStateException(String.format("Invalid page size limit=%d", size));
+        }
+        return new PageRequest(cursor, Math.min(size, maxPageSize));
+    }
+
+    public <T> Response response(PageResponse<T> page) {
+        final Response.ResponseBuilder builder = Response.ok(page.getItems());
+        page.getNextCursor().ifPresent(cursor -> builder.header(NEXT_CURSOR, cursor));
+        return builder.build();
+    }
+}
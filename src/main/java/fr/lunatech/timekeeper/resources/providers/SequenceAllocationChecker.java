@@ -0,0 +1,61 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.resources.providers;
+
+import fr.lunatech.timekeeper.models.PooledSequenceGenerator;
+import io.quarkus.hibernate.orm.panache.runtime.JpaOperations;
+import io.quarkus.runtime.StartupEvent;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.transaction.Transactional;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Fails the startup when the increment of a pooled sequence is not the allocation size of PooledSequenceGenerator :
+ * the increment is set once by V24__pooled_sequences_for_bulk_inserts.sql, a different allocation size would hand out
+ * ids that were already given. Changing the allocation size requires a migration that alters the sequences.
+ */
+@ApplicationScoped
+public class SequenceAllocationChecker {
+    private static Logger logger = LoggerFactory.getLogger(SequenceAllocationChecker.class);
+
+    @ConfigProperty(name = PooledSequenceGenerator.ALLOCATION_SIZE, defaultValue = "" + PooledSequenceGenerator.DEFAULT_ALLOCATION_SIZE)
+    Integer allocationSize;
+
+    @Transactional
+    void startup(@Observes StartupEvent event) {
+        @SuppressWarnings("unchecked") final List<Object[]> sequences = JpaOperations.getEntityManager()
+                .createNativeQuery("select sequencename, increment_by from pg_sequences where sequencename in (?1)")
+                .setParameter(1, PooledSequenceGenerator.SEQUENCES)
+                .getResultList();
+        final List<String> mismatches = sequences.stream()
+                .filter(sequence -> ((Number) sequence[1]).longValue() != allocationSize)
+                .map(sequence -> sequence[0] + " increments by " + sequence[1])
+                .collect(Collectors.toList());
+        if (sequences.size() != PooledSequenceGenerator.SEQUENCES.size() || !mismatches.isEmpty()) {
+            throw new IllegalStateException(String.format("The pooled sequences %s do not match %s=%d : %s",
+                    PooledSequenceGenerator.SEQUENCES, PooledSequenceGenerator.ALLOCATION_SIZE, allocationSize, mismatches));
+        }
+        logger.debug("The pooled sequences {} increment by {}", PooledSequenceGenerator.SEQUENCES, allocationSize);
+    }
+}
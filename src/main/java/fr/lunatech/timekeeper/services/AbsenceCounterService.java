@@ -0,0 +1,204 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services;
+
+import fr.lunatech.timekeeper.models.time.EventType;
+import fr.lunatech.timekeeper.services.exceptions.CalendarNotFoundException;
+import fr.lunatech.timekeeper.services.responses.AbsenceCountersResponse;
+import fr.lunatech.timekeeper.timeutils.CalendarFactory;
+import io.quarkus.hibernate.orm.panache.runtime.JpaOperations;
+import org.hibernate.Session;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.transaction.Transactional;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static javax.transaction.Transactional.TxType.MANDATORY;
+
+/**
+ * Maintains and reads the user_absence_days counters : the business days of userEvents of a user, per year and event type.
+ * The writes of userEvents record their changes here, in the same transaction,
+ * so that the absences of a year are read with one query instead of expanding every userEvent day by day.
+ */
+@ApplicationScoped
+public class AbsenceCounterService {
+
+    private static final String UPSERT = "insert into user_absence_days (user_id, year, event_type, days) values (?, ?, ?, ?)" +
+            " on conflict (user_id, year, event_type) do update set days = user_absence_days.days + excluded.days";
+
+    /**
+     * Applies the changes with one JDBC batch
+     *
+     * @param changes are the days to add or remove, by user, year and event type
+     */
+    @Transactional(MANDATORY)
+    public void apply(Changes changes) {
+        if (!changes.hasChanges()) {
+            return;
+        }
+        JpaOperations.getEntityManager().unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPSERT)) {
+                for (var byUser : changes.deltas.entrySet()) {
+                    for (var byYear : byUser.getValue().entrySet()) {
+                        for (EventType eventType : EventType.values()) {
+                            final long days = byYear.getValue()[eventType.ordinal()];
+                            if (days == 0L) {
+                                continue;
+                            }
+                            statement.setLong(1, byUser.getKey());
+                            statement.setInt(2, byYear.getKey());
+                            statement.setString(3, eventType.name());
+                            statement.setLong(4, days);
+                            statement.addBatch();
+                        }
+                    }
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    /**
+     * Recomputes all the counters from the userEvents, e.g. after a change of the calendar.
+     * The userEvents are locked against the writes until the end of the rebuild : a userEvent written during the
+     * rebuild would otherwise be read before the counters are deleted and lose its days until the next rebuild.
+     * The writes wait for the rebuild, and the rebuild waits for the writes in progress, which are then read.
+     *
+     * @return the number of users with absences
+     */
+    @Transactional
+    public int rebuild() {
+        final Changes changes = new Changes();
+        JpaOperations.getEntityManager().createNativeQuery("lock table user_events in share mode").executeUpdate();
+        try (@SuppressWarnings("unchecked") Stream<Object[]> userEvents = JpaOperations.getEntityManager()
+                .createNativeQuery("select owner_id, eventtype, startdatetime, enddatetime from user_events" +
+                        " where owner_id is not null and enddatetime >= startdatetime")
+                .getResultStream()) {
+            userEvents.forEach(row -> changes.addEvent(((Number) row[0]).longValue(),
+                    row[1] == null ? null : EventType.valueOf((String) row[1]),
+                    ((Timestamp) row[2]).toLocalDateTime(),
+                    ((Timestamp) row[3]).toLocalDateTime()));
+        }
+        JpaOperations.getEntityManager().createNativeQuery("delete from user_absence_days").executeUpdate();
+        apply(changes);
+        return changes.deltas.size();
+    }
+
+    /**
+     * Returns the absences of the users of an organization for a year, with one query
+     *
+     * @param year is the year
+     * @param ctx  is the current user, the users of its organization are returned
+     * @return the users, sorted by id, with their days of absence by event type (0 without absence)
+     */
+    public List<AbsenceCountersResponse> findForOrganization(Integer year, AuthenticationContext ctx) {
+        @SuppressWarnings("unchecked") final List<Object[]> rows = JpaOperations.getEntityManager()
+                .createNativeQuery("select u.id, concat_ws(' ', u.firstname, u.lastname), a.event_type, a.days from users u" +
+                        " left join user_absence_days a on a.user_id = u.id and a.year = ?2" +
+                        " where u.organization_id = ?1 order by u.id")
+                .setParameter(1, ctx.getOrganization().id)
+                .setParameter(2, year)
+                .getResultList();
+        final Map<Long, AbsenceCountersResponse> counters = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            final AbsenceCountersResponse userCounters = counters.computeIfAbsent(((Number) row[0]).longValue(),
+                    userId -> new AbsenceCountersResponse(userId, (String) row[1], year));
+            if (row[2] != null) {
+                userCounters.setDays(EventType.valueOf((String) row[2]), ((Number) row[3]).longValue());
+            }
+        }
+        return new ArrayList<>(counters.values());
+    }
+
+    /**
+     * Counts the business days of the calendar between two days, both included, per year.
+     * A year without calendar counts the days from monday to friday.
+     */
+    static Map<Integer, Long> countBusinessDays(LocalDate from, LocalDate to) {
+        final Map<Integer, Long> businessDays = new HashMap<>();
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            final LocalDate first = year == from.getYear() ? from : LocalDate.of(year, 1, 1);
+            final LocalDate last = year == to.getYear() ? to : LocalDate.of(year, 12, 31);
+            long days;
+            try {
+                days = CalendarFactory.instanceFor("FR", year).businessDaysBetween(first, last);
+            } catch (CalendarNotFoundException e) {
+                days = first.datesUntil(last.plusDays(1))
+                        .filter(day -> day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY)
+                        .count();
+            }
+            if (days > 0) {
+                businessDays.put(year, days);
+            }
+        }
+        return businessDays;
+    }
+
+    /**
+     * Days to add to (or remove from) the counters, merged by user, year and event type before being written
+     */
+    public static final class Changes {
+
+        // user id -> year -> days by event type (ordinal)
+        private final Map<Long, Map<Integer, long[]>> deltas = new HashMap<>();
+
+        public Changes addEvent(Long userId, EventType eventType, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+            return add(userId, eventType, startDateTime, endDateTime, 1L);
+        }
+
+        public Changes removeEvent(Long userId, EventType eventType, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+            return add(userId, eventType, startDateTime, endDateTime, -1L);
+        }
+
+        // A userEvent without type is a personal one, as created by the UserEventRequest.
+        // Each business day touched by the userEvent counts as a full day : a half day off, e.g. from 9AM to 1PM, counts 1.
+        private Changes add(Long userId, EventType eventType, LocalDateTime startDateTime, LocalDateTime endDateTime, long sign) {
+            if (userId == null || startDateTime == null || endDateTime == null || endDateTime.isBefore(startDateTime)) {
+                return this;
+            }
+            final int type = (eventType == null ? EventType.PERSONAL : eventType).ordinal();
+            countBusinessDays(startDateTime.toLocalDate(), endDateTime.toLocalDate()).forEach((year, days) ->
+                    deltas.computeIfAbsent(userId, id -> new HashMap<>())
+                            .computeIfAbsent(year, y -> new long[EventType.values().length])[type] += sign * days);
+            return this;
+        }
+
+        long getDays(Long userId, Integer year, EventType eventType) {
+            final long[] days = deltas.getOrDefault(userId, Map.of()).get(year);
+            return days == null ? 0L : days[eventType.ordinal()];
+        }
+
+        boolean hasChanges() {
+            return deltas.values().stream()
+                    .flatMap(byYear -> byYear.values().stream())
+                    .flatMapToLong(Arrays::stream)
+                    .anyMatch(days -> days != 0L);
+        }
+    }
+}
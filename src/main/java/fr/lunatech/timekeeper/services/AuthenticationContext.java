@@ -121,15 +121,16 @@ public final class AuthenticationContext {
         return organizationAccess && project.publicAccess;
     }
 
+    // The context is cached between the requests (see AuthenticationContextProvider), it keeps its own copy of the profiles
     static AuthenticationContext bind(@NotNull User user) {
-        return new AuthenticationContext(user.id, user.organization, user.profiles);
+        return new AuthenticationContext(user.id, user.organization, List.copyOf(user.profiles));
     }
 
-    private Boolean isSuperAdmin() {
+    protected final boolean isSuperAdmin() {
         return profiles.contains(Profile.SUPER_ADMIN);
     }
 
-    private Boolean isAdmin() {
+    protected final boolean isAdmin() {
         return profiles.contains(Profile.ADMIN);
     }
 
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package fr.lunatech.timekeeper.services;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * The values already loaded, by key : the least recently used is dropped when the cache is full,
+ * and a value older than the time to live (if any) is loaded again.
+ * A value loaded while some values were invalidated may be stale, it is returned but not kept.
+ * A cache without size, or with a time to live that is not positive, keeps nothing.
+ *
+ * @param <K> is the key, with equals and hashCode
+ * @param <V> is the value
+ */
+public final class BoundedCache<K, V> {
+
+    private final Map<K, Entry<V>> entries;
+    private final int maxSize;
+    // null for values that do not expire
+    private final Duration timeToLive;
+    private final Clock clock;
+
+    // Incremented by each invalidation, read before a value is loaded
+    private long generation;
+
+    public BoundedCache(int maxSize) {
+        this(maxSize, null, Clock.systemUTC());
+    }
+
+    public BoundedCache(int maxSize, Duration timeToLive, Clock clock) {
+        this.maxSize = maxSize;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized Optional<V> get(K key) {
+        final Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAt != null && !clock.instant().isBefore(entry.expiresAt)) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(entry.value);
+    }
+
+    /**
+     * Returns the value of the key, or loads it without holding the lock of the cache : the invalidations are not
+     * blocked by the load. The loaded value is kept unless an invalidation happened since the load started.
+     */
+    public V get(K key, Supplier<V> load) {
+        return get(key).orElseGet(() -> load(key, load));
+    }
+
+    /**
+     * Loads the value of the key, as get(key, load) does when the key is not cached
+     */
+    public V load(K key, Supplier<V> load) {
+        final long loadedAt;
+        synchronized (this) {
+            loadedAt = generation;
+        }
+        final V value = load.get();
+        synchronized (this) {
+            if (generation == loadedAt) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    public synchronized void put(K key, V value) {
+        if (isEnabled()) {
+            entries.put(key, new Entry<>(value, timeToLive == null ? null : clock.instant().plus(timeToLive)));
+        }
+    }
+
+    /**
+     * Drops the values of the stale keys, and prevents the values being loaded from being kept
+     *
+     * @return the number of values dropped
+     */
+    public synchronized int invalidate(Predicate<K> isStale) {
+        generation++;
+        final int size = entries.size();
+        entries.keySet().removeIf(isStale);
+        return size - entries.size();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0 && (timeToLive == null || !timeToLive.isZero() && !timeToLive.isNegative());
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+        // null for a value that does not expire
+        private final Instant expiresAt;
+
+        private Entry(V value, Instant expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services;
+
+import fr.lunatech.timekeeper.services.requests.BurnDownRequest;
+import fr.lunatech.timekeeper.services.responses.BurnDownResponse;
+import io.quarkus.hibernate.orm.panache.runtime.JpaOperations;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Computes the burn-down of a project : the cumulative hours of each member and of all the members, per day or week,
+ * against the budget of their timesheets (maxDuration and durationUnit).
+ * The hours are summed and accumulated by Postgres with a window function, the entries are not loaded.
+ */
+@ApplicationScoped
+public class BurnDownService {
+
+    private static Logger logger = LoggerFactory.getLogger(BurnDownService.class);
+
+    // The grouping sets make a row per member (total = 0) and a row for all the members (total = 1).
+    // The entries of the range are read with the index on (timesheet_id, startdatetime), as well as the hours before it.
+    // Same budget as TimeSheetUtils.computeLeftOver : 8 hours a day, 4 hours a half day.
+    // The budget of the total is null as soon as a timesheet has no budget, instead of the sum of a part of the members.
+    private static final String BURN_DOWN = "with sheets as (" +
+            "   select ts.id, ts.user_id," +
+            "   case when ts.maxduration > 0 then ts.maxduration * case ts.durationunit when 'HOURLY' then 1 when 'HALFDAY' then 4 else 8 end end as budget," +
+            "   coalesce((select sum(" + ReportService.ENTRY_HOURS + ") from timeentries te" +
+            "     where te.timesheet_id = ts.id and te.startdatetime < ?2), 0) as consumed_before" +
+            "   from timesheets ts where ts.project_id = ?1)," +
+            " budgets as (" +
+            "   select grouping(s.user_id) as total, s.user_id, case when count(s.budget) = count(*) then sum(s.budget) end as budget, sum(s.consumed_before) as consumed_before" +
+            "   from sheets s group by grouping sets ((s.user_id), ()))," +
+            " buckets as (" +
+            "   select grouping(s.user_id) as total, s.user_id, %1$s as bucket, sum(" + ReportService.ENTRY_HOURS + ") as hours" +
+            "   from timeentries te join sheets s on s.id = te.timesheet_id" +
+            "   where te.startdatetime >= ?2 and te.startdatetime < ?3" +
+            "   group by grouping sets ((s.user_id, %1$s), (%1$s)))" +
+            " select b.total, b.user_id, b.budget, k.bucket, k.hours," +
+            "   b.consumed_before + sum(k.hours) over (partition by b.total, b.user_id order by k.bucket) as cumulative" +
+            " from budgets b left join buckets k on k.total = b.total and k.user_id is not distinct from b.user_id" +
+            " order by b.total desc, b.user_id, k.bucket";
+
+    @Inject
+    ProjectService projectService;
+
+    /**
+     * @param projectId is the project
+     * @param request   is the date range and the granularity
+     * @param ctx       is the current user
+     * @return the burn-down, or empty if the project does not exist or is not visible for the user
+     */
+    public Optional<BurnDownResponse> findForProject(Long projectId, BurnDownRequest request, AuthenticationContext ctx) {
+        return projectService.findById(projectId, ctx).map(project -> compute(project.id, request));
+    }
+
+    static String buildQuery(BurnDownRequest.Granularity granularity) {
+        final String bucket = String.format("cast(date_trunc('%s', te.startdatetime) as date)", granularity.name().toLowerCase(Locale.ROOT));
+        return String.format(BURN_DOWN, bucket);
+    }
+
+    private BurnDownResponse compute(Long projectId, BurnDownRequest request) {
+        logger.debug("Compute the burn-down of the project {} with {}", projectId, request);
+        @SuppressWarnings("unchecked") final List<Object[]> rows = JpaOperations.getEntityManager()
+                .createNativeQuery(buildQuery(request.getGranularity()))
+                .setParameter(1, projectId)
+                .setParameter(2, request.getFrom().atStartOfDay())
+                .setParameter(3, request.getTo().plusDays(1).atStartOfDay())
+                .getResultList();
+        BurnDownResponse.Series total = null;
+        final Map<Long, BurnDownResponse.Series> members = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            final Long budgetHours = toLong(row[2]);
+            final BurnDownResponse.Series series;
+            if (((Number) row[0]).intValue() == 1) {
+                total = total == null ? new BurnDownResponse.Series(null, budgetHours) : total;
+                series = total;
+            } else {
+                series = members.computeIfAbsent(toLong(row[1]), userId -> new BurnDownResponse.Series(userId, budgetHours));
+            }
+            // A member without hours in the range has a row without bucket
+            if (row[3] != null) {
+                series.add(((Date) row[3]).toLocalDate(), toLong(row[4]), toLong(row[5]));
+            }
+        }
+        return new BurnDownResponse(projectId, request.getFrom(), request.getTo(), request.getGranularity(),
+                total == null ? new BurnDownResponse.Series(null, null) : total, new ArrayList<>(members.values()));
+    }
+
+    private static Long toLong(Object value) {
+        return value == null ? null : ((Number) value).longValue();
+    }
+}
@@ -18,33 +18,59 @@ package fr.lunatech.timekeeper.services;
 
 import fr.lunatech.timekeeper.models.Client;
 import fr.lunatech.timekeeper.resources.exceptions.CreateResourceException;
+import fr.lunatech.timekeeper.services.events.HoursChangedEvent;
+import fr.lunatech.timekeeper.services.events.PersonalDaysChangedEvent;
 import fr.lunatech.timekeeper.services.requests.ClientRequest;
+import fr.lunatech.timekeeper.services.requests.PageRequest;
 import fr.lunatech.timekeeper.services.responses.ClientResponse;
+import fr.lunatech.timekeeper.services.responses.PageResponse;
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import io.quarkus.panache.common.Page;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
 import javax.persistence.PersistenceException;
 import javax.transaction.Transactional;
-import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Function;
-import java.util.stream.Collector;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @ApplicationScoped
 public class ClientService {
 
     private static Logger logger = LoggerFactory.getLogger(ClientService.class);
 
+    @Inject
+    Event<HoursChangedEvent> hoursChanged;
+
+    @Inject
+    Event<PersonalDaysChangedEvent> personalDaysChanged;
+
+    @Inject
+    TimeSheetService timeSheetService;
+
     public Optional<ClientResponse> findResponseById(Long id, AuthenticationContext ctx) {
         return findById(id, ctx).map(ClientResponse::bind);
     }
 
-    public List<ClientResponse> listAllResponses(AuthenticationContext ctx) {
-        return streamAll(ctx, ClientResponse::bind, Collectors.toList());
+    /**
+     * Returns the tag of the response of a client and of its projects, without binding it
+     */
+    public Optional<VersionTag> findVersionTagById(Long id, AuthenticationContext ctx) {
+        return findById(id, ctx).map(client -> {
+            final VersionTag tag = new VersionTag().add("Client", client.id, client.version);
+            client.projects.forEach(project -> tag.add("Project", project.id, project.version));
+            return tag;
+        });
+    }
+
+    public PageResponse<ClientResponse> listAllResponses(AuthenticationContext ctx, PageRequest page) {
+        final List<Client> clients = findAllVisible(ctx, page.getAfter())
+                .page(Page.ofSize(page.getLimit() + 1))
+                .list();
+        return PageResponse.bind(clients, page, client -> client.id, ClientResponse::bind);
     }
 
     @Transactional
@@ -64,7 +90,13 @@ public class ClientService {
         logger.debug("Modify client for id={} with {}, {}", id, request, ctx);
         return findById(id, ctx)
                 .map(client -> request.unbind(client, ctx))
-                .map(client -> client.id);
+                .map(client -> {
+                    // A concurrent update fails here with an OptimisticLockException, rather than when committing
+                    client.persistAndFlush();
+                    hoursChanged.fire(HoursChangedEvent.allDays());
+                    personalDaysChanged.fire(PersonalDaysChangedEvent.allDays(timeSheetService.findOwnerIdsForClient(client.id)));
+                    return client.id;
+                });
     }
 
     Optional<Client> findById(Long id, AuthenticationContext ctx) {
@@ -72,16 +104,11 @@ public class ClientService {
                 .filter(ctx::canAccess);
     }
 
-    <R extends Collection<ClientResponse>> R streamAll(
-            AuthenticationContext ctx,
-            Function<Client, ClientResponse> bind,
-            Collector<ClientResponse, ?, R> collector
-    ) {
-        try (final Stream<Client> clients = Client.streamAll()) {
-            return clients
-                    .filter(ctx::canAccess)
-                    .map(bind)
-                    .collect(collector);
+    // Same rules as AuthenticationContext.canAccess(Client), evaluated by the database
+    private PanacheQuery<Client> findAllVisible(AuthenticationContext ctx, Long after) {
+        if (ctx.isSuperAdmin()) {
+            return Client.find("id > ?1 order by id", after);
         }
+        return Client.find("organization.id = ?1 and id > ?2 order by id", ctx.getOrganization().id, after);
     }
-}
\ No newline at end of file
+}
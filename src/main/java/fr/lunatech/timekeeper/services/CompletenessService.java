@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services;
+
+import fr.lunatech.timekeeper.services.requests.PeriodRequest;
+import fr.lunatech.timekeeper.services.responses.MissingDaysResponse;
+import fr.lunatech.timekeeper.timeutils.DayBitSet;
+import fr.lunatech.timekeeper.timeutils.TimeKeeperDateUtils;
+import io.quarkus.hibernate.orm.panache.runtime.JpaOperations;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Finds the users of an organization who did not fill all the business days of a period.
+ * The business days and the filled days of each user are sets of bits : the missing days are a bitwise difference.
+ * The filled days of all the users are read with one query on the user_day_hours rollup (time entries and userEvents).
+ */
+@ApplicationScoped
+public class CompletenessService {
+
+    private static Logger logger = LoggerFactory.getLogger(CompletenessService.class);
+
+    // A business day is filled with 8 hours, from 9AM to 5PM
+    static final long FULL_DAY_HOURS = 8L;
+
+    /**
+     * @param request is the period
+     * @param ctx     is the current user, the users of its organization are scanned
+     * @return the users with missing days, sorted by id, and their missing days
+     */
+    public List<MissingDaysResponse> findMissingDays(PeriodRequest request, AuthenticationContext ctx) {
+        logger.debug("Find the missing days {}, {}", request, ctx);
+        final Long organizationId = ctx.getOrganization().id;
+        final DayBitSet businessDays = new DayBitSet(request.getFrom(), request.getTo())
+                .addAll(TimeKeeperDateUtils.getBusinessDays(request.getFrom(), request.getTo()));
+
+        final Map<Long, String> userNames = new LinkedHashMap<>();
+        @SuppressWarnings("unchecked") final List<Object[]> users = JpaOperations.getEntityManager()
+                .createNativeQuery("select id, concat_ws(' ', firstname, lastname) from users where organization_id = ?1 order by id")
+                .setParameter(1, organizationId)
+                .getResultList();
+        users.forEach(user -> userNames.put(((Number) user[0]).longValue(), (String) user[1]));
+
+        final Map<Long, DayBitSet> filledDays = new LinkedHashMap<>();
+        userNames.keySet().forEach(userId -> filledDays.put(userId, new DayBitSet(request.getFrom(), request.getTo())));
+        try (@SuppressWarnings("unchecked") Stream<Object[]> days = JpaOperations.getEntityManager()
+                .createNativeQuery("select d.user_id, d.day from user_day_hours d join users u on u.id = d.user_id" +
+                        " where u.organization_id = ?1 and d.day >= ?2 and d.day <= ?3 and d.entry_hours + d.event_hours >= ?4")
+                .setParameter(1, organizationId)
+                .setParameter(2, request.getFrom())
+                .setParameter(3, request.getTo())
+                .setParameter(4, FULL_DAY_HOURS)
+                .getResultStream()) {
+            days.forEach(day -> {
+                final DayBitSet filled = filledDays.get(((Number) day[0]).longValue());
+                if (filled != null) {
+                    filled.add(((Date) day[1]).toLocalDate());
+                }
+            });
+        }
+
+        final List<MissingDaysResponse> missingDays = new ArrayList<>();
+        filledDays.forEach((userId, filled) -> {
+            final DayBitSet missing = businessDays.minus(filled);
+            if (!missing.isEmpty()) {
+                missingDays.add(new MissingDaysResponse(userId, userNames.get(userId), missing.toDates()));
+            }
+        });
+        return missingDays;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes the lines of a CSV file (RFC 4180) one by one, nothing is kept in memory
+ */
+final class CsvWriter {
+
+    private static final String SEPARATOR = ",";
+    private static final String LINE_SEPARATOR = "\r\n";
+
+    private final Writer writer;
+
+    CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    void writeLine(String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(SEPARATOR);
+            }
+            writer.write(escape(fields[i]));
+        }
+        writer.write(LINE_SEPARATOR);
+    }
+
+    static String escape(String field) {
+        if (field == null || field.isEmpty()) {
+            return "";
+        }
+        // A spreadsheet would evaluate a text starting with one of these characters as a formula
+        final String text = "=+-@".indexOf(field.charAt(0)) >= 0 ? "'" + field : field;
+        if (text.contains(SEPARATOR) || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package fr.lunatech.timekeeper.services;
+
+import fr.lunatech.timekeeper.models.time.UserEvent;
+import io.quarkus.hibernate.orm.panache.runtime.JpaOperations;
+import org.hibernate.Session;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.transaction.Transactional;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static javax.transaction.Transactional.TxType.MANDATORY;
+
+/**
+ * Maintains the user_day_hours rollup : the hours of time entries and userEvents of a user for a day.
+ * The writes of time entries and userEvents record their changes here, in the same transaction,
+ * so that the hours per day are read by primary key instead of summing the entries and events :
+ * by the week of a team (WeekService), the missing days (CompletenessService) and the dashboard views (V31).
+ */
+@ApplicationScoped
+public class DailyHoursService {
+
+    private static final String UPSERT = "insert into user_day_hours (user_id, day, entry_hours, event_hours) values (?, ?, ?, ?)" +
+            " on conflict (user_id, day) do update set entry_hours = user_day_hours.entry_hours + excluded.entry_hours," +
+            " event_hours = user_day_hours.event_hours + excluded.event_hours";
+
+    /**
+     * Applies the changes with one JDBC batch
+     *
+     * @param changes are the hours to add or remove, by user and day
+     */
+    @Transactional(MANDATORY)
+    public void apply(Changes changes) {
+        if (!changes.hasChanges()) {
+            return;
+        }
+        JpaOperations.getEntityManager().unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPSERT)) {
+                for (var byUser : changes.deltas.entrySet()) {
+                    for (var byDay : byUser.getValue().entrySet()) {
+                        if (isUnchanged(byDay.getValue())) {
+                            continue;
+                        }
+                        statement.setLong(1, byUser.getKey());
+                        statement.setDate(2, Date.valueOf(byDay.getKey()));
+                        statement.setLong(3, byDay.getValue()[0]);
+                        statement.setLong(4, byDay.getValue()[1]);
+                        statement.addBatch();
+                    }
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    // An event moved and moved back, or an entry updated with the same hours
+    private static boolean isUnchanged(long[] delta) {
+        return delta[0] == 0L && delta[1] == 0L;
+    }
+
+    /**
+     * Hours to add to (or remove from) the rollup, merged by user and day before being written
+     */
+    public static final class Changes {
+
+        // user id -> day -> {entry hours, event hours}
+        private final Map<Long, Map<LocalDate, long[]>> deltas = new HashMap<>();
+
+        public Changes addEntry(Long userId, LocalDateTime startDateTime, long hours) {
+            return add(userId, startDateTime.toLocalDate(), hours, 0L);
+        }
+
+        public Changes removeEntry(Long userId, LocalDateTime startDateTime, long hours) {
+            return add(userId, startDateTime.toLocalDate(), -hours, 0L);
+        }
+
+        public Changes addEvent(Long userId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+            UserEvent.hoursPerDay(startDateTime, endDateTime).forEach((day, hours) -> add(userId, day, 0L, hours));
+            return this;
+        }
+
+        public Changes removeEvent(Long userId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+            UserEvent.hoursPerDay(startDateTime, endDateTime).forEach((day, hours) -> add(userId, day, 0L, -hours));
+            return this;
+        }
+
+        private Changes add(Long userId, LocalDate day, long entryHours, long eventHours) {
+            if (userId == null) {
+                return this;
+            }
+            final long[] delta = deltas.computeIfAbsent(userId, id -> new HashMap<>()).computeIfAbsent(day, d -> new long[2]);
+            delta[0] += entryHours;
+            delta[1] += eventHours;
+            return this;
+        }
+
+        boolean hasChanges() {
+            return deltas.values().stream()
+                    .flatMap(byDay -> byDay.values().stream())
+                    .anyMatch(delta -> !isUnchanged(delta));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services;
+
+import fr.lunatech.timekeeper.gauges.DashboardRefreshGauge;
+import fr.lunatech.timekeeper.models.time.EventType;
+import fr.lunatech.timekeeper.services.requests.PeriodRequest;
+import fr.lunatech.timekeeper.services.responses.DashboardAbsencesResponse;
+import fr.lunatech.timekeeper.services.responses.DashboardFillRateResponse;
+import fr.lunatech.timekeeper.services.responses.DashboardProjectHoursResponse;
+import fr.lunatech.timekeeper.timeutils.TimeKeeperDateUtils;
+import io.quarkus.hibernate.orm.panache.runtime.JpaOperations;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The organization dashboard : hours per project, absences per week and fill rate.
+ * It is read from materialized views (see V31 migration), refreshed concurrently by DashboardRefreshJob :
+ * the dashboard never reads the tables written by the time entries and userEvents, and the refresh does not lock the readers.
+ */
+@ApplicationScoped
+public class DashboardService {
+
+    private static Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    static final List<String> VIEWS = List.of("dashboard_project_hours", "dashboard_absences", "dashboard_fill_rate");
+
+    @Inject
+    DashboardRefreshGauge dashboardRefreshGauge;
+
+    @Transactional
+    public void refresh() {
+        final long start = System.currentTimeMillis();
+        VIEWS.forEach(view -> JpaOperations.getEntityManager()
+                .createNativeQuery("refresh materialized view concurrently " + view)
+                .executeUpdate());
+        final long duration = System.currentTimeMillis() - start;
+        dashboardRefreshGauge.refreshed(start, duration);
+        logger.debug("Refreshed the dashboard views in {}ms", duration);
+    }
+
+    /**
+     * @param request is the period, the months overlapping it are returned
+     * @param ctx     is the current user, the projects of its organization are returned
+     * @return the hours per project and month, sorted by month and project
+     */
+    public List<DashboardProjectHoursResponse> findProjectHours(PeriodRequest request, AuthenticationContext ctx) {
+        return query("select project_id, project_name, month, billable_hours, non_billable_hours from dashboard_project_hours" +
+                " where organization_id = ?1 and month >= ?2 and month <= ?3 order by month, project_id", request.getFrom().withDayOfMonth(1), request, ctx)
+                .stream()
+                .map(row -> new DashboardProjectHoursResponse(((Number) row[0]).longValue(), (String) row[1], ((Date) row[2]).toLocalDate(),
+                        ((Number) row[3]).longValue(), ((Number) row[4]).longValue()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @param request is the period, the weeks overlapping it are returned
+     * @param ctx     is the current user, the absences of its organization are returned
+     * @return the absences per week and event type, sorted by week and event type
+     */
+    public List<DashboardAbsencesResponse> findAbsences(PeriodRequest request, AuthenticationContext ctx) {
+        return query("select week, event_type, users, days from dashboard_absences" +
+                " where organization_id = ?1 and week >= ?2 and week <= ?3 order by week, event_type", firstDayOfWeek(request), request, ctx)
+                .stream()
+                .map(row -> new DashboardAbsencesResponse(((Date) row[0]).toLocalDate(), EventType.valueOf((String) row[1]),
+                        ((Number) row[2]).longValue(), ((Number) row[3]).longValue()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @param request is the period, the weeks overlapping it are returned
+     * @param ctx     is the current user, the fill rate of its organization is returned
+     * @return the fill rate per week, sorted by week
+     */
+    public List<DashboardFillRateResponse> findFillRate(PeriodRequest request, AuthenticationContext ctx) {
+        return query("select week, members, filled_hours from dashboard_fill_rate" +
+                " where organization_id = ?1 and week >= ?2 and week <= ?3 order by week", firstDayOfWeek(request), request, ctx)
+                .stream()
+                .map(row -> new DashboardFillRateResponse(((Date) row[0]).toLocalDate(), ((Number) row[1]).longValue(), ((Number) row[2]).longValue()))
+                .collect(Collectors.toList());
+    }
+
+    private static LocalDate firstDayOfWeek(PeriodRequest request) {
+        return TimeKeeperDateUtils.adjustToFirstDayOfWeek(request.getFrom());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> query(String query, LocalDate from, PeriodRequest request, AuthenticationContext ctx) {
+        logger.debug("Read the dashboard {}, {}", request, ctx);
+        return JpaOperations.getEntityManager()
+                .createNativeQuery(query)
+                .setParameter(1, ctx.getOrganization().id)
+                .setParameter(2, from)
+                .setParameter(3, request.getTo())
+                .getResultList();
+    }
+}
@@ -21,16 +21,26 @@ import fr.lunatech.timekeeper.models.time.UserEvent;
 import fr.lunatech.timekeeper.resources.exceptions.CreateResourceException;
 import fr.lunatech.timekeeper.resources.exceptions.UpdateResourceException;
 import fr.lunatech.timekeeper.services.requests.EventTemplateRequest;
+import fr.lunatech.timekeeper.services.requests.PageRequest;
+import fr.lunatech.timekeeper.services.responses.Attendee;
 import fr.lunatech.timekeeper.services.responses.EventTemplateResponse;
+import fr.lunatech.timekeeper.services.responses.PageResponse;
 import fr.lunatech.timekeeper.services.responses.UserResponse;
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import io.quarkus.hibernate.orm.panache.runtime.JpaOperations;
+import io.quarkus.panache.common.Page;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
+import javax.persistence.LockModeType;
+import javax.persistence.OptimisticLockException;
 import javax.persistence.PersistenceException;
 import javax.transaction.Transactional;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -55,16 +65,47 @@ public class EventTemplateService {
                 });
     }
 
-    public List<EventTemplateResponse> getAllEventsTemplate(AuthenticationContext ctx) {
-        try (final Stream<EventTemplate> eventTemplates = EventTemplate.streamAll()) { // NOSONAR
-            return eventTemplates
-                    .filter(ctx::canAccess)
-                    .map(template -> {
-                        var users = userEventService.findAllUsersFromEventTemplate(template.id);
-                        return EventTemplateResponse.bind(template, users);
-                    })
-                    .collect(Collectors.toList());
+    /**
+     * Returns the tag of the response of an eventTemplate, without binding it : a change of its attendees increments its version
+     */
+    public Optional<VersionTag> findVersionTagById(Long id, AuthenticationContext context) {
+        return findById(id, context).map(eventTemplate -> {
+            final VersionTag tag = new VersionTag().add("EventTemplate", eventTemplate.id, eventTemplate.version);
+            userEventService.findAllUsersFromEventTemplate(eventTemplate.id)
+                    .forEach(attendee -> tag.add("User", attendee.id, attendee.version));
+            return tag;
+        });
+    }
+
+    /**
+     * Returns a page of eventTemplates, the attendees of the page are loaded with a single query
+     *
+     * @param ctx       is the context with the user that made this request
+     * @param page      is the requested page
+     * @param optimized if true, only the number of attendees is returned, without the list of attendees
+     * @return the page of eventTemplates
+     */
+    public PageResponse<EventTemplateResponse> getAllEventsTemplate(AuthenticationContext ctx, PageRequest page, Optional<Boolean> optimized) {
+        final List<EventTemplate> eventTemplates = findAllVisible(ctx, page.getAfter())
+                .page(Page.ofSize(page.getLimit() + 1))
+                .list();
+        final List<Long> templateIds = eventTemplates.stream().map(template -> template.id).collect(Collectors.toList());
+        if (optimized.orElse(false)) {
+            final Map<Long, Long> attendeesCount = userEventService.countAttendeesFromEventTemplates(templateIds);
+            return PageResponse.bind(eventTemplates, page, template -> template.id,
+                    template -> EventTemplateResponse.bindWithAttendeesCount(template, attendeesCount.getOrDefault(template.id, 0L)));
+        }
+        final Map<Long, List<Attendee>> attendees = userEventService.findAllAttendeesFromEventTemplates(templateIds);
+        return PageResponse.bind(eventTemplates, page, template -> template.id,
+                template -> EventTemplateResponse.bindWithAttendees(template, attendees.getOrDefault(template.id, Collections.emptyList())));
+    }
+
+    // Same rules as AuthenticationContext.canAccess(EventTemplate), evaluated by the database
+    private PanacheQuery<EventTemplate> findAllVisible(AuthenticationContext ctx, Long after) {
+        if (ctx.isSuperAdmin()) {
+            return EventTemplate.find("id > ?1 order by id", after);
         }
+        return EventTemplate.find("organization.id = ?1 and id > ?2 order by id", ctx.getOrganization().id, after);
     }
 
     public List<UserResponse> getAttendees(Long eventId) {
@@ -114,7 +155,7 @@ public class EventTemplateService {
     }
 
     /**
-     * Update an existing EventTemplate and delete/recreate all associated userEvents from this Event Template
+     * Update an existing EventTemplate and apply the attendees diff to the associated userEvents
      * @param eventId is the event to be updated
      * @param request is the eventTemplateRequest DTO that should replace all existing EventTemplate data
      * @param ctx for security
@@ -143,6 +184,9 @@ public class EventTemplateService {
 
             try {
                 eventTemplateUpdated.persistAndFlush();
+            } catch (OptimisticLockException ole) {
+                // Mapped to a conflict, it is not a constraint violation
+                throw ole;
             }catch (PersistenceException pe){
                 if(pe.getCause() instanceof org.hibernate.exception.ConstraintViolationException && pe.getCause().getCause() instanceof  org.postgresql.util.PSQLException){
                     logger.warn(String.format("SQL Exception : unable to persist this EventTemplate due to [%s]",pe.getCause().getCause().getMessage()) );
@@ -153,10 +197,12 @@ public class EventTemplateService {
 
             logger.debug("Updated eventTemplate id={}", eventTemplateUpdated.id);
 
-            // Create userEvent for each attendee using the userEventService
-            // Please note that we will also delete and recreate all userEvents for each attendee.
+            // Delete, update or create the userEvent of each attendee using the userEventService
             var updatedUsers = findById(eventTemplateUpdated.id, ctx).map(evt -> userEventService.createOrUpdateFromEventTemplate(evt, request.getAttendees(), ctx)).orElse(0L);
             logger.debug("Updated {} userEvents from template", updatedUsers);
+            // The attendees are part of the eventTemplate, even if only them changed
+            JpaOperations.getEntityManager().lock(eventTemplateUpdated, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+            JpaOperations.getEntityManager().flush();
 
             return updatedUsers;
         }).orElse(0L);
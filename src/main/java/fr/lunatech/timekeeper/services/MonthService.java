@@ -20,11 +20,11 @@ import fr.lunatech.timekeeper.models.User;
 import fr.lunatech.timekeeper.services.responses.MonthResponse;
 import fr.lunatech.timekeeper.services.responses.TimeSheetResponse;
 import fr.lunatech.timekeeper.timeutils.CalendarFactory;
+import fr.lunatech.timekeeper.timeutils.TimeKeeperDateUtils;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -40,7 +40,24 @@ public class MonthService {
     @Inject
     UserEventService userEventService;
 
+    @Inject
+    PersonalViewCache personalViewCache;
+
+    /**
+     * Loads the six weeks of a month for the current authenticated user, from the cache when they did not change since they were last loaded
+     *
+     * @param ctx         is the context with the user that made this request
+     * @param year        is a 4 digit Integer value for a year, the current year if null
+     * @param monthNumber is an Integer value between 1 and 12, the current month if null
+     * @return the MonthResponse with details for this user.
+     */
     public MonthResponse getMonth(AuthenticationContext ctx, Integer year, Integer monthNumber) {
+        final Integer month = monthNumber == null ? LocalDate.now().getMonthValue() : monthNumber;
+        final Integer monthYear = year == null ? LocalDate.now().getYear() : year;
+        return personalViewCache.getMonth(ctx.getUserId(), monthYear, month, () -> loadMonth(ctx, monthYear, month));
+    }
+
+    private MonthResponse loadMonth(AuthenticationContext ctx, Integer year, Integer monthNumber) {
         Long userId = ctx.getUserId();
         Optional<User> maybeUser = userService.findById(userId, ctx);
         if (maybeUser.isEmpty()) {
@@ -48,18 +65,10 @@ public class MonthService {
         }
 
         var userEvents = userEventService.getEventsByUserForMonthNumber(maybeUser.get().id, monthNumber, year);
-        if (monthNumber == null) {
-            monthNumber = LocalDate.now().getMonthValue();
-        }
-        if (year == null) {
-            year = LocalDate.now().getYear();
-        }
         var publicHolidays = CalendarFactory.instanceFor("FR", year).getPublicHolidaysForMonthNumber(monthNumber);
 
-        final List<TimeSheetResponse> timeSheetResponseList = new ArrayList<>();
-        for (TimeSheetResponse timeSheetResponse : timeSheetService.findAllActivesForUser(ctx)) {
-            timeSheetResponseList.add(timeSheetResponse.filterToSixWeeksRange(year, monthNumber));
-        }
+        var firstDayOfSixWeeks = TimeKeeperDateUtils.getFirstDayOfSixWeeksFromMonth(year, monthNumber);
+        final List<TimeSheetResponse> timeSheetResponseList = timeSheetService.findAllActivesForUser(ctx, firstDayOfSixWeeks, firstDayOfSixWeeks.plusWeeks(6));
 
         return new MonthResponse(userEvents
                 , timeSheetResponseList
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services;
+
+import fr.lunatech.timekeeper.services.events.HoursChangedEvent;
+import io.quarkus.hibernate.orm.panache.runtime.JpaOperations;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes and checks the monthly snapshots of the billable and non billable hours per client, project and user.
+ * A snapshot is written once per month, once the month is closed, and is never updated afterwards (see V29 migration) :
+ * the invoices and the reports of the closed months read it instead of summing the time entries.
+ */
+@ApplicationScoped
+public class MonthlySnapshotService {
+
+    private static Logger logger = LoggerFactory.getLogger(MonthlySnapshotService.class);
+
+    @Inject
+    Event<HoursChangedEvent> hoursChanged;
+
+    private static final String INSERT_SNAPSHOT = "insert into monthly_snapshots (month) values (?1) on conflict (month) do nothing";
+
+    private static final String INSERT_HOURS = "insert into monthly_hours" +
+            " (month, organization_id, client_id, project_id, user_id, billable_hours, non_billable_hours)" +
+            " select ?1, p.organization_id, p.client_id, p.id, ts.user_id," +
+            " sum(case when " + ReportService.ENTRY_BILLABLE + " then " + ReportService.ENTRY_HOURS + " else 0 end)," +
+            " sum(case when " + ReportService.ENTRY_BILLABLE + " then 0 else " + ReportService.ENTRY_HOURS + " end)" +
+            " from timeentries te" +
+            " join timesheets ts on ts.id = te.timesheet_id" +
+            " join projects p on p.id = ts.project_id" +
+            " where te.startdatetime >= ?2 and te.startdatetime < ?3 and ts.user_id is not null" +
+            " group by p.organization_id, p.client_id, p.id, ts.user_id";
+
+    /**
+     * Writes the snapshot of a month, unless it already exists
+     *
+     * @param month is a closed month
+     * @return true if the snapshot was written, false if it already existed
+     */
+    @Transactional
+    public boolean snapshot(YearMonth month) {
+        final int created = JpaOperations.getEntityManager()
+                .createNativeQuery(INSERT_SNAPSHOT)
+                .setParameter(1, month.atDay(1))
+                .executeUpdate();
+        if (created == 0) {
+            logger.debug("The snapshot of {} already exists", month);
+            return false;
+        }
+        final int rows = JpaOperations.getEntityManager()
+                .createNativeQuery(INSERT_HOURS)
+                .setParameter(1, month.atDay(1))
+                .setParameter(2, month.atDay(1).atStartOfDay())
+                .setParameter(3, month.plusMonths(1).atDay(1).atStartOfDay())
+                .executeUpdate();
+        logger.info("Created the snapshot of {} with {} rows", month, rows);
+        // The reports of the month that were computed from the entries are now read from the snapshot
+        hoursChanged.fire(HoursChangedEvent.of(month.atDay(1).datesUntil(month.plusMonths(1).atDay(1)).toArray(LocalDate[]::new)));
+        return true;
+    }
+
+    /**
+     * Returns the closed months that should have a snapshot : the months after the last snapshot, so that the months
+     * missed by the job (the application was stopped when it was scheduled...) are caught up.
+     * Without any snapshot, only the last closed month is returned, the older months are not frozen.
+     *
+     * @param lastClosedMonth is the last month which is closed
+     * @return the months without a snapshot, in chronological order
+     */
+    public List<YearMonth> findMonthsToSnapshot(YearMonth lastClosedMonth) {
+        final Date last = (Date) JpaOperations.getEntityManager()
+                .createNativeQuery("select max(month) from monthly_snapshots")
+                .getSingleResult();
+        if (last == null) {
+            return List.of(lastClosedMonth);
+        }
+        final List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(last.toLocalDate()).plusMonths(1); !month.isAfter(lastClosedMonth); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months;
+    }
+
+    /**
+     * @param from is the first month, included
+     * @param to   is the last month, included
+     * @return true if all the months of the range have a snapshot
+     */
+    public boolean hasSnapshots(YearMonth from, YearMonth to) {
+        final Number count = (Number) JpaOperations.getEntityManager()
+                .createNativeQuery("select count(*) from monthly_snapshots where month >= ?1 and month <= ?2")
+                .setParameter(1, from.atDay(1))
+                .setParameter(2, to.atDay(1))
+                .getSingleResult();
+        return count.longValue() == ChronoUnit.MONTHS.between(from, to) + 1;
+    }
+}
@@ -19,6 +19,8 @@ package fr.lunatech.timekeeper.services;
 import fr.lunatech.timekeeper.models.Organization;
 import fr.lunatech.timekeeper.services.requests.OrganizationRequest;
 import fr.lunatech.timekeeper.services.responses.OrganizationResponse;
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import io.quarkus.panache.common.Sort;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,6 +45,18 @@ public class OrganizationService {
         return findById(id, ctx).map(OrganizationResponse::bind);
     }
 
+    /**
+     * Returns the tag of the response of an organization, of its projects and of its users, without binding it
+     */
+    public Optional<VersionTag> findVersionTagById(Long id, AuthenticationContext ctx) {
+        return findById(id, ctx).map(organization -> {
+            final VersionTag tag = new VersionTag().add("Organization", organization.id, organization.version);
+            organization.projects.forEach(project -> tag.add("Project", project.id, project.version));
+            organization.users.forEach(user -> tag.add("User", user.id, user.version));
+            return tag;
+        });
+    }
+
     public List<OrganizationResponse> listAllResponses(AuthenticationContext ctx) {
         return streamAll(ctx, OrganizationResponse::bind, Collectors.toList());
     }
@@ -69,7 +83,11 @@ public class OrganizationService {
         logger.debug("Modify organization for id={} with {}, {}", id, request, ctx);
         return findById(id, ctx)
                 .map(request::unbind)
-                .map(organization -> organization.id);
+                .map(organization -> {
+                    // A concurrent update fails here with an OptimisticLockException, rather than when committing
+                    organization.persistAndFlush();
+                    return organization.id;
+                });
     }
 
     Optional<Organization> findById(Long id, AuthenticationContext ctx) {
@@ -87,11 +105,18 @@ public class OrganizationService {
             Function<Organization, OrganizationResponse> bind,
             Collector<OrganizationResponse, ?, R> collector
     ) {
-        try (final Stream<Organization> organizations = Organization.streamAll()) {
+        try (final Stream<Organization> organizations = findAllVisible(ctx).stream()) {
             return organizations
-                    .filter(ctx::canAccess)
                     .map(bind)
                     .collect(collector);
         }
     }
+
+    // Same rules as AuthenticationContext.canAccess(Organization), evaluated by the database
+    private PanacheQuery<Organization> findAllVisible(AuthenticationContext ctx) {
+        if (ctx.isSuperAdmin()) {
+            return Organization.findAll(Sort.by("id"));
+        }
+        return Organization.find("id", ctx.getOrganization().id);
+    }
 }
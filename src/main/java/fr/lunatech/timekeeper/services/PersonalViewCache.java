@@ -0,0 +1,128 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services;
+
+import fr.lunatech.timekeeper.gauges.PersonalViewCacheGauge;
+import fr.lunatech.timekeeper.services.events.PersonalDaysChangedEvent;
+import fr.lunatech.timekeeper.services.responses.MonthResponse;
+import fr.lunatech.timekeeper.services.responses.WeekResponse;
+import fr.lunatech.timekeeper.timeutils.TimeKeeperDateUtils;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * The personal weeks and months already loaded, by user and period, the least recently used is dropped when the cache is full.
+ * A view is dropped once a transaction that changed one of the days it shows for its user succeeded (see PersonalDaysChangedEvent).
+ */
+@ApplicationScoped
+public class PersonalViewCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PersonalViewCache.class);
+
+    @ConfigProperty(name = "timekeeper.personal.cache-size", defaultValue = "1000")
+    Integer cacheSize;
+
+    @Inject
+    PersonalViewCacheGauge gauge;
+
+    private BoundedCache<Key, Object> views;
+
+    @PostConstruct
+    void initCache() {
+        views = new BoundedCache<>(cacheSize);
+    }
+
+    public WeekResponse getWeek(Long userId, Integer year, Integer weekNumber, Supplier<WeekResponse> load) {
+        final LocalDate monday = TimeKeeperDateUtils.getFirstDayOfWeekFromWeekNumber(year, weekNumber);
+        return get(new Key(userId, View.WEEK, year, weekNumber, monday, monday.plusWeeks(1).minusDays(1)), WeekResponse.class, load);
+    }
+
+    public MonthResponse getMonth(Long userId, Integer year, Integer monthNumber, Supplier<MonthResponse> load) {
+        final LocalDate monday = TimeKeeperDateUtils.getFirstDayOfSixWeeksFromMonth(year, monthNumber);
+        return get(new Key(userId, View.MONTH, year, monthNumber, monday, monday.plusWeeks(6).minusDays(1)), MonthResponse.class, load);
+    }
+
+    void onPersonalDaysChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) PersonalDaysChangedEvent event) {
+        final int evicted = views.invalidate(key -> event.affects(key.userId, key.from, key.to));
+        gauge.resized(views.size());
+        gauge.evicted(evicted);
+        logger.debug("Evicted {} personal views for {}", evicted, event);
+    }
+
+    // A view loaded while an eviction happened may be stale, it is not kept (see BoundedCache)
+    private <R> R get(Key key, Class<R> type, Supplier<R> load) {
+        final Optional<Object> cached = views.get(key);
+        if (cached.isPresent()) {
+            gauge.hit();
+            return type.cast(cached.get());
+        }
+        gauge.miss();
+        final R view = type.cast(views.load(key, load::get));
+        gauge.resized(views.size());
+        return view;
+    }
+
+    private enum View {WEEK, MONTH}
+
+    private static final class Key {
+
+        private final Long userId;
+        private final View view;
+        private final Integer year;
+        private final Integer number;
+        // The days shown by the view, included
+        private final LocalDate from;
+        private final LocalDate to;
+
+        private Key(Long userId, View view, Integer year, Integer number, LocalDate from, LocalDate to) {
+            this.userId = userId;
+            this.view = view;
+            this.year = year;
+            this.number = number;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return userId.equals(key.userId) &&
+                    view == key.view &&
+                    year.equals(key.year) &&
+                    number.equals(key.number);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, view, year, number);
+        }
+    }
+}
@@ -21,27 +21,32 @@ import fr.lunatech.timekeeper.models.ProjectUser;
 import fr.lunatech.timekeeper.models.User;
 import fr.lunatech.timekeeper.resources.exceptions.ConflictOnVersionException;
 import fr.lunatech.timekeeper.resources.exceptions.CreateResourceException;
+import fr.lunatech.timekeeper.services.events.HoursChangedEvent;
+import fr.lunatech.timekeeper.services.events.PersonalDaysChangedEvent;
+import fr.lunatech.timekeeper.services.requests.PageRequest;
 import fr.lunatech.timekeeper.services.requests.ProjectRequest;
 import fr.lunatech.timekeeper.services.requests.TimeSheetRequest;
+import fr.lunatech.timekeeper.services.responses.PageResponse;
 import fr.lunatech.timekeeper.services.responses.ProjectResponse;
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import io.quarkus.hibernate.orm.panache.runtime.JpaOperations;
+import io.quarkus.panache.common.Page;
 import io.quarkus.security.ForbiddenException;
+import org.hibernate.jpa.QueryHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
 import javax.inject.Inject;
 import javax.persistence.PersistenceException;
 import javax.transaction.Transactional;
 import java.time.LocalDate;
-import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.stream.Collector;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static javax.transaction.Transactional.TxType.MANDATORY;
 
@@ -58,12 +63,67 @@ public class ProjectService {
     @Inject
     TimeSheetService timeSheetService;
 
+    @Inject
+    Event<HoursChangedEvent> hoursChanged;
+
+    @Inject
+    Event<PersonalDaysChangedEvent> personalDaysChanged;
+
     public Optional<ProjectResponse> findResponseById(Long id, Optional<Boolean> optimized, AuthenticationContext ctx) {
         return findById(id, ctx).map(project -> ProjectResponse.bind(project, optimized));
     }
 
-    public List<ProjectResponse> listAllResponses(AuthenticationContext ctx) {
-        return streamAll(ctx, ProjectResponse::bind, Collectors.toList());
+    /**
+     * Returns the tag of the response of a project, without binding it
+     */
+    public Optional<VersionTag> findVersionTagById(Long id, AuthenticationContext ctx) {
+        return findById(id, ctx).map(project -> addVersions(new VersionTag(), project));
+    }
+
+    /**
+     * Returns the tag of a page of projects, without binding it
+     */
+    public VersionTag listAllVersionTag(AuthenticationContext ctx, PageRequest page) {
+        final VersionTag tag = new VersionTag();
+        findPage(ctx, page).forEach(project -> addVersions(tag, project));
+        return tag;
+    }
+
+    // Adding or removing a member increments the version of the project, a change of a member increments its own version
+    static VersionTag addVersions(VersionTag tag, Project project) {
+        tag.add("Project", project.id, project.version);
+        if (project.client != null) {
+            tag.add("Client", project.client.id, project.client.version);
+        }
+        project.users.forEach(member -> tag.add("User", member.user.id, member.user.version));
+        return tag;
+    }
+
+    public PageResponse<ProjectResponse> listAllResponses(AuthenticationContext ctx, PageRequest page) {
+        return PageResponse.bind(findPage(ctx, page), page, project -> project.id, ProjectResponse::bind);
+    }
+
+    // A page of projects and their members are read with two queries, whatever the size of the page
+    private List<Project> findPage(AuthenticationContext ctx, PageRequest page) {
+        return fetchMembers(findAllVisible(ctx, page.getAfter())
+                .withHint(QueryHints.HINT_FETCHGRAPH, JpaOperations.getEntityManager().getEntityGraph(Project.GRAPH_FOR_LISTING))
+                .page(Page.ofSize(page.getLimit() + 1))
+                .list());
+    }
+
+    /**
+     * Loads the members of projects already read, and their users, with one query.
+     * The batch fetching of the members would run a query for each batch-fetch-size projects.
+     *
+     * @param projects are the projects, managed by the current entity manager
+     * @return the projects, with their members
+     */
+    static List<Project> fetchMembers(List<Project> projects) {
+        if (!projects.isEmpty()) {
+            Project.find("from Project p left join fetch p.users pu left join fetch pu.user where p.id in ?1",
+                    projects.stream().map(project -> project.id).distinct().collect(Collectors.toList())).list();
+        }
+        return projects;
     }
 
     @Transactional
@@ -75,8 +135,9 @@ public class ProjectService {
         } catch (PersistenceException pe) {
             throw new CreateResourceException("Project was not created due to constraint violation");
         }
-        project.users
-                .forEach(projectUser -> timeSheetService.createDefaultTimeSheet(project, projectUser.user, ctx));
+        final List<User> members = project.users.stream().map(projectUser -> projectUser.user).collect(Collectors.toList());
+        timeSheetService.createDefaultTimeSheets(project, members, ctx);
+        personalDaysChanged.fire(PersonalDaysChangedEvent.allDays(members.stream().map(member -> member.id).collect(Collectors.toList())));
         return project.id;
     }
 
@@ -106,10 +167,12 @@ public class ProjectService {
     @Transactional(MANDATORY)
     private void createTimeSheetsForNewUsers(Project project, AuthenticationContext userContext) {
         // Create the timesheets for the new members
-        project.users
+        final List<User> newMembers = project.users
                 .stream()
                 .filter(projectUser -> timeSheetService.userHasNoTimeSheet(project.id, projectUser.user.id))
-                .forEach(projectUser -> timeSheetService.createDefaultTimeSheet(project, projectUser.user, userContext));
+                .map(projectUser -> projectUser.user)
+                .collect(Collectors.toList());
+        timeSheetService.createDefaultTimeSheets(project, newMembers, userContext);
     }
 
     @Transactional
@@ -144,6 +207,10 @@ public class ProjectService {
         updatedProject.persistAndFlush();
 
         createTimeSheetsForNewUsers(updatedProject, ctx);
+        // The name or the client of the project may have changed, it is reported for all the days
+        hoursChanged.fire(HoursChangedEvent.allDays());
+        // The project and its members are shown on all the days of the owners of its timesheets, including the former members
+        personalDaysChanged.fire(PersonalDaysChangedEvent.allDays(timeSheetService.findOwnerIdsForProject(project.id)));
         return Optional.of(project.id);
     }
 
@@ -170,6 +237,7 @@ public class ProjectService {
         projectUser.user = user;
         project.users.add(projectUser);
         createTimeSheetsForNewUsers(project, userContext);
+        personalDaysChanged.fire(PersonalDaysChangedEvent.allDays(timeSheetService.findOwnerIdsForProject(project.id)));
         return Optional.of(project.id);
     }
 
@@ -178,16 +246,16 @@ public class ProjectService {
                 .filter(ctx::canAccess);
     }
 
-    <R extends Collection<ProjectResponse>> R streamAll(
-            AuthenticationContext ctx,
-            Function<Project, ProjectResponse> bind,
-            Collector<ProjectResponse, ?, R> collector
-    ) {
-        try (final Stream<Project> projects = Project.streamAll()) {
-            return projects
-                    .filter(ctx::canAccess)
-                    .map(bind)
-                    .collect(collector);
+    // Same rules as AuthenticationContext.canAccess(Project), evaluated by the database
+    private PanacheQuery<Project> findAllVisible(AuthenticationContext ctx, Long after) {
+        if (ctx.isSuperAdmin()) {
+            return Project.find("id > ?1 order by id", after);
+        } else if (ctx.isAdmin()) {
+            return Project.find("organization.id = ?1 and id > ?2 order by id", ctx.getOrganization().id, after);
+        } else {
+            return Project.find("from Project p where p.organization.id = ?1" +
+                    " and (p.publicAccess = true or exists (select pu.id from ProjectUser pu where pu.project = p and pu.user.id = ?2))" +
+                    " and p.id > ?3 order by p.id", ctx.getOrganization().id, ctx.getUserId(), after);
         }
     }
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services;
+
+import fr.lunatech.timekeeper.services.events.HoursChangedEvent;
+import fr.lunatech.timekeeper.services.requests.ReportRequest;
+import fr.lunatech.timekeeper.services.responses.ReportResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * The reports already computed, by organization and request, the least recently used is dropped when the cache is full
+ */
+final class ReportCache {
+
+    private final BoundedCache<Key, ReportResponse> responses;
+
+    ReportCache(int maxSize) {
+        this.responses = new BoundedCache<>(maxSize);
+    }
+
+    Optional<ReportResponse> get(Long organizationId, ReportRequest request) {
+        return responses.get(new Key(organizationId, request));
+    }
+
+    /**
+     * Returns the report, or computes it : a report computed while an eviction happened is not kept
+     */
+    ReportResponse get(Long organizationId, ReportRequest request, Supplier<ReportResponse> compute) {
+        return responses.get(new Key(organizationId, request), compute);
+    }
+
+    /**
+     * Drops the reports with a date range containing one of the changed days
+     */
+    void evict(HoursChangedEvent event) {
+        responses.invalidate(key -> event.affects(key.from, key.to));
+    }
+
+    int size() {
+        return responses.size();
+    }
+
+    private static final class Key {
+
+        // null for all the organizations
+        private final Long organizationId;
+        private final LocalDate from;
+        private final LocalDate to;
+        private final List<ReportRequest.Dimension> groupBy;
+
+        private Key(Long organizationId, ReportRequest request) {
+            this.organizationId = organizationId;
+            this.from = request.getFrom();
+            this.to = request.getTo();
+            this.groupBy = request.getGroupBy();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return Objects.equals(organizationId, key.organizationId) &&
+                    from.equals(key.from) &&
+                    to.equals(key.to) &&
+                    groupBy.equals(key.groupBy);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(organizationId, from, to, groupBy);
+        }
+    }
+}
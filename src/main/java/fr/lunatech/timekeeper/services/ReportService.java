@@ -0,0 +1,303 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services;
+
+import fr.lunatech.timekeeper.services.events.HoursChangedEvent;
+import fr.lunatech.timekeeper.services.requests.PeriodRequest;
+import fr.lunatech.timekeeper.services.requests.ReportRequest;
+import fr.lunatech.timekeeper.services.requests.ReportRequest.Dimension;
+import fr.lunatech.timekeeper.services.responses.ReportResponse;
+import io.quarkus.hibernate.orm.panache.runtime.JpaOperations;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+import javax.persistence.Query;
+import javax.transaction.Transactional;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reports the hours of the time entries of a date range, grouped by organization, client, project, user, billable flag or period.
+ * The hours are summed by Postgres with a GROUP BY, the entries are not loaded.
+ * The reports of whole closed months are read from their monthly snapshots (see MonthlySnapshotService) when they exist.
+ * The reports of a closed period (ended before the current month) are cached, until a change of the hours of one of their days.
+ * The time entries themselves are exported as CSV, streamed from a database cursor.
+ */
+@ApplicationScoped
+public class ReportService {
+    private static Logger logger = LoggerFactory.getLogger(ReportService.class);
+
+    // Same rounding as TimeEntry.getRoundedNumberOfHours, for the entry te
+    static final String ENTRY_HOURS = "greatest(floor(extract(epoch from (te.enddatetime - te.startdatetime)) / 3600), 0)";
+
+    // An entry is billable when both its project and its timesheet are billable
+    static final String ENTRY_BILLABLE = "coalesce(p.billable and ts.defaultisbillable, false)";
+
+    private static final String EXPORT = "select concat_ws(' ', u.firstname, u.lastname), p.name, c.name, te.startdatetime," +
+            " cast(" + ENTRY_HOURS + " as bigint), te.comment, " + ENTRY_BILLABLE +
+            " from timeentries te" +
+            " join timesheets ts on ts.id = te.timesheet_id" +
+            " join projects p on p.id = ts.project_id" +
+            " left join clients c on c.id = p.client_id" +
+            " left join users u on u.id = ts.user_id" +
+            " where te.startdatetime >= ? and te.startdatetime < ?";
+
+    static final String[] EXPORT_HEADER = {"user", "project", "client", "start", "hours", "comment", "billable"};
+
+    /**
+     * The rows summed by a report : the time entries, or the monthly snapshots of the closed months
+     */
+    enum Source {
+        // Postgres removes the left joins on a primary key which are not used by the dimensions
+        ENTRIES(" from timeentries te" +
+                " join timesheets ts on ts.id = te.timesheet_id" +
+                " join projects p on p.id = ts.project_id" +
+                " left join organizations o on o.id = p.organization_id" +
+                " left join clients c on c.id = p.client_id" +
+                " left join users u on u.id = ts.user_id" +
+                " where te.startdatetime >= ?1 and te.startdatetime < ?2",
+                "p.organization_id", "cast(sum(" + ENTRY_HOURS + ") as bigint)", ENTRY_BILLABLE),
+        // A snapshot row has both the billable and the non billable hours, one row of each is made to group by billable
+        SNAPSHOTS(" from monthly_hours s" +
+                " cross join lateral (values (true, s.billable_hours), (false, s.non_billable_hours)) h (billable, hours)" +
+                " left join projects p on p.id = s.project_id" +
+                " left join organizations o on o.id = s.organization_id" +
+                " left join clients c on c.id = s.client_id" +
+                " left join users u on u.id = s.user_id" +
+                " where s.month >= ?1 and s.month < ?2 and h.hours > 0",
+                "s.organization_id", "cast(sum(h.hours) as bigint)", "h.billable");
+
+        private final String from;
+        private final String organization;
+        private final String hours;
+        private final String billable;
+
+        Source(String from, String organization, String hours, String billable) {
+            this.from = from;
+            this.organization = organization;
+            this.hours = hours;
+            this.billable = billable;
+        }
+    }
+
+    @Inject
+    MonthlySnapshotService monthlySnapshotService;
+
+    @ConfigProperty(name = "timekeeper.reports.cache-size", defaultValue = "100")
+    Integer cacheSize;
+
+    @ConfigProperty(name = "timekeeper.reports.export-fetch-size", defaultValue = "1000")
+    Integer exportFetchSize;
+
+    private ReportCache cache;
+
+    @PostConstruct
+    void initCache() {
+        cache = new ReportCache(cacheSize);
+    }
+
+    /**
+     * Returns the hours of the organization of the user, or of all the organizations for a super admin.
+     * The hours of whole months which have a snapshot are read from the snapshot, as they were invoiced.
+     *
+     * @param request is the date range and the dimensions
+     * @param ctx     is the current user
+     * @return the hours grouped by the dimensions, in the order of the dimensions
+     */
+    public ReportResponse hours(ReportRequest request, AuthenticationContext ctx) {
+        final Long organizationId = ctx.isSuperAdmin() ? null : ctx.getOrganization().id;
+        if (!isClosed(request, LocalDate.now())) {
+            return compute(request, organizationId);
+        }
+        return cache.get(organizationId, request, () -> compute(request, organizationId));
+    }
+
+    /**
+     * Writes the time entries of the organization of the user (or of all the organizations for a super admin) as CSV.
+     * The rows are read with a forward-only cursor, by pages of the fetch size, and written as soon as they are read :
+     * the memory used does not depend on the number of entries.
+     *
+     * @param request is the date range
+     * @param ctx     is the current user
+     * @param output  receives the CSV lines, it is not closed
+     */
+    @Transactional
+    public void exportTimeEntries(PeriodRequest request, AuthenticationContext ctx, Writer output) {
+        logger.debug("Export the time entries {}, {}", request, ctx);
+        final Long organizationId = ctx.isSuperAdmin() ? null : ctx.getOrganization().id;
+        final String sql = EXPORT + (organizationId != null ? " and p.organization_id = ?" : "") + " order by te.startdatetime, te.id";
+        final CsvWriter csv = new CsvWriter(output);
+        JpaOperations.getEntityManager().unwrap(Session.class).doWork(connection -> {
+            // The Postgres driver only uses a cursor in a transaction, for a forward-only result set with a fetch size
+            try (PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(exportFetchSize);
+                statement.setTimestamp(1, Timestamp.valueOf(request.getFrom().atStartOfDay()));
+                statement.setTimestamp(2, Timestamp.valueOf(request.getTo().plusDays(1).atStartOfDay()));
+                if (organizationId != null) {
+                    statement.setLong(3, organizationId);
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    csv.writeLine(EXPORT_HEADER);
+                    while (resultSet.next()) {
+                        final Timestamp start = resultSet.getTimestamp(4);
+                        csv.writeLine(
+                                resultSet.getString(1),
+                                resultSet.getString(2),
+                                resultSet.getString(3),
+                                start == null ? null : start.toLocalDateTime().toString(),
+                                Long.toString(resultSet.getLong(5)),
+                                resultSet.getString(6),
+                                Boolean.toString(resultSet.getBoolean(7))
+                        );
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    void onHoursChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) HoursChangedEvent event) {
+        logger.debug("Evict the reports for {}", event);
+        cache.evict(event);
+    }
+
+    /**
+     * A period is closed when it ended before the first day of the current month : its entries are not expected to change
+     */
+    static boolean isClosed(ReportRequest request, LocalDate today) {
+        return request.getTo().isBefore(today.withDayOfMonth(1));
+    }
+
+    /**
+     * The snapshots have the hours by month, client, project and user : they can be used for whole months, not grouped by day or week
+     */
+    static boolean canUseSnapshots(ReportRequest request) {
+        return request.getFrom().getDayOfMonth() == 1 &&
+                request.getTo().equals(request.getTo().with(TemporalAdjusters.lastDayOfMonth())) &&
+                request.getGroupBy().stream().noneMatch(dimension -> dimension == Dimension.DAY || dimension == Dimension.WEEK);
+    }
+
+    static String buildQuery(Source source, List<Dimension> groupBy, boolean filterByOrganization) {
+        final List<String> columns = groupBy.stream()
+                .map(dimension -> columns(source, dimension))
+                .collect(Collectors.toList());
+        final List<String> groups = groupBy.stream()
+                .map(dimension -> groups(source, dimension))
+                .collect(Collectors.toList());
+        return "select " + String.join(", ", columns) + ", " + source.hours +
+                source.from +
+                (filterByOrganization ? " and " + source.organization + " = ?3" : "") +
+                " group by " + String.join(", ", groups) +
+                " order by " + String.join(", ", groups);
+    }
+
+    private ReportResponse compute(ReportRequest request, Long organizationId) {
+        final Source source = canUseSnapshots(request) &&
+                monthlySnapshotService.hasSnapshots(YearMonth.from(request.getFrom()), YearMonth.from(request.getTo())) ? Source.SNAPSHOTS : Source.ENTRIES;
+        logger.debug("Compute the report {} for the organization {} from the {}", request, organizationId, source);
+        final Query query = JpaOperations.getEntityManager()
+                .createNativeQuery(buildQuery(source, request.getGroupBy(), organizationId != null))
+                .setParameter(1, request.getFrom().atStartOfDay())
+                .setParameter(2, request.getTo().plusDays(1).atStartOfDay());
+        if (organizationId != null) {
+            query.setParameter(3, organizationId);
+        }
+        @SuppressWarnings("unchecked") final List<Object[]> results = query.getResultList();
+        final List<ReportResponse.Row> rows = new ArrayList<>(results.size());
+        for (Object[] result : results) {
+            rows.add(bind(request.getGroupBy(), result));
+        }
+        return new ReportResponse(request.getFrom(), request.getTo(), request.getGroupBy(), rows);
+    }
+
+    private static ReportResponse.Row bind(List<Dimension> groupBy, Object[] result) {
+        final ReportResponse.Row row = new ReportResponse.Row();
+        int i = 0;
+        for (Dimension dimension : groupBy) {
+            switch (dimension) {
+                case ORGANIZATION:
+                    row.setOrganization(toLong(result[i++]), (String) result[i++]);
+                    break;
+                case CLIENT:
+                    row.setClient(toLong(result[i++]), (String) result[i++]);
+                    break;
+                case PROJECT:
+                    row.setProject(toLong(result[i++]), (String) result[i++]);
+                    break;
+                case USER:
+                    row.setUser(toLong(result[i++]), (String) result[i++]);
+                    break;
+                case BILLABLE:
+                    row.setBillable((Boolean) result[i++]);
+                    break;
+                default:
+                    row.setPeriod(((Date) result[i++]).toLocalDate());
+            }
+        }
+        return row.setHours(toLong(result[i]));
+    }
+
+    private static Long toLong(Object value) {
+        return value == null ? null : ((Number) value).longValue();
+    }
+
+    // The name of a user is selected once, grouped by its parts
+    private static String columns(Source source, Dimension dimension) {
+        return dimension == Dimension.USER ? "u.id, concat_ws(' ', u.firstname, u.lastname)" : groups(source, dimension);
+    }
+
+    private static String groups(Source source, Dimension dimension) {
+        switch (dimension) {
+            case ORGANIZATION:
+                return "o.id, o.name";
+            case CLIENT:
+                return "c.id, c.name";
+            case PROJECT:
+                return "p.id, p.name";
+            case USER:
+                return "u.id, u.firstname, u.lastname";
+            case BILLABLE:
+                return source.billable;
+            case DAY:
+                return "cast(te.startdatetime as date)";
+            case WEEK:
+                return "cast(date_trunc('week', te.startdatetime) as date)";
+            default:
+                return source == Source.SNAPSHOTS ? "s.month" : "cast(date_trunc('month', te.startdatetime) as date)";
+        }
+    }
+}
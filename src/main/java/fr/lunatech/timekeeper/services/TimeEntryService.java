@@ -18,16 +18,23 @@ package fr.lunatech.timekeeper.services;
 
 import fr.lunatech.timekeeper.gauges.TimeEntriesNumberPerHoursGauge;
 import fr.lunatech.timekeeper.models.time.TimeEntry;
+import fr.lunatech.timekeeper.models.time.TimeSheet;
 import fr.lunatech.timekeeper.resources.exceptions.CreateResourceException;
+import fr.lunatech.timekeeper.services.events.HoursChangedEvent;
+import fr.lunatech.timekeeper.services.events.PersonalDaysChangedEvent;
 import fr.lunatech.timekeeper.services.requests.TimeEntryRequest;
 import io.quarkus.security.ForbiddenException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
 import javax.inject.Inject;
 import javax.persistence.PersistenceException;
 import javax.transaction.Transactional;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @ApplicationScoped
@@ -40,6 +47,15 @@ public class TimeEntryService {
     @Inject
     protected TimeEntriesNumberPerHoursGauge timeEntriesNumberPerHoursGauge;
 
+    @Inject
+    protected DailyHoursService dailyHoursService;
+
+    @Inject
+    protected Event<HoursChangedEvent> hoursChanged;
+
+    @Inject
+    protected Event<PersonalDaysChangedEvent> personalDaysChanged;
+
     @Transactional
     public Long createTimeEntry(Long timeSheetId, TimeEntryRequest request, AuthenticationContext ctx) {
         logger.debug("Create a new TimeEntry with {}, {}", request, ctx);
@@ -53,6 +69,11 @@ public class TimeEntryService {
         } catch (PersistenceException pe) {
             throw new CreateResourceException("TimeEntry was not created due to constraint violation");
         }
+        timeSheetService.addConsumedHours(timeEntry.timeSheet, timeEntry.getRoundedNumberOfHours());
+        dailyHoursService.apply(new DailyHoursService.Changes()
+                .addEntry(timeEntry.timeSheet.owner.id, timeEntry.startDateTime, timeEntry.getRoundedNumberOfHours()));
+        hoursChanged.fire(HoursChangedEvent.of(timeEntry.startDateTime.toLocalDate()));
+        personalDaysChanged.fire(personalDaysChangedEvent(timeEntry.timeSheet, timeEntry.startDateTime));
         return timeEntry.id;
     }
 
@@ -61,10 +82,35 @@ public class TimeEntryService {
         logger.debug("Modify timeEntry for id={} with {}, {}", timeSheetId, request, ctx);
         Optional<TimeEntry> timeEntryOptional = findById(timeEntryId, ctx);
         return timeEntryOptional
-                .map(timeEntry -> request.unbind(timeEntry, timeSheetId, timeSheetService::findById, ctx))
+                .map(timeEntry -> {
+                    // The entry may move to another timesheet, its previous hours are removed from the previous one
+                    final TimeSheet previousTimeSheet = timeEntry.timeSheet;
+                    final LocalDateTime previousStartDateTime = timeEntry.startDateTime;
+                    final long previousHours = timeEntry.getRoundedNumberOfHours();
+                    final TimeEntry updated = request.unbind(timeEntry, timeSheetId, timeSheetService::findById, ctx);
+                    timeSheetService.addConsumedHours(previousTimeSheet, -previousHours);
+                    timeSheetService.addConsumedHours(updated.timeSheet, updated.getRoundedNumberOfHours());
+                    dailyHoursService.apply(new DailyHoursService.Changes()
+                            .removeEntry(previousTimeSheet.owner.id, previousStartDateTime, previousHours)
+                            .addEntry(updated.timeSheet.owner.id, updated.startDateTime, updated.getRoundedNumberOfHours()));
+                    hoursChanged.fire(HoursChangedEvent.of(previousStartDateTime.toLocalDate(), updated.startDateTime.toLocalDate()));
+                    personalDaysChanged.fire(personalDaysChangedEvent(previousTimeSheet, previousStartDateTime));
+                    personalDaysChanged.fire(personalDaysChangedEvent(updated.timeSheet, updated.startDateTime));
+                    return updated;
+                })
                 .map(timeEntry -> timeEntry.id);
     }
 
+    // The leftOver of a timesheet with a maximum duration is shown on all the days of its owner
+    private static PersonalDaysChangedEvent personalDaysChangedEvent(TimeSheet timeSheet, LocalDateTime startDateTime) {
+        final List<Long> owner = List.of(timeSheet.owner.id);
+        if (timeSheet.maxDuration != null && timeSheet.maxDuration > 0) {
+            return PersonalDaysChangedEvent.allDays(owner);
+        }
+        final LocalDate day = startDateTime.toLocalDate();
+        return PersonalDaysChangedEvent.of(owner, day, day);
+    }
+
     Optional<TimeEntry> findById(Long id, AuthenticationContext ctx) {
         return TimeEntry.<TimeEntry>findByIdOptional(id)
                 .filter(ctx::canAccess);
@@ -18,52 +18,159 @@ package fr.lunatech.timekeeper.services;
 
 import fr.lunatech.timekeeper.models.Project;
 import fr.lunatech.timekeeper.models.User;
+import fr.lunatech.timekeeper.models.time.TimeEntry;
 import fr.lunatech.timekeeper.models.time.TimeSheet;
 import fr.lunatech.timekeeper.resources.exceptions.CreateResourceException;
+import fr.lunatech.timekeeper.services.events.HoursChangedEvent;
+import fr.lunatech.timekeeper.services.events.PersonalDaysChangedEvent;
 import fr.lunatech.timekeeper.services.requests.TimeSheetRequest;
 import fr.lunatech.timekeeper.services.responses.TimeSheetResponse;
 import fr.lunatech.timekeeper.timeutils.TimeUnit;
+import io.quarkus.hibernate.orm.panache.runtime.JpaOperations;
+import org.hibernate.jpa.QueryHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
 import javax.persistence.PersistenceException;
 import javax.transaction.Transactional;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static javax.transaction.Transactional.TxType.MANDATORY;
+
 @ApplicationScoped
 public class TimeSheetService {
 
     private static Logger logger = LoggerFactory.getLogger(TimeSheetService.class);
 
+    @Inject
+    Event<HoursChangedEvent> hoursChanged;
+
+    @Inject
+    Event<PersonalDaysChangedEvent> personalDaysChanged;
+
+    // Same rounding as TimeEntry.getRoundedNumberOfHours : whole hours, 0 for an entry that ends before its start
+    private static final String REPAIR_CONSUMED_HOURS = "update timesheets ts set consumedhours = totals.hours, entries_version = ts.entries_version + 1" +
+            " from (select s.id, coalesce(sum(case when te.enddatetime >= te.startdatetime" +
+            "   then floor(extract(epoch from (te.enddatetime - te.startdatetime)) / 3600) else 0 end), 0) as hours" +
+            "   from timesheets s left join timeentries te on te.timesheet_id = s.id group by s.id) totals" +
+            " where ts.id = totals.id and ts.consumedhours <> totals.hours returning ts.user_id";
+
     Boolean userHasNoTimeSheet(Long projectId, Long userId) {
         return TimeSheet.stream("user_id = ?1 and project_id = ?2", userId, projectId).count() == 0;
     }
 
+    /**
+     * Returns the owners of the timesheets of a project, it is shown on all their personal days
+     */
+    List<Long> findOwnerIdsForProject(Long projectId) {
+        return JpaOperations.getEntityManager()
+                .createQuery("select distinct ts.owner.id from TimeSheet ts where ts.project.id = ?1", Long.class)
+                .setParameter(1, projectId)
+                .getResultList();
+    }
+
+    /**
+     * Returns the owners of the timesheets of the projects of a client, it is shown on all their personal days
+     */
+    List<Long> findOwnerIdsForClient(Long clientId) {
+        return JpaOperations.getEntityManager()
+                .createQuery("select distinct ts.owner.id from TimeSheet ts where ts.project.client.id = ?1", Long.class)
+                .setParameter(1, clientId)
+                .getResultList();
+    }
+
+    /**
+     * Returns the tag of the response of a timesheet, without binding it : its entries increment its entries version
+     */
+    public Optional<VersionTag> findVersionTagById(Long id, AuthenticationContext ctx) {
+        return findById(id, ctx).map(timeSheet -> ProjectService.addVersions(
+                new VersionTag().add("TimeSheet", timeSheet.id, timeSheet.version)
+                        .add("TimeSheetEntries", timeSheet.id, timeSheet.entriesVersion),
+                timeSheet.project));
+    }
+
     public Optional<TimeSheetResponse> findTimeSheetById(Long id, AuthenticationContext ctx) {
         return findById(id, ctx).map(TimeSheetResponse::bind);
     }
 
+    /**
+     * Creates the default timesheets of several members of a project, the inserts are flushed once as a JDBC batch
+     *
+     * @param project is the project of the timesheets
+     * @param owners  are the members that get a new timesheet
+     * @param ctx     is the authentication context
+     * @return the ids of the created timesheets
+     */
     @Transactional
-    Long createDefaultTimeSheet(Project project, User owner, AuthenticationContext ctx) {
+    List<Long> createDefaultTimeSheets(Project project, List<User> owners, AuthenticationContext ctx) {
         // By default, the start date must be the date of creation
         final LocalDate startDate = LocalDate.now();
-        TimeSheet timeSheet = new TimeSheet(project, owner, TimeUnit.HOURLY, project.getBillable(), null, null, TimeUnit.DAY, Collections.emptyList(), startDate);
-        logger.debug("Create a default timesheet with {}, {}", timeSheet, ctx);
+        final List<TimeSheet> timeSheets = owners.stream()
+                .map(owner -> new TimeSheet(project, owner, TimeUnit.HOURLY, project.getBillable(), null, null, TimeUnit.DAY, Collections.emptyList(), startDate))
+                .collect(Collectors.toList());
+        logger.debug("Create {} default timesheets for project {}, {}", timeSheets.size(), project.id, ctx);
         try {
-            timeSheet.persistAndFlush();
+            TimeSheet.persist(timeSheets);
+            JpaOperations.getEntityManager().flush();
         } catch (PersistenceException pe) {
             throw new CreateResourceException("Timesheet was not created due to constraint violation");
         }
-        return timeSheet.id;
+        return timeSheets.stream().map(timeSheet -> timeSheet.id).collect(Collectors.toList());
+    }
+
+    /**
+     * Adds hours to the consumed hours of a timesheet, in the transaction that creates or updates the entry.
+     * The update is atomic in the database, so that concurrent entries of the same timesheet are all counted.
+     * The entries version of the timesheet is incremented by the same statement, even without hours, as its entries changed.
+     * Its optimistic lock version is left as it is, so that a concurrent update of the timesheet does not fail
+     *
+     * @param timeSheet is the timesheet of the entry
+     * @param hours     is the number of rounded hours to add, negative to remove hours
+     */
+    @Transactional(MANDATORY)
+    void addConsumedHours(TimeSheet timeSheet, long hours) {
+        JpaOperations.getEntityManager()
+                .createQuery("update TimeSheet ts set ts.consumedHours = ts.consumedHours + ?1, ts.entriesVersion = ts.entriesVersion + 1 where ts.id = ?2")
+                .setParameter(1, hours)
+                .setParameter(2, timeSheet.id)
+                .executeUpdate();
+        timeSheet.consumedHours = timeSheet.consumedHours + hours;
+        timeSheet.entriesVersion = timeSheet.entriesVersion + 1;
+    }
+
+    /**
+     * Recomputes the consumed hours of every timesheet from its entries, with a single statement.
+     * The timesheets are locked against the writes first : the totals are read from the snapshot of the statement,
+     * so an entry added during the repair would otherwise have its increment (see addConsumedHours) overwritten.
+     * The writes of entries wait for the repair, and the repair waits for the writes in progress, which are then read.
+     * The personal views of the owners of the repaired timesheets show their leftOver, they are evicted.
+     *
+     * @return the number of timesheets that were out of sync
+     */
+    @Transactional
+    public int repairConsumedHours() {
+        JpaOperations.getEntityManager().createNativeQuery("lock table timesheets in share row exclusive mode").executeUpdate();
+        @SuppressWarnings("unchecked") final List<Object> owners = JpaOperations.getEntityManager()
+                .createNativeQuery(REPAIR_CONSUMED_HOURS)
+                .getResultList();
+        if (!owners.isEmpty()) {
+            personalDaysChanged.fire(PersonalDaysChangedEvent.allDays(owners.stream()
+                    .map(owner -> ((Number) owner).longValue())
+                    .collect(Collectors.toSet())));
+        }
+        return owners.size();
     }
 
     @Transactional
@@ -72,13 +179,31 @@ public class TimeSheetService {
         if(isStartDateBeforeEndDate(request)){
             return findById(id, ctx)
                     .map(request::unbind)
-                    .map(timeSheet -> timeSheet.id);
+                    .map(timeSheet -> {
+                        // A concurrent update fails here with an OptimisticLockException, rather than when committing
+                        timeSheet.persistAndFlush();
+                        // The billable flag of all the entries of the timesheet may have changed
+                        hoursChanged.fire(HoursChangedEvent.allDays());
+                        personalDaysChanged.fire(PersonalDaysChangedEvent.allDays(List.of(timeSheet.owner.id)));
+                        return timeSheet.id;
+                    });
         }
         throw new IllegalArgumentException("StartDate must be before endDate");
     }
 
-    public List<TimeSheetResponse> findAllActivesForUser(AuthenticationContext ctx) {
-        return streamAllActive(ctx, TimeSheetResponse::bind, Collectors.toList());
+    /**
+     * Returns the active TimeSheets of the current user, with only the entries that start in the range [from, to[
+     *
+     * @param ctx  is the context with the user that made this request
+     * @param from is the first day of the range, inclusive
+     * @param to   is the last day of the range, exclusive
+     * @return the list of TimeSheetResponse
+     */
+    public List<TimeSheetResponse> findAllActivesForUser(AuthenticationContext ctx, LocalDate from, LocalDate to) {
+        final Map<Long, List<TimeEntry>> entriesByTimeSheet = findTimeEntriesForUser(ctx.getUserId(), from, to);
+        return streamAllActive(ctx,
+                sheet -> TimeSheetResponse.bind(sheet, entriesByTimeSheet.getOrDefault(sheet.id, Collections.emptyList())),
+                Collectors.toList());
     }
 
     public Optional<TimeSheetResponse> findFirstForProjectForUser(long idProject, long idUser) {
@@ -94,10 +219,19 @@ public class TimeSheetService {
             Function<TimeSheet, TimeSheetResponse> bind,
             Collector<TimeSheetResponse, ?, R> collector
     ) {
-        try (final Stream<TimeSheet> ts = TimeSheet.stream("user_id = ?1", ctx.getUserId())) {
-            return ts
-                    .map(bind)
-                    .collect(collector);
+        // Timesheets are loaded as a list so that the members of all their projects are read with one query
+        final List<TimeSheet> timeSheets = TimeSheet.<TimeSheet>find("user_id = ?1", ctx.getUserId())
+                .withHint(QueryHints.HINT_FETCHGRAPH, JpaOperations.getEntityManager().getEntityGraph(TimeSheet.GRAPH_FOR_LISTING))
+                .list();
+        ProjectService.fetchMembers(timeSheets.stream().map(sheet -> sheet.project).collect(Collectors.toList()));
+        return timeSheets.stream()
+                .map(bind)
+                .collect(collector);
+    }
+
+    private Map<Long, List<TimeEntry>> findTimeEntriesForUser(Long userId, LocalDate from, LocalDate to) {
+        try (final Stream<TimeEntry> entries = TimeEntry.stream("timeSheet.owner.id = ?1 and startDateTime >= ?2 and startDateTime < ?3 order by startDateTime", userId, from.atStartOfDay(), to.atStartOfDay())) {
+            return entries.collect(Collectors.groupingBy(timeEntry -> timeEntry.timeSheet.id));
         }
     }
 
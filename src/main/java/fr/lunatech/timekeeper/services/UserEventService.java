@@ -2,22 +2,39 @@ package fr.lunatech.timekeeper.services;
 
 import fr.lunatech.timekeeper.models.User;
 import fr.lunatech.timekeeper.models.time.EventTemplate;
+import fr.lunatech.timekeeper.models.time.EventType;
 import fr.lunatech.timekeeper.models.time.UserEvent;
+import fr.lunatech.timekeeper.services.events.PersonalDaysChangedEvent;
+import fr.lunatech.timekeeper.services.requests.PageRequest;
 import fr.lunatech.timekeeper.services.requests.UserEventRequest;
+import fr.lunatech.timekeeper.services.responses.Attendee;
+import fr.lunatech.timekeeper.services.responses.PageResponse;
 import fr.lunatech.timekeeper.services.responses.UserEventResponse;
 import fr.lunatech.timekeeper.timeutils.TimeKeeperDateUtils;
-import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import io.quarkus.hibernate.orm.panache.runtime.JpaOperations;
+import io.quarkus.panache.common.Page;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
 import javax.inject.Inject;
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.function.ToIntFunction;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -27,14 +44,25 @@ public class UserEventService {
     @Inject
     UserService userService;
 
+    @Inject
+    DailyHoursService dailyHoursService;
+
+    @Inject
+    AbsenceCounterService absenceCounterService;
+
+    @Inject
+    Event<PersonalDaysChangedEvent> personalDaysChanged;
+
     private static final Logger logger = LoggerFactory.getLogger(UserEventService.class);
 
     public List<UserEventResponse> getEventsByUserForWeekNumber(Long ownerId, Integer weekNumber, Integer year) {
-        return getEventsByUser(ownerId, weekNumber, year, TimeKeeperDateUtils::getWeekNumberFromDate);
+        final LocalDate firstDayOfWeek = TimeKeeperDateUtils.getFirstDayOfWeekFromWeekNumber(year, weekNumber);
+        return getEventsByUser(ownerId, firstDayOfWeek, firstDayOfWeek.plusWeeks(1));
     }
 
     public List<UserEventResponse> getEventsByUserForMonthNumber(Long ownerId, Integer monthNumber, Integer year) {
-        return getEventsByUser(ownerId, monthNumber, year, TimeKeeperDateUtils::getMonthNumberFromDate);
+        final LocalDate firstDayOfSixWeeks = TimeKeeperDateUtils.getFirstDayOfSixWeeksFromMonth(year, monthNumber);
+        return getEventsByUser(ownerId, firstDayOfSixWeeks, firstDayOfSixWeeks.plusWeeks(6));
     }
 
     public Optional<UserEventResponse> getUserEventById(Long id, AuthenticationContext context) { //NOSONAR
@@ -42,31 +70,29 @@ public class UserEventService {
                 .map(UserEventResponse::bind);
     }
 
-    public List<UserEventResponse> getAllPersonalEventsForAnUser(Long ownerId, AuthenticationContext context) { //NOSONAR
+    public PageResponse<UserEventResponse> getAllPersonalEventsForAnUser(Long ownerId, PageRequest page, AuthenticationContext context) { //NOSONAR
         final var maybeParam = Optional.ofNullable(ownerId);
-        Stream<UserEvent> stream = maybeParam.isPresent() ? UserEvent.stream("owner_id=?1", ownerId) : UserEvent.streamAll(); //NOSONAR
-        return stream.map(UserEventResponse::bind)
-                .collect(Collectors.toList());
+        final PanacheQuery<UserEvent> query = maybeParam.isPresent() ? UserEvent.find("owner_id=?1 and id>?2 order by id", ownerId, page.getAfter()) : UserEvent.find("id>?1 order by id", page.getAfter()); //NOSONAR
+        final List<UserEvent> userEvents = query.page(Page.ofSize(page.getLimit() + 1)).list();
+        return PageResponse.bind(userEvents, page, userEvent -> userEvent.id, UserEventResponse::bind);
     }
 
-    protected List<UserEventResponse> getEventsByUser(Long ownerId, Integer monthNumber, Integer year, ToIntFunction<LocalDate> getWeekOfMonthNumberFromDate) {
-        logger.debug("getEventsForUser {}", ownerId);
-        return UserEvent.<UserEvent>stream("owner_id=?1", ownerId) //NOSONAR
-                .filter(userEvent -> isUserEventInWeekOrMonthNumber(userEvent, monthNumber, year, getWeekOfMonthNumberFromDate))
-                .map(UserEventResponse::bind) //NOSONAR
-                .collect(Collectors.toList());
-    }
-
-    protected boolean isUserEventInWeekOrMonthNumber(UserEvent userEvent, Integer weekOrMonthNumber, Integer year, ToIntFunction<LocalDate> getWeekOfMonthNumberFromDate) {
-        var startDateTimeNumber = getWeekOfMonthNumberFromDate.applyAsInt(userEvent.startDateTime.toLocalDate());
-        var endDateTimeNumber = getWeekOfMonthNumberFromDate.applyAsInt(userEvent.endDateTime.toLocalDate());
-        return (validateYear(userEvent, year))
-                && ((startDateTimeNumber <= weekOrMonthNumber && endDateTimeNumber >= weekOrMonthNumber)
-                || (startDateTimeNumber == weekOrMonthNumber || endDateTimeNumber == weekOrMonthNumber));
-    }
-
-    protected boolean validateYear(UserEvent userEvent, Integer year) {
-        return userEvent.startDateTime.getYear() == year || userEvent.endDateTime.getYear() == year;
+    /**
+     * Returns the userEvents of a user that overlap the range of days [from, to[
+     * The overlap is resolved by the database, with the index on (owner_id, startdatetime, enddatetime)
+     *
+     * @param ownerId is the owner of the userEvents
+     * @param from    is the first day of the range, inclusive
+     * @param to      is the last day of the range, exclusive
+     * @return the list of userEvents ordered by startDateTime
+     */
+    protected List<UserEventResponse> getEventsByUser(Long ownerId, LocalDate from, LocalDate to) {
+        logger.debug("getEventsForUser {} from {} to {}", ownerId, from, to);
+        try (final Stream<UserEvent> userEvents = UserEvent.stream("owner_id=?1 and startdatetime<?2 and enddatetime>=?3 order by startdatetime", ownerId, to.atStartOfDay(), from.atStartOfDay())) { //NOSONAR
+            return userEvents
+                    .map(UserEventResponse::bind) //NOSONAR
+                    .collect(Collectors.toList());
+        }
     }
 
     protected List<User> findAllUsersFromEventTemplate(Long templateId) {
@@ -75,47 +101,169 @@ public class UserEventService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Returns the attendees of several eventTemplates with a single query
+     *
+     * @param templateIds are the ids of the eventTemplates
+     * @return the attendees grouped by eventTemplate id, an eventTemplate without attendee is not in the map
+     */
+    protected Map<Long, List<Attendee>> findAllAttendeesFromEventTemplates(List<Long> templateIds) {
+        if (templateIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        final List<Object[]> rows = JpaOperations.getEntityManager()
+                .createQuery("select ue.eventTemplate.id, o.id, o.firstName, o.lastName, o.email, o.picture" +
+                        " from UserEvent ue join ue.owner o where ue.eventTemplate.id in ?1 order by ue.id", Object[].class)
+                .setParameter(1, templateIds)
+                .getResultList();
+        return rows.stream()
+                .collect(Collectors.groupingBy(row -> (Long) row[0],
+                        Collectors.mapping(row -> new Attendee((Long) row[1], (String) row[2], (String) row[3], (String) row[4], (String) row[5]),
+                                Collectors.toList())));
+    }
+
+    /**
+     * Returns the number of attendees of several eventTemplates with a single query
+     *
+     * @param templateIds are the ids of the eventTemplates
+     * @return the number of attendees by eventTemplate id, an eventTemplate without attendee is not in the map
+     */
+    protected Map<Long, Long> countAttendeesFromEventTemplates(List<Long> templateIds) {
+        if (templateIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        final List<Object[]> rows = JpaOperations.getEntityManager()
+                .createQuery("select ue.eventTemplate.id, count(ue.id)" +
+                        " from UserEvent ue where ue.eventTemplate.id in ?1 group by ue.eventTemplate.id", Object[].class)
+                .setParameter(1, templateIds)
+                .getResultList();
+        return rows.stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+    }
+
+    /**
+     * Applies the attendees of an eventTemplate to its userEvents as set operations, instead of recreating them :
+     * the userEvents of the removed attendees are deleted with one query, the userEvents of the kept attendees
+     * are updated with one query and the userEvents of the new attendees are inserted as a JDBC batch.
+     * An attendee that is booked on another event for those dates is skipped, as if removed from the template.
+     *
+     * @param eventTemplate     is the created or updated eventTemplate
+     * @param userEventRequests are the attendees of the eventTemplate
+     * @param ctx               is the authentication context
+     * @return the number of attendees with a userEvent for this eventTemplate
+     */
     public Long createOrUpdateFromEventTemplate(EventTemplate eventTemplate,
                                                 List<UserEventRequest> userEventRequests,
                                                 AuthenticationContext ctx) {
-        // Here we delete any userEvent that was previously created with this template.
-        // If you remove a user from a template, it will delete the associated userEvent
-        UserEvent.<UserEvent>stream("eventtemplate_id=?1", eventTemplate.id) // NOSONAR
-                .forEach(PanacheEntityBase::delete);
+        final EntityManager entityManager = JpaOperations.getEntityManager();
+        final List<Object[]> currentUserEvents = entityManager
+                .createQuery("select ue.owner.id, ue.startDateTime, ue.endDateTime, ue.eventType from UserEvent ue where ue.eventTemplate.id = ?1", Object[].class)
+                .setParameter(1, eventTemplate.id)
+                .getResultList();
+        final Map<Long, EventType> currentAttendees = new HashMap<>();
+        currentUserEvents.forEach(row -> currentAttendees.put((Long) row[0], (EventType) row[3]));
+        final Set<Long> currentAttendeeIds = currentAttendees.keySet();
 
-        if (userEventRequests.isEmpty()) {
-            return 0L;
+        // An attendee listed twice gets a single userEvent
+        final Map<Long, UserEventRequest> requestsByAttendee = userEventRequests.stream()
+                .collect(Collectors.toMap(UserEventRequest::getUserId, Function.identity(), (first, second) -> first, LinkedHashMap::new));
+        final List<Long> requestedIds = new ArrayList<>(requestsByAttendee.keySet());
+        final Set<Long> busyUserIds;
+        if (requestedIds.isEmpty()) {
+            busyUserIds = Collections.emptySet();
+        } else {
+            // Loads the attendees in the persistence context, the unbind below does not query them one by one
+            User.list("id in ?1", requestedIds);
+            // A single overlap query for all the attendees, the userEvents of this template are not an overlap
+            busyUserIds = findBusyUsersForDates(requestedIds, eventTemplate.startDateTime, eventTemplate.endDateTime, eventTemplate.id);
         }
 
-        long updated = 0;
-        for (var userEventRequest : userEventRequests) {
+        final Set<Long> attendeeIds = new HashSet<>();
+        final List<UserEvent> newUserEvents = new ArrayList<>();
+        for (var userEventRequest : requestsByAttendee.values()) {
             var userEvent = userEventRequest.unbind(eventTemplate, userService::findById, ctx);
 
-            if(isUserAvailableForDates(userEvent.owner.id, userEvent.startDateTime, userEvent.endDateTime)){
-                userEvent.persistAndFlush();
-                updated++;
-            }else{
-                if(logger.isWarnEnabled()) {
+            if (busyUserIds.contains(userEvent.owner.id)) {
+                if (logger.isWarnEnabled()) {
                     logger.warn(String.format("Cannot persist a userEvent for user %s as the user is already booked for those dates.", userEvent.owner.getFullName()));
                 }
+            } else {
+                attendeeIds.add(userEvent.owner.id);
+                if (!currentAttendeeIds.contains(userEvent.owner.id)) {
+                    newUserEvents.add(userEvent);
+                }
             }
+        }
+
+        final List<Long> removedIds = currentAttendeeIds.stream()
+                .filter(userId -> !attendeeIds.contains(userId))
+                .collect(Collectors.toList());
+        if (!removedIds.isEmpty()) {
+            final long deleted = UserEvent.delete("eventTemplate.id = ?1 and owner.id in ?2", eventTemplate.id, removedIds);
+            logger.debug("Deleted {} userEvents from template {}", deleted, eventTemplate.id);
+        }
+        if (currentAttendeeIds.size() > removedIds.size()) {
+            // Only the userEvents of the kept attendees are left for this template
+            final int kept = entityManager
+                    .createQuery("update UserEvent ue set ue.name = ?1, ue.description = ?2, ue.startDateTime = ?3, ue.endDateTime = ?4," +
+                            " ue.creator = ?5, ue.organization = ?6 where ue.eventTemplate.id = ?7")
+                    .setParameter(1, eventTemplate.name)
+                    .setParameter(2, eventTemplate.description)
+                    .setParameter(3, eventTemplate.startDateTime)
+                    .setParameter(4, eventTemplate.endDateTime)
+                    .setParameter(5, eventTemplate.creator)
+                    .setParameter(6, eventTemplate.creator.getOrganization())
+                    .setParameter(7, eventTemplate.id)
+                    .executeUpdate();
+            logger.debug("Updated {} userEvents from template {}", kept, eventTemplate.id);
+        }
+        // The ids come from a pooled sequence, so the inserts are sent as a JDBC batch here
+        UserEvent.persist(newUserEvents);
+        entityManager.flush();
+
+        // The previous hours of the template are removed from the daily hours, and the new ones added
+        final DailyHoursService.Changes changes = new DailyHoursService.Changes();
+        currentUserEvents.forEach(row -> changes.removeEvent((Long) row[0], (LocalDateTime) row[1], (LocalDateTime) row[2]));
+        attendeeIds.forEach(userId -> changes.addEvent(userId, eventTemplate.startDateTime, eventTemplate.endDateTime));
+        dailyHoursService.apply(changes);
+
+        // Same for the absence counters, the kept userEvents keep their type
+        final AbsenceCounterService.Changes absences = new AbsenceCounterService.Changes();
+        currentUserEvents.forEach(row -> absences.removeEvent((Long) row[0], (EventType) row[3], (LocalDateTime) row[1], (LocalDateTime) row[2]));
+        attendeeIds.stream()
+                .filter(currentAttendees::containsKey)
+                .forEach(userId -> absences.addEvent(userId, currentAttendees.get(userId), eventTemplate.startDateTime, eventTemplate.endDateTime));
+        newUserEvents.forEach(userEvent -> absences.addEvent(userEvent.owner.id, userEvent.eventType, userEvent.startDateTime, userEvent.endDateTime));
+        absenceCounterService.apply(absences);
 
+        // The previous days of the template changed for its previous attendees, its userEvents all had the dates of the template
+        if (!currentUserEvents.isEmpty()) {
+            final LocalDateTime previousStartDateTime = (LocalDateTime) currentUserEvents.get(0)[1];
+            final LocalDateTime previousEndDateTime = (LocalDateTime) currentUserEvents.get(0)[2];
+            personalDaysChanged.fire(PersonalDaysChangedEvent.of(currentAttendeeIds,
+                    previousStartDateTime.toLocalDate(),
+                    lastDay(previousStartDateTime, previousEndDateTime)));
         }
-        return updated;
+        personalDaysChanged.fire(PersonalDaysChangedEvent.of(attendeeIds,
+                eventTemplate.startDateTime.toLocalDate(),
+                lastDay(eventTemplate.startDateTime, eventTemplate.endDateTime)));
+        return (long) attendeeIds.size();
     }
 
     /**
      * Get all UserEvents by organisation id
      *
      * @param organization_id
+     * @param page
      * @param context
-     * @return List[UserEventResponse]
+     * @return PageResponse[UserEventResponse]
      */
 
-    public List<UserEventResponse> getEventsByOrganizationId(Long organization_id, AuthenticationContext context) { //NOSONAR
-        return UserEvent.<UserEvent>stream("organization_id=?1", organization_id) //NOSONAR
-                .map(UserEventResponse::bind) //NOSONAR
-                .collect(Collectors.toList());
+    public PageResponse<UserEventResponse> getEventsByOrganizationId(Long organization_id, PageRequest page, AuthenticationContext context) { //NOSONAR
+        final List<UserEvent> userEvents = UserEvent.<UserEvent>find("organization_id=?1 and id>?2 order by id", organization_id, page.getAfter()) //NOSONAR
+                .page(Page.ofSize(page.getLimit() + 1))
+                .list();
+        return PageResponse.bind(userEvents, page, userEvent -> userEvent.id, UserEventResponse::bind);
     }
 
     /**
@@ -130,9 +278,21 @@ public class UserEventService {
         logger.debug("Create a new user event with {}, {}", request, ctx);
         final UserEvent userEvent = request.unbind(userService::findById, ctx);
         userEvent.persistAndFlush();
+        dailyHoursService.apply(new DailyHoursService.Changes()
+                .addEvent(userEvent.owner.id, userEvent.startDateTime, userEvent.endDateTime));
+        absenceCounterService.apply(new AbsenceCounterService.Changes()
+                .addEvent(userEvent.owner.id, userEvent.eventType, userEvent.startDateTime, userEvent.endDateTime));
+        personalDaysChanged.fire(PersonalDaysChangedEvent.of(List.of(userEvent.owner.id),
+                userEvent.startDateTime.toLocalDate(),
+                lastDay(userEvent.startDateTime, userEvent.endDateTime)));
         return Optional.of(userEvent.id);
     }
 
+    // A userEvent without end lasts for its first day
+    private static LocalDate lastDay(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        return endDateTime == null ? startDateTime.toLocalDate() : endDateTime.toLocalDate();
+    }
+
     /**
      * Returns true if the specified user is available for the specified date range
      *
@@ -149,11 +309,48 @@ public class UserEventService {
             throw new IllegalArgumentException("startDateTime cannot be null");
         }
 
+        return findBusyUsersForDates(List.of(userId), startDateTime, endDateTime).isEmpty();
+    }
+
+    /**
+     * Returns the users that already have a userEvent during the specified date range, with a single query
+     *
+     * @param userIds       are the ids of the users to check
+     * @param startDateTime is a valid startDateTime and cannot be null
+     * @param endDateTime   if specified, must be after startDateTime
+     * @return the ids of the users that are not available, as a mutable set
+     */
+    protected Set<Long> findBusyUsersForDates(Collection<Long> userIds, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        if (userIds.isEmpty()) {
+            return new HashSet<>();
+        }
         LocalDateTime localEndDateTime = endDateTime == null ? startDateTime : endDateTime;
-        Optional<UserEvent> maybeOneEvent;
         // Please not that it is on purpose that we check that the localEndDateTime is strictly lower than thestartdatetime
-        maybeOneEvent = UserEvent.<UserEvent>stream("owner_id=?1 and startdatetime<?2 and enddatetime>=?3", userId, localEndDateTime, startDateTime).findFirst(); //NOSONAR
-        return maybeOneEvent.isEmpty();
+        final List<Long> busyUserIds = JpaOperations.getEntityManager()
+                .createQuery("select distinct ue.owner.id from UserEvent ue" +
+                        " where ue.owner.id in ?1 and ue.startDateTime < ?2 and ue.endDateTime >= ?3", Long.class)
+                .setParameter(1, userIds)
+                .setParameter(2, localEndDateTime)
+                .setParameter(3, startDateTime)
+                .getResultList();
+        return new HashSet<>(busyUserIds);
+    }
+
+    /**
+     * Same as findBusyUsersForDates, but the userEvents of the specified eventTemplate are ignored
+     */
+    private Set<Long> findBusyUsersForDates(Collection<Long> userIds, LocalDateTime startDateTime, LocalDateTime endDateTime, Long eventTemplateId) {
+        LocalDateTime localEndDateTime = endDateTime == null ? startDateTime : endDateTime;
+        final List<Long> busyUserIds = JpaOperations.getEntityManager()
+                .createQuery("select distinct ue.owner.id from UserEvent ue" +
+                        " where ue.owner.id in ?1 and ue.startDateTime < ?2 and ue.endDateTime >= ?3" +
+                        " and (ue.eventTemplate is null or ue.eventTemplate.id <> ?4)", Long.class)
+                .setParameter(1, userIds)
+                .setParameter(2, localEndDateTime)
+                .setParameter(3, startDateTime)
+                .setParameter(4, eventTemplateId)
+                .getResultList();
+        return new HashSet<>(busyUserIds);
     }
 
     /**
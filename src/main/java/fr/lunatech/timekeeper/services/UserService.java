@@ -18,20 +18,21 @@ package fr.lunatech.timekeeper.services;
 
 import fr.lunatech.timekeeper.models.User;
 import fr.lunatech.timekeeper.services.requests.AuthenticationRequest;
+import fr.lunatech.timekeeper.services.requests.PageRequest;
+import fr.lunatech.timekeeper.services.responses.PageResponse;
 import fr.lunatech.timekeeper.services.responses.UserResponse;
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import io.quarkus.hibernate.orm.panache.runtime.JpaOperations;
+import io.quarkus.panache.common.Page;
+import org.hibernate.jpa.QueryHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.transaction.Transactional;
-import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Function;
-import java.util.stream.Collector;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @ApplicationScoped
 public class UserService {
@@ -45,8 +46,12 @@ public class UserService {
         return findById(id, ctx).map(UserResponse::bind);
     }
 
-    public List<UserResponse> listAllResponses(AuthenticationContext ctx) {
-        return streamAll(ctx, UserResponse::bind, Collectors.toList());
+    public PageResponse<UserResponse> listAllResponses(AuthenticationContext ctx, PageRequest page) {
+        final List<User> users = findAllVisible(ctx, page.getAfter())
+                .withHint(QueryHints.HINT_FETCHGRAPH, JpaOperations.getEntityManager().getEntityGraph(User.GRAPH_FOR_LISTING))
+                .page(Page.ofSize(page.getLimit() + 1))
+                .list();
+        return PageResponse.bind(users, page, user -> user.id, UserResponse::bind);
     }
 
     @Transactional
@@ -55,6 +60,7 @@ public class UserService {
                 .map(user -> {
                     if (request.isEquals(user)) {
                         logger.debug("Modify user for email={} with {}", user.email, request);
+                        user.version = user.version + 1;
                         return request.unbind(user, organizationService::findByTokenName);
                     } else {
                         return user;
@@ -84,16 +90,11 @@ public class UserService {
                 .firstResultOptional();
     }
 
-    <R extends Collection<UserResponse>> R streamAll(
-            AuthenticationContext ctx,
-            Function<User, UserResponse> bind,
-            Collector<UserResponse, ?, R> collector
-    ) {
-        try (final Stream<User> users = User.streamAll()) {
-            return users
-                    .filter(ctx::canAccess)
-                    .map(bind)
-                    .collect(collector);
+    // Same rules as AuthenticationContext.canAccess(User), evaluated by the database
+    private PanacheQuery<User> findAllVisible(AuthenticationContext ctx, Long after) {
+        if (ctx.isSuperAdmin()) {
+            return User.find("id > ?1 order by id", after);
         }
+        return User.find("organization.id = ?1 and id > ?2 order by id", ctx.getOrganization().id, after);
     }
 }
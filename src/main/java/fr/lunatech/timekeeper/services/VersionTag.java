@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * A strong validator of a response, built from the ids and versions of the entities it is bound from, in the order
+ * they are shown : it changes as soon as one of these entities is updated, added or removed, and it is built
+ * without binding the response.
+ */
+public final class VersionTag {
+
+    private final StringBuilder versions = new StringBuilder();
+
+    /**
+     * @param type    is the type of the entity, as an entity of each type may have the same id
+     * @param id      is the id of the entity
+     * @param version is the version of the entity, or null for an entity which is not versioned
+     * @return this tag
+     */
+    public VersionTag add(String type, Long id, Long version) {
+        versions.append(type).append(':').append(id).append(':').append(version).append(';');
+        return this;
+    }
+
+    /**
+     * @return the hexadecimal SHA-256 digest of the versions
+     */
+    public String value() {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(versions.toString().getBytes(StandardCharsets.UTF_8));
+            final StringBuilder value = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                value.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return value.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform implements SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "VersionTag{" +
+                "versions=" + versions +
+                '}';
+    }
+}
@@ -16,17 +16,28 @@
 
 package fr.lunatech.timekeeper.services;
 
+import fr.lunatech.timekeeper.models.Project;
 import fr.lunatech.timekeeper.models.User;
+import fr.lunatech.timekeeper.services.responses.TeamWeekResponse;
 import fr.lunatech.timekeeper.services.responses.TimeSheetResponse;
 import fr.lunatech.timekeeper.services.responses.WeekResponse;
 import fr.lunatech.timekeeper.timeutils.CalendarFactory;
 import fr.lunatech.timekeeper.timeutils.TimeKeeperDateUtils;
+import io.quarkus.hibernate.orm.panache.runtime.JpaOperations;
+import io.quarkus.security.ForbiddenException;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 @ApplicationScoped
 public class WeekService {
@@ -40,8 +51,20 @@ public class WeekService {
     @Inject
     UserEventService userEventService;
 
+    @Inject
+    ProjectService projectService;
+
+    @Inject
+    PersonalViewCache personalViewCache;
+
+    // The members of a team are the users of an organization or the members of a project, selected by ?1
+    private static final String ORGANIZATION_MEMBERS = "select u.id from users u where u.organization_id = ?1";
+    private static final String PROJECT_MEMBERS = "select pu.user_id from projects_users pu where pu.project_id = ?1";
+    // The entries of the other projects of the members are left out of the team of a project
+    private static final String ENTRIES_OF_PROJECT = " and ts.project_id = ?1";
+
     /**
-     * Loads a specific week for the current authenticated user
+     * Loads a specific week for the current authenticated user, from the cache when it did not change since it was last loaded
      *
      * @param ctx        is the context with the user that made this request
      * @param year       is a 4 digit Integer value for a year
@@ -49,6 +72,10 @@ public class WeekService {
      * @return the WeekResponse with details for this user.
      */
     public WeekResponse getWeek(AuthenticationContext ctx, Integer year, Integer weekNumber) {
+        return personalViewCache.getWeek(ctx.getUserId(), year, weekNumber, () -> loadWeek(ctx, year, weekNumber));
+    }
+
+    private WeekResponse loadWeek(AuthenticationContext ctx, Integer year, Integer weekNumber) {
         Long userId = ctx.getUserId();
         Optional<User> maybeUser = userService.findById(userId, ctx);
         if (maybeUser.isEmpty()) {
@@ -59,14 +86,100 @@ public class WeekService {
         var publicHolidays = CalendarFactory.instanceFor("FR", year).getPublicHolidaysForWeekNumber(weekNumber);
 
         var startDayOfWeek = TimeKeeperDateUtils.getFirstDayOfWeekFromWeekNumber(year, weekNumber);
-        final List<TimeSheetResponse> timeSheetsResponse = new ArrayList<>();
-        for (TimeSheetResponse timeSheetResponse : timeSheetService.findAllActivesForUser(ctx)) {
-            timeSheetsResponse.add(timeSheetResponse.filterTimeEntriesForWeek(startDayOfWeek));
-        }
+        final List<TimeSheetResponse> timeSheetsResponse = timeSheetService.findAllActivesForUser(ctx, startDayOfWeek, startDayOfWeek.plusWeeks(1));
+        final var firstDayOfWeek = TimeKeeperDateUtils.adjustToFirstDayOfWeek(startDayOfWeek);
 
-        return new WeekResponse(TimeKeeperDateUtils.adjustToFirstDayOfWeek(startDayOfWeek)
+        return new WeekResponse(firstDayOfWeek
                 , userEvents
                 , timeSheetsResponse
                 , publicHolidays);
     }
+
+    /**
+     * Loads a specific week for all the members of a team, with a fixed number of queries whatever the number of members :
+     * the members, their hours per day, their time entries and their userEvents are each read with one query.
+     * The team of a project only shows the entries of this project, as its managers may not see the other projects :
+     * the hours per day are still the totals of the members, without the projects they were spent on.
+     *
+     * @param ctx        is the context with the user that made this request
+     * @param year       is a 4 digit Integer value for a year
+     * @param weekNumber is an Integer value between 1 and 52
+     * @param projectId  is the project of the team, or empty for the whole organization (admin only)
+     * @return the TeamWeekResponse, or empty if the project was not found.
+     */
+    public Optional<TeamWeekResponse> getTeamWeek(AuthenticationContext ctx, Integer year, Integer weekNumber, Optional<Long> projectId) {
+        final var firstDayOfWeek = TimeKeeperDateUtils.adjustToFirstDayOfWeek(TimeKeeperDateUtils.getFirstDayOfWeekFromWeekNumber(year, weekNumber));
+        final String members;
+        final String entriesOfTeam;
+        final Long teamId;
+        if (projectId.isPresent()) {
+            final Optional<Project> maybeProject = projectService.findById(projectId.get(), ctx);
+            if (maybeProject.isEmpty()) {
+                return Optional.empty();
+            }
+            if (!ctx.canEdit(maybeProject.get())) {
+                throw new ForbiddenException("The user can't see the team of the project with id : " + projectId.get());
+            }
+            members = PROJECT_MEMBERS;
+            entriesOfTeam = ENTRIES_OF_PROJECT;
+            teamId = projectId.get();
+        } else {
+            if (!ctx.isAdmin()) {
+                throw new ForbiddenException("The user can't see the team of the organization");
+            }
+            members = ORGANIZATION_MEMBERS;
+            entriesOfTeam = "";
+            teamId = ctx.getOrganization().id;
+        }
+
+        final Map<Long, TeamWeekResponse.Member> team = new LinkedHashMap<>();
+        @SuppressWarnings("unchecked") final List<Object[]> users = JpaOperations.getEntityManager()
+                .createNativeQuery("select u.id, concat_ws(' ', u.firstname, u.lastname) from users u where u.id in (" + members + ") order by u.id")
+                .setParameter(1, teamId)
+                .getResultList();
+        users.forEach(user -> team.put(((Number) user[0]).longValue(), new TeamWeekResponse.Member(((Number) user[0]).longValue(), (String) user[1])));
+
+        teamQuery("select d.user_id, d.day, d.entry_hours + d.event_hours from user_day_hours d" +
+                " where d.day >= ?2 and d.day < ?3 and d.user_id in (" + members + ")", firstDayOfWeek, teamId)
+                .forEach(row -> member(team, row).setHours(
+                        (int) ChronoUnit.DAYS.between(firstDayOfWeek, ((Date) row[1]).toLocalDate()),
+                        ((Number) row[2]).longValue()));
+
+        final Map<Long, String> projects = new TreeMap<>();
+        teamQuery("select ts.user_id, te.id, p.id, p.name, te.startdatetime, cast(" + ReportService.ENTRY_HOURS + " as bigint), te.comment" +
+                " from timeentries te join timesheets ts on ts.id = te.timesheet_id join projects p on p.id = ts.project_id" +
+                " where te.startdatetime >= ?2 and te.startdatetime < ?3 and ts.user_id in (" + members + ")" + entriesOfTeam +
+                " order by te.startdatetime, te.id", firstDayOfWeek, teamId)
+                .forEach(row -> {
+                    final Long entryProjectId = ((Number) row[2]).longValue();
+                    projects.put(entryProjectId, (String) row[3]);
+                    member(team, row).getEntries().add(new TeamWeekResponse.Entry(((Number) row[1]).longValue(), entryProjectId,
+                            ((Timestamp) row[4]).toLocalDateTime(), ((Number) row[5]).longValue(), (String) row[6]));
+                });
+
+        teamQuery("select ue.owner_id, ue.id, ue.name, ue.startdatetime, ue.enddatetime from user_events ue" +
+                " where ue.startdatetime < ?3 and ue.enddatetime >= ?2 and ue.owner_id in (" + members + ")" +
+                " order by ue.startdatetime, ue.id", firstDayOfWeek, teamId)
+                .forEach(row -> member(team, row).getEvents().add(new TeamWeekResponse.Event(((Number) row[1]).longValue(), (String) row[2],
+                        ((Timestamp) row[3]).toLocalDateTime(), ((Timestamp) row[4]).toLocalDateTime())));
+
+        final var publicHolidays = CalendarFactory.instanceFor("FR", year).getPublicHolidaysForWeekNumber(weekNumber);
+        return Optional.of(new TeamWeekResponse(firstDayOfWeek, publicHolidays, projects, new ArrayList<>(team.values())));
+    }
+
+    // ?1 is the team, ?2 and ?3 are the first day of the week and the first day of the next week
+    @SuppressWarnings("unchecked")
+    private List<Object[]> teamQuery(String query, LocalDate firstDayOfWeek, Long teamId) {
+        return JpaOperations.getEntityManager()
+                .createNativeQuery(query)
+                .setParameter(1, teamId)
+                .setParameter(2, firstDayOfWeek)
+                .setParameter(3, firstDayOfWeek.plusWeeks(1))
+                .getResultList();
+    }
+
+    // A member who joined the team after the first query is left out of the week
+    private static TeamWeekResponse.Member member(Map<Long, TeamWeekResponse.Member> team, Object[] row) {
+        return team.getOrDefault(((Number) row[0]).longValue(), new TeamWeekResponse.Member(null, null));
+    }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services.events;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Fired when the hours of some days changed (a time entry was created or updated), or when the way they are reported changed
+ * (a timesheet, a project or a client was updated). The caches built from the hours observe it once the transaction succeeded.
+ */
+public final class HoursChangedEvent {
+
+    // null for all the days
+    private final Set<LocalDate> days;
+
+    private HoursChangedEvent(Set<LocalDate> days) {
+        this.days = days;
+    }
+
+    public static HoursChangedEvent of(LocalDate... days) {
+        final Set<LocalDate> changed = new TreeSet<>();
+        Collections.addAll(changed, days);
+        return new HoursChangedEvent(Collections.unmodifiableSet(changed));
+    }
+
+    public static HoursChangedEvent allDays() {
+        return new HoursChangedEvent(null);
+    }
+
+    /**
+     * @param from is the first day, included
+     * @param to   is the last day, included
+     * @return true if one of the changed days is in the range
+     */
+    public boolean affects(LocalDate from, LocalDate to) {
+        return days == null || days.stream().anyMatch(day -> !day.isBefore(from) && !day.isAfter(to));
+    }
+
+    @Override
+    public String toString() {
+        return "HoursChangedEvent{" +
+                "days=" + (days == null ? "all" : days) +
+                '}';
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services.events;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Fired when the personal weeks and months of some users changed on some days : one of their time entries or userEvents
+ * changed, or a timesheet or a project shown on all their days was updated or had its consumed hours repaired. The cache of the personal views
+ * (see PersonalViewCache) observes it once the transaction succeeded.
+ */
+public final class PersonalDaysChangedEvent {
+
+    private final Set<Long> userIds;
+
+    // null for all the days
+    private final LocalDate from;
+    private final LocalDate to;
+
+    private PersonalDaysChangedEvent(Set<Long> userIds, LocalDate from, LocalDate to) {
+        this.userIds = userIds;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * @param userIds are the users whose days changed
+     * @param from    is the first changed day, included
+     * @param to      is the last changed day, included
+     */
+    public static PersonalDaysChangedEvent of(Collection<Long> userIds, LocalDate from, LocalDate to) {
+        return new PersonalDaysChangedEvent(Set.copyOf(userIds), from, to);
+    }
+
+    public static PersonalDaysChangedEvent allDays(Collection<Long> userIds) {
+        return new PersonalDaysChangedEvent(Set.copyOf(userIds), null, null);
+    }
+
+    /**
+     * @param userId is the user of a personal view
+     * @param from   is the first day of the view, included
+     * @param to     is the last day of the view, included
+     * @return true if the view shows one of the changed days of one of the users
+     */
+    public boolean affects(Long userId, LocalDate from, LocalDate to) {
+        return userIds.contains(userId)
+                && (this.from == null || !this.from.isAfter(to) && !this.to.isBefore(from));
+    }
+
+    @Override
+    public String toString() {
+        return "PersonalDaysChangedEvent{" +
+                "userIds=" + userIds +
+                ", days=" + (from == null ? "all" : from + ".." + to) +
+                '}';
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services.requests;
+
+import fr.lunatech.timekeeper.services.exceptions.IllegalEntityStateException;
+
+import javax.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * The burn-down of a project between two days (both included), with a point per day or per week
+ */
+public final class BurnDownRequest {
+
+    public enum Granularity {
+        DAY,
+        WEEK
+    }
+
+    @NotNull
+    private final LocalDate from;
+
+    @NotNull
+    private final LocalDate to;
+
+    @NotNull
+    private final Granularity granularity;
+
+    public BurnDownRequest(@NotNull LocalDate from, @NotNull LocalDate to, @NotNull Granularity granularity) {
+        this.from = from;
+        this.to = to;
+        this.granularity = granularity;
+    }
+
+    /**
+     * Parses the query parameters of a burn-down
+     *
+     * @param from        is the first day, ISO format
+     * @param to          is the last day, ISO format
+     * @param granularity is day or week, week when it is missing
+     * @return the burn-down request
+     * @throws IllegalEntityStateException if a parameter is missing or invalid
+     */
+    public static BurnDownRequest of(String from, String to, String granularity) {
+        final PeriodRequest period = PeriodRequest.of(from, to);
+        if (granularity == null || granularity.isBlank()) {
+            return new BurnDownRequest(period.getFrom(), period.getTo(), Granularity.WEEK);
+        }
+        try {
+            return new BurnDownRequest(period.getFrom(), period.getTo(), Granularity.valueOf(granularity.trim().toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalEntityStateException(String.format("Invalid granularity %s, expected one of %s", granularity, Arrays.toString(Granularity.values())));
+        }
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public Granularity getGranularity() {
+        return granularity;
+    }
+
+    @Override
+    public String toString() {
+        return "BurnDownRequest{" +
+                "from=" + from +
+                ", to=" + to +
+                ", granularity=" + granularity +
+                '}';
+    }
+}
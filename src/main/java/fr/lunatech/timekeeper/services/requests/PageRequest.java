@@ -0,0 +1,59 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package fr.lunatech.timekeeper.services.requests;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+/**
+ * Keyset pagination : a page is made of the rows with an id strictly greater than the cursor, ordered by id.
+ * The first page starts after the cursor 0.
+ */
+public final class PageRequest {
+
+    public static final long FIRST_PAGE = 0L;
+
+    @NotNull
+    @PositiveOrZero
+    private final Long after;
+
+    @NotNull
+    @Positive
+    private final Integer limit;
+
+    public PageRequest(@NotNull @PositiveOrZero Long after, @NotNull @Positive Integer limit) {
+        this.after = after;
+        this.limit = limit;
+    }
+
+    public Long getAfter() {
+        return after;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    @Override
+    public String toString() {
+        return "PageRequest{" +
+                "after=" + after +
+                ", limit=" + limit +
+                '}';
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services.requests;
+
+import fr.lunatech.timekeeper.services.exceptions.IllegalEntityStateException;
+
+import javax.validation.constraints.NotNull;
+import java.time.LocalDate;
+
+/**
+ * A period of days (an export, a scan...), the first and the last days are both included
+ */
+public final class PeriodRequest {
+
+    @NotNull
+    private final LocalDate from;
+
+    @NotNull
+    private final LocalDate to;
+
+    public PeriodRequest(@NotNull LocalDate from, @NotNull LocalDate to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Parses the query parameters of a period
+     *
+     * @param from is the first day, ISO format
+     * @param to   is the last day, ISO format
+     * @return the period request
+     * @throws IllegalEntityStateException if a date is missing or invalid
+     */
+    public static PeriodRequest of(String from, String to) {
+        final LocalDate fromDate = ReportRequest.parseDate("from", from);
+        final LocalDate toDate = ReportRequest.parseDate("to", to);
+        if (toDate.isBefore(fromDate)) {
+            throw new IllegalEntityStateException(String.format("Invalid date range from=%s to=%s", fromDate, toDate));
+        }
+        return new PeriodRequest(fromDate, toDate);
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    @Override
+    public String toString() {
+        return "PeriodRequest{" +
+                "from=" + from +
+                ", to=" + to +
+                '}';
+    }
+}
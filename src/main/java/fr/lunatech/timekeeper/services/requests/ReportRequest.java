@@ -0,0 +1,141 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services.requests;
+
+import fr.lunatech.timekeeper.services.exceptions.IllegalEntityStateException;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A report of the hours of a date range, grouped by some dimensions.
+ * The first and the last days are both included, the rows are grouped by the dimensions in the requested order.
+ */
+public final class ReportRequest {
+
+    public enum Dimension {
+        ORGANIZATION,
+        CLIENT,
+        PROJECT,
+        USER,
+        BILLABLE,
+        DAY,
+        WEEK,
+        MONTH;
+
+        public boolean isPeriod() {
+            return this == DAY || this == WEEK || this == MONTH;
+        }
+    }
+
+    @NotNull
+    private final LocalDate from;
+
+    @NotNull
+    private final LocalDate to;
+
+    @NotEmpty
+    private final List<Dimension> groupBy;
+
+    public ReportRequest(@NotNull LocalDate from, @NotNull LocalDate to, @NotEmpty List<Dimension> groupBy) {
+        this.from = from;
+        this.to = to;
+        this.groupBy = groupBy;
+    }
+
+    /**
+     * Parses the query parameters of a report
+     *
+     * @param from    is the first day, ISO format
+     * @param to      is the last day, ISO format
+     * @param groupBy are the dimensions, either repeated or separated by commas, case insensitive
+     * @return the report request
+     * @throws IllegalEntityStateException if a parameter is missing or invalid
+     */
+    public static ReportRequest of(String from, String to, List<String> groupBy) {
+        final LocalDate fromDate = parseDate("from", from);
+        final LocalDate toDate = parseDate("to", to);
+        if (toDate.isBefore(fromDate)) {
+            throw new IllegalEntityStateException(String.format("Invalid date range from=%s to=%s", fromDate, toDate));
+        }
+        final List<Dimension> dimensions = new ArrayList<>();
+        if (groupBy != null) {
+            groupBy.stream()
+                    .flatMap(param -> Arrays.stream(param.split(",")))
+                    .map(String::trim)
+                    .filter(name -> !name.isEmpty())
+                    .map(ReportRequest::parseDimension)
+                    .filter(dimension -> !dimensions.contains(dimension))
+                    .forEach(dimensions::add);
+        }
+        if (dimensions.isEmpty()) {
+            throw new IllegalEntityStateException("At least one groupBy dimension is required");
+        }
+        if (dimensions.stream().filter(Dimension::isPeriod).count() > 1) {
+            throw new IllegalEntityStateException("Only one of the day, week and month dimensions can be used");
+        }
+        return new ReportRequest(fromDate, toDate, Collections.unmodifiableList(dimensions));
+    }
+
+    static LocalDate parseDate(String name, String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalEntityStateException(String.format("The %s date is required", name));
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalEntityStateException(String.format("Invalid %s date %s", name, value));
+        }
+    }
+
+    private static Dimension parseDimension(String name) {
+        try {
+            return Dimension.valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalEntityStateException(String.format("Invalid groupBy dimension %s, expected one of %s", name, Arrays.toString(Dimension.values())));
+        }
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public List<Dimension> getGroupBy() {
+        return groupBy;
+    }
+
+    @Override
+    public String toString() {
+        return "ReportRequest{" +
+                "from=" + from +
+                ", to=" + to +
+                ", groupBy=" + groupBy +
+                '}';
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services.responses;
+
+import fr.lunatech.timekeeper.models.time.EventType;
+
+import javax.validation.constraints.NotNull;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The business days of absence of a user for a year, by event type. A partial day counts as a full day.
+ */
+public final class AbsenceCountersResponse {
+
+    @NotNull
+    private final Long userId;
+
+    @NotNull
+    private final String userName;
+
+    @NotNull
+    private final Integer year;
+
+    @NotNull
+    private final Map<EventType, Long> days = new EnumMap<>(EventType.class);
+
+    public AbsenceCountersResponse(@NotNull Long userId, @NotNull String userName, @NotNull Integer year) {
+        this.userId = userId;
+        this.userName = userName;
+        this.year = year;
+        for (EventType eventType : EventType.values()) {
+            days.put(eventType, 0L);
+        }
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public Map<EventType, Long> getDays() {
+        return days;
+    }
+
+    public void setDays(EventType eventType, long eventDays) {
+        days.put(eventType, eventDays);
+    }
+
+    @Override
+    public String toString() {
+        return "AbsenceCountersResponse{" +
+                "userId=" + userId +
+                ", year=" + year +
+                ", days=" + days +
+                '}';
+    }
+}
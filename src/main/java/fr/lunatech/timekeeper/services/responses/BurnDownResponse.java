@@ -0,0 +1,159 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services.responses;
+
+import fr.lunatech.timekeeper.services.requests.BurnDownRequest;
+
+import javax.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class BurnDownResponse {
+
+    @NotNull
+    private final Long projectId;
+
+    @NotNull
+    private final LocalDate from;
+
+    @NotNull
+    private final LocalDate to;
+
+    @NotNull
+    private final BurnDownRequest.Granularity granularity;
+
+    @NotNull
+    private final Series total;
+
+    @NotNull
+    private final List<Series> members;
+
+    public BurnDownResponse(
+            @NotNull Long projectId,
+            @NotNull LocalDate from,
+            @NotNull LocalDate to,
+            @NotNull BurnDownRequest.Granularity granularity,
+            @NotNull Series total,
+            @NotNull List<Series> members
+    ) {
+        this.projectId = projectId;
+        this.from = from;
+        this.to = to;
+        this.granularity = granularity;
+        this.total = total;
+        this.members = members;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public BurnDownRequest.Granularity getGranularity() {
+        return granularity;
+    }
+
+    public Series getTotal() {
+        return total;
+    }
+
+    public List<Series> getMembers() {
+        return members;
+    }
+
+    /**
+     * The cumulative hours of a member (or of all the members for the total) against the budget of the timesheets.
+     * There is a point for each day or week with hours.
+     */
+    public static final class Series {
+
+        // null for the total
+        private final Long userId;
+
+        // null without a max duration on the timesheets, or for the total when a timesheet of a member has none
+        private final Long budgetHours;
+
+        private final List<Point> points = new ArrayList<>();
+
+        public Series(Long userId, Long budgetHours) {
+            this.userId = userId;
+            this.budgetHours = budgetHours;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public Long getBudgetHours() {
+            return budgetHours;
+        }
+
+        public List<Point> getPoints() {
+            return points;
+        }
+
+        public Series add(LocalDate date, long hours, long cumulativeHours) {
+            points.add(new Point(date, hours, cumulativeHours, budgetHours == null ? null : budgetHours - cumulativeHours));
+            return this;
+        }
+    }
+
+    public static final class Point {
+
+        // the day, or the monday of the week
+        private final LocalDate date;
+
+        private final long hours;
+
+        // including the hours before the first day of the burn-down
+        private final long cumulativeHours;
+
+        private final Long remainingHours;
+
+        public Point(LocalDate date, long hours, long cumulativeHours, Long remainingHours) {
+            this.date = date;
+            this.hours = hours;
+            this.cumulativeHours = cumulativeHours;
+            this.remainingHours = remainingHours;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public long getHours() {
+            return hours;
+        }
+
+        public long getCumulativeHours() {
+            return cumulativeHours;
+        }
+
+        public Long getRemainingHours() {
+            return remainingHours;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services.responses;
+
+import fr.lunatech.timekeeper.models.time.EventType;
+
+import javax.validation.constraints.NotNull;
+import java.time.LocalDate;
+
+/**
+ * The users absent during a week and their days of absence (monday to friday) for an event type,
+ * read from the dashboard_absences view
+ */
+public final class DashboardAbsencesResponse {
+
+    @NotNull
+    private final LocalDate week;
+
+    @NotNull
+    private final EventType eventType;
+
+    private final long users;
+
+    private final long days;
+
+    public DashboardAbsencesResponse(@NotNull LocalDate week, @NotNull EventType eventType, long users, long days) {
+        this.week = week;
+        this.eventType = eventType;
+        this.users = users;
+        this.days = days;
+    }
+
+    public LocalDate getWeek() {
+        return week;
+    }
+
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    public long getUsers() {
+        return users;
+    }
+
+    public long getDays() {
+        return days;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services.responses;
+
+import javax.validation.constraints.NotNull;
+import java.time.LocalDate;
+
+/**
+ * The hours filled by the members of an organization during a week, read from the dashboard_fill_rate view.
+ * A member is expected to fill 8 hours a day from monday to friday, the public holidays are not deducted.
+ */
+public final class DashboardFillRateResponse {
+
+    static final long EXPECTED_HOURS_PER_WEEK = 5 * 8L;
+
+    @NotNull
+    private final LocalDate week;
+
+    private final long members;
+
+    private final long filledHours;
+
+    public DashboardFillRateResponse(@NotNull LocalDate week, long members, long filledHours) {
+        this.week = week;
+        this.members = members;
+        this.filledHours = filledHours;
+    }
+
+    public LocalDate getWeek() {
+        return week;
+    }
+
+    public long getMembers() {
+        return members;
+    }
+
+    public long getFilledHours() {
+        return filledHours;
+    }
+
+    public long getExpectedHours() {
+        return members * EXPECTED_HOURS_PER_WEEK;
+    }
+
+    public double getFillRate() {
+        return getExpectedHours() == 0 ? 0 : (double) filledHours / getExpectedHours();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services.responses;
+
+import javax.validation.constraints.NotNull;
+import java.time.LocalDate;
+
+/**
+ * The billable and non billable hours of a project for a month, read from the dashboard_project_hours view
+ */
+public final class DashboardProjectHoursResponse {
+
+    @NotNull
+    private final Long projectId;
+
+    @NotNull
+    private final String projectName;
+
+    @NotNull
+    private final LocalDate month;
+
+    private final long billableHours;
+
+    private final long nonBillableHours;
+
+    public DashboardProjectHoursResponse(@NotNull Long projectId, @NotNull String projectName, @NotNull LocalDate month, long billableHours, long nonBillableHours) {
+        this.projectId = projectId;
+        this.projectName = projectName;
+        this.month = month;
+        this.billableHours = billableHours;
+        this.nonBillableHours = nonBillableHours;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    public long getBillableHours() {
+        return billableHours;
+    }
+
+    public long getNonBillableHours() {
+        return nonBillableHours;
+    }
+}
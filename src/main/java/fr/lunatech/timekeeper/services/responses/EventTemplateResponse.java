@@ -53,6 +53,9 @@ public class EventTemplateResponse {
     @Null
     private final List<Attendee> attendees;
 
+    @NotNull
+    private final Long attendeesCount;
+
     public EventTemplateResponse(
             @NotNull Long id,
             @NotBlank String name,
@@ -60,6 +63,18 @@ public class EventTemplateResponse {
             @NotNull LocalDateTime startDateTime,
             @Null LocalDateTime endDateTime,
             @Null List<Attendee> attendees
+    ) {
+        this(id, name, description, startDateTime, endDateTime, attendees, attendees == null ? 0L : attendees.size());
+    }
+
+    public EventTemplateResponse(
+            @NotNull Long id,
+            @NotBlank String name,
+            @NotNull String description,
+            @NotNull LocalDateTime startDateTime,
+            @Null LocalDateTime endDateTime,
+            @Null List<Attendee> attendees,
+            @NotNull Long attendeesCount
     ) {
         this.id = id;
         this.name = name;
@@ -67,17 +82,37 @@ public class EventTemplateResponse {
         this.startDateTime = startDateTime;
         this.endDateTime = endDateTime;
         this.attendees = attendees;
+        this.attendeesCount = attendeesCount;
     }
 
     public static EventTemplateResponse bind(@NotNull EventTemplate eventTemplate, List<User> users) {
         var userEventResponses = users.stream().map(Attendee::bind).collect(Collectors.toList());
+        return bindWithAttendees(eventTemplate, userEventResponses);
+    }
+
+    public static EventTemplateResponse bindWithAttendees(@NotNull EventTemplate eventTemplate, @NotNull List<Attendee> attendees) {
+        return new EventTemplateResponse(
+                eventTemplate.id,
+                eventTemplate.name,
+                eventTemplate.description,
+                eventTemplate.startDateTime,
+                eventTemplate.endDateTime,
+                attendees
+        );
+    }
+
+    /**
+     * Binds an eventTemplate without its attendees, for the list views that only display the number of attendees
+     */
+    public static EventTemplateResponse bindWithAttendeesCount(@NotNull EventTemplate eventTemplate, @NotNull Long attendeesCount) {
         return new EventTemplateResponse(
                 eventTemplate.id,
                 eventTemplate.name,
                 eventTemplate.description,
                 eventTemplate.startDateTime,
                 eventTemplate.endDateTime,
-                userEventResponses
+                null,
+                attendeesCount
         );
     }
 
@@ -102,7 +137,11 @@ public class EventTemplateResponse {
     }
 
     public List<Attendee> getAttendees() {
-        return Collections.unmodifiableList(attendees);
+        return attendees == null ? null : Collections.unmodifiableList(attendees);
+    }
+
+    public Long getAttendeesCount() {
+        return attendeesCount;
     }
 
     @JsonIgnore
@@ -121,6 +160,7 @@ public class EventTemplateResponse {
                 ", startDateTime=" + startDateTime +
                 ", endDateTime=" + endDateTime +
                 ", attendees=" + attendees +
+                ", attendeesCount=" + attendeesCount +
                 '}';
     }
 
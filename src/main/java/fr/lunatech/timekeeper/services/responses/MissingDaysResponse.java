@@ -0,0 +1,64 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services.responses;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The business days of a period that a user did not fill
+ */
+public final class MissingDaysResponse {
+
+    @NotNull
+    private final Long userId;
+
+    @NotNull
+    private final String userName;
+
+    @NotEmpty
+    private final List<LocalDate> missingDays;
+
+    public MissingDaysResponse(@NotNull Long userId, @NotNull String userName, @NotEmpty List<LocalDate> missingDays) {
+        this.userId = userId;
+        this.userName = userName;
+        this.missingDays = missingDays;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public List<LocalDate> getMissingDays() {
+        return missingDays;
+    }
+
+    @Override
+    public String toString() {
+        return "MissingDaysResponse{" +
+                "userId=" + userId +
+                ", missingDays=" + missingDays.size() +
+                '}';
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package fr.lunatech.timekeeper.services.responses;
+
+import fr.lunatech.timekeeper.services.requests.PageRequest;
+
+import javax.validation.constraints.NotNull;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A page of a keyset pagination, see {@link PageRequest}.
+ * The next cursor is the id of the last item of the page, it is empty on the last page.
+ */
+public final class PageResponse<T> {
+
+    @NotNull
+    private final List<T> items;
+
+    private final Long nextCursor;
+
+    public PageResponse(@NotNull List<T> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @param rows   are the rows loaded for the page, up to limit + 1 so that we know if a next page exists
+     * @param page   is the requested page
+     * @param cursor returns the id of a row
+     * @param bind   binds a row to its response
+     */
+    public static <E, T> PageResponse<T> bind(@NotNull List<E> rows,
+                                              @NotNull PageRequest page,
+                                              @NotNull Function<E, Long> cursor,
+                                              @NotNull Function<E, T> bind) {
+        final boolean hasNext = rows.size() > page.getLimit();
+        final List<E> pageRows = hasNext ? rows.subList(0, page.getLimit()) : rows;
+        final Long nextCursor = hasNext ? cursor.apply(pageRows.get(pageRows.size() - 1)) : null;
+        return new PageResponse<>(pageRows.stream().map(bind).collect(Collectors.toList()), nextCursor);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public Optional<Long> getNextCursor() {
+        return Optional.ofNullable(nextCursor);
+    }
+
+    @Override
+    public String toString() {
+        return "PageResponse{" +
+                "items=" + items +
+                ", nextCursor=" + nextCursor +
+                '}';
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services.responses;
+
+import fr.lunatech.timekeeper.services.requests.ReportRequest;
+
+import javax.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.util.List;
+
+public final class ReportResponse {
+
+    @NotNull
+    private final LocalDate from;
+
+    @NotNull
+    private final LocalDate to;
+
+    @NotNull
+    private final List<ReportRequest.Dimension> groupBy;
+
+    @NotNull
+    private final List<Row> rows;
+
+    public ReportResponse(
+            @NotNull LocalDate from,
+            @NotNull LocalDate to,
+            @NotNull List<ReportRequest.Dimension> groupBy,
+            @NotNull List<Row> rows
+    ) {
+        this.from = from;
+        this.to = to;
+        this.groupBy = groupBy;
+        this.rows = rows;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public List<ReportRequest.Dimension> getGroupBy() {
+        return groupBy;
+    }
+
+    public List<Row> getRows() {
+        return rows;
+    }
+
+    public long getTotalHours() {
+        return rows.stream().mapToLong(Row::getHours).sum();
+    }
+
+    /**
+     * The hours of a group, the fields of the dimensions which are not grouped are null
+     */
+    public static final class Row {
+
+        private Long organizationId;
+        private String organizationName;
+        private Long clientId;
+        private String clientName;
+        private Long projectId;
+        private String projectName;
+        private Long userId;
+        private String userName;
+        private Boolean billable;
+        private LocalDate period;
+        private long hours;
+
+        public Long getOrganizationId() {
+            return organizationId;
+        }
+
+        public Row setOrganization(Long id, String name) {
+            this.organizationId = id;
+            this.organizationName = name;
+            return this;
+        }
+
+        public String getOrganizationName() {
+            return organizationName;
+        }
+
+        public Long getClientId() {
+            return clientId;
+        }
+
+        public Row setClient(Long id, String name) {
+            this.clientId = id;
+            this.clientName = name;
+            return this;
+        }
+
+        public String getClientName() {
+            return clientName;
+        }
+
+        public Long getProjectId() {
+            return projectId;
+        }
+
+        public Row setProject(Long id, String name) {
+            this.projectId = id;
+            this.projectName = name;
+            return this;
+        }
+
+        public String getProjectName() {
+            return projectName;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public Row setUser(Long id, String name) {
+            this.userId = id;
+            this.userName = name;
+            return this;
+        }
+
+        public String getUserName() {
+            return userName;
+        }
+
+        public Boolean getBillable() {
+            return billable;
+        }
+
+        public Row setBillable(Boolean billable) {
+            this.billable = billable;
+            return this;
+        }
+
+        /**
+         * @return the day, the monday of the week or the first day of the month, null when the rows are not grouped by period
+         */
+        public LocalDate getPeriod() {
+            return period;
+        }
+
+        public Row setPeriod(LocalDate period) {
+            this.period = period;
+            return this;
+        }
+
+        public long getHours() {
+            return hours;
+        }
+
+        public Row setHours(long hours) {
+            this.hours = hours;
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return "Row{" +
+                    "organizationId=" + organizationId +
+                    ", clientId=" + clientId +
+                    ", projectId=" + projectId +
+                    ", userId=" + userId +
+                    ", billable=" + billable +
+                    ", period=" + period +
+                    ", hours=" + hours +
+                    '}';
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ReportResponse{" +
+                "from=" + from +
+                ", to=" + to +
+                ", groupBy=" + groupBy +
+                ", rows=" + rows.size() +
+                '}';
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services.responses;
+
+import fr.lunatech.timekeeper.timeutils.PublicHoliday;
+
+import javax.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The week of several users : for each member, the hours of each day of the week (monday first),
+ * the time entries and the userEvents of the week. The projects of the entries are listed once, by id.
+ */
+public final class TeamWeekResponse {
+
+    public static final int DAYS_IN_A_WEEK = 7;
+
+    @NotNull
+    private final LocalDate firstDayOfWeek;
+
+    @NotNull
+    private final List<PublicHoliday> publicHolidays;
+
+    @NotNull
+    private final Map<Long, String> projects;
+
+    @NotNull
+    private final List<Member> members;
+
+    public TeamWeekResponse(
+            @NotNull LocalDate firstDayOfWeek,
+            @NotNull List<PublicHoliday> publicHolidays,
+            @NotNull Map<Long, String> projects,
+            @NotNull List<Member> members
+    ) {
+        this.firstDayOfWeek = firstDayOfWeek;
+        this.publicHolidays = publicHolidays;
+        this.projects = projects;
+        this.members = members;
+    }
+
+    public LocalDate getFirstDayOfWeek() {
+        return firstDayOfWeek;
+    }
+
+    public List<PublicHoliday> getPublicHolidays() {
+        return publicHolidays;
+    }
+
+    public Map<Long, String> getProjects() {
+        return projects;
+    }
+
+    public List<Member> getMembers() {
+        return members;
+    }
+
+    public static final class Member {
+
+        private final Long userId;
+
+        private final String name;
+
+        // hours of the time entries and userEvents of each day, monday first
+        private final long[] hours = new long[DAYS_IN_A_WEEK];
+
+        private final List<Entry> entries = new ArrayList<>();
+
+        private final List<Event> events = new ArrayList<>();
+
+        public Member(Long userId, String name) {
+            this.userId = userId;
+            this.name = name;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long[] getHours() {
+            return hours;
+        }
+
+        public List<Entry> getEntries() {
+            return entries;
+        }
+
+        public List<Event> getEvents() {
+            return events;
+        }
+
+        public void setHours(int dayOfWeek, long dayHours) {
+            hours[dayOfWeek] = dayHours;
+        }
+    }
+
+    public static final class Entry {
+
+        private final Long id;
+
+        private final Long projectId;
+
+        private final LocalDateTime startDateTime;
+
+        private final long hours;
+
+        private final String comment;
+
+        public Entry(Long id, Long projectId, LocalDateTime startDateTime, long hours, String comment) {
+            this.id = id;
+            this.projectId = projectId;
+            this.startDateTime = startDateTime;
+            this.hours = hours;
+            this.comment = comment;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public Long getProjectId() {
+            return projectId;
+        }
+
+        public LocalDateTime getStartDateTime() {
+            return startDateTime;
+        }
+
+        public long getHours() {
+            return hours;
+        }
+
+        public String getComment() {
+            return comment;
+        }
+    }
+
+    public static final class Event {
+
+        private final Long id;
+
+        private final String name;
+
+        private final LocalDateTime startDateTime;
+
+        private final LocalDateTime endDateTime;
+
+        public Event(Long id, String name, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+            this.id = id;
+            this.name = name;
+            this.startDateTime = startDateTime;
+            this.endDateTime = endDateTime;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public LocalDateTime getStartDateTime() {
+            return startDateTime;
+        }
+
+        public LocalDateTime getEndDateTime() {
+            return endDateTime;
+        }
+    }
+}
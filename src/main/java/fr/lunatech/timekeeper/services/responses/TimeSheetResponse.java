@@ -20,7 +20,6 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import fr.lunatech.timekeeper.models.time.TimeEntry;
 import fr.lunatech.timekeeper.models.time.TimeSheet;
 import fr.lunatech.timekeeper.timeutils.TimeKeeperDateFormat;
-import fr.lunatech.timekeeper.timeutils.TimeKeeperDateUtils;
 import fr.lunatech.timekeeper.timeutils.TimeSheetUtils;
 import fr.lunatech.timekeeper.timeutils.TimeUnit;
 
@@ -28,7 +27,6 @@ import javax.validation.constraints.NotNull;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class TimeSheetResponse {
@@ -82,6 +80,18 @@ public class TimeSheetResponse {
     }
 
     public static TimeSheetResponse bind(@NotNull TimeSheet sheet) {
+        return bind(sheet, sheet.entries);
+    }
+
+    /**
+     * Bind a TimeSheet with only a subset of its entries, for instance the entries of a week.
+     * The leftOver is still computed from the TimeSheet itself.
+     *
+     * @param sheet   is the TimeSheet
+     * @param entries are the entries to return with this TimeSheet
+     * @return a TimeSheetResponse
+     */
+    public static TimeSheetResponse bind(@NotNull TimeSheet sheet, @NotNull List<TimeEntry> entries) {
         return new TimeSheetResponse(
                 sheet.id,
                 ProjectResponse.bind(sheet.project),
@@ -91,7 +101,7 @@ public class TimeSheetResponse {
                 sheet.expirationDate,
                 sheet.maxDuration,
                 sheet.durationUnit.name(),
-                sheet.entries.stream().map(TimeSheetResponse.TimeEntryResponse::bind)
+                entries.stream().map(TimeSheetResponse.TimeEntryResponse::bind)
                         .collect(Collectors.toList()),
                 TimeSheetUtils.computeLeftOver(sheet),
                 sheet.startDate
@@ -147,53 +157,6 @@ public class TimeSheetResponse {
         }
     }
 
-    public final TimeSheetResponse filterToSixWeeksRange(Integer year, Integer monthNumber) {
-        Predicate<LocalDate> isValidDate = TimeKeeperDateUtils.isIncludedInSixWeeksFromMonth(year, monthNumber);
-        List<TimeEntryResponse> restrictedEntries = this.entries
-                .stream()
-                .filter(timeEntryResponse -> {
-                    LocalDateTime startDateTime = timeEntryResponse.startDateTime;
-                    if(startDateTime == null){
-                        return false;
-                    }
-                    return isValidDate.test(startDateTime.toLocalDate());
-                })
-                .collect(Collectors.toList());
-
-        return new TimeSheetResponse(this.id,
-                this.project,
-                this.ownerId,
-                this.timeUnit,
-                this.defaultIsBillable,
-                this.expirationDate,
-                this.maxDuration,
-                this.durationUnit,
-                restrictedEntries,
-                this.leftOver,
-                this.startDate
-        );
-    }
-
-    public final TimeSheetResponse filterTimeEntriesForWeek(LocalDate startDayOfWeek){
-        List<TimeEntryResponse> restrictedEntries = this.entries
-                .stream()
-                .filter(timeEntryResponse -> TimeKeeperDateUtils.isSameWeekAndYear(timeEntryResponse.getStartDateTime().toLocalDate(), startDayOfWeek))
-                .collect(Collectors.toList());
-
-        return new TimeSheetResponse(this.id,
-                this.project,
-                this.ownerId,
-                this.timeUnit,
-                this.defaultIsBillable,
-                this.expirationDate,
-                this.maxDuration,
-                this.durationUnit,
-                restrictedEntries,
-                this.leftOver,
-                this.startDate
-        );
-    }
-
     @Override
     public String toString() {
         return "TimeSheetResponse{" +
@@ -20,7 +20,6 @@ import fr.lunatech.timekeeper.models.time.TimeSheet;
 import fr.lunatech.timekeeper.timeutils.PublicHoliday;
 import fr.lunatech.timekeeper.timeutils.TimeKeeperDateUtils;
 import fr.lunatech.timekeeper.timeutils.Week;
-import fr.lunatech.timekeeper.timeutils.WeekUtils;
 
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -87,8 +86,4 @@ public final class WeekResponse {
     public List<PublicHoliday> getPublicHolidays() {
         return Collections.unmodifiableList(publicHolidays);
     }
-
-    public Boolean hasCompletedHoursForADay(Long userId, LocalDate date) {
-        return WeekUtils.getWorkingHoursForASpecificDay(date, userId, sheets, userEvents) > 8;
-    }
 }
\ No newline at end of file
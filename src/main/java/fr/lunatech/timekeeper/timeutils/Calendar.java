@@ -22,6 +22,13 @@ import java.util.List;
 public interface Calendar {
     List<LocalDate> getBusinessDays();
 
+    boolean isBusinessDay(LocalDate date);
+
+    /**
+     * @return the number of business days of this calendar between two days, both included
+     */
+    int businessDaysBetween(LocalDate from, LocalDate to);
+
     List<PublicHoliday> getPublicHolidays();
 
     List<PublicHoliday> getPublicHolidaysForWeekNumber(final Integer weekNumber);
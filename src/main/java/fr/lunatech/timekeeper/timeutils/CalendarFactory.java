@@ -20,24 +20,35 @@ import fr.lunatech.timekeeper.services.exceptions.CalendarNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds the calendars from the rules of the public holidays (see HolidayLocale), once per country and year
+ */
 public class CalendarFactory {
     private static Logger logger = LoggerFactory.getLogger(CalendarFactory.class);
 
+    // The years of the calendars kept in memory, see TimeKeeperDateUtils.validateYear
+    static final int MIN_YEAR = 1970;
+    static final int MAX_YEAR = 2199;
+
+    private static final Map<String, Calendar> calendars = new ConcurrentHashMap<>();
+
     private CalendarFactory() {
         throw new IllegalStateException("Utility class, not meant to be instanciated");
     }
 
     public static Calendar instanceFor(final String locale, final Integer year) {
-        if (locale.equalsIgnoreCase("FR") && year == 2020) {
-            return CalendarFR2020.getInstance();
-        }
-        if (locale.equalsIgnoreCase("FR") && year == 2021) {
-            return CalendarFR2021.getInstance();
-        }
-        if (logger.isErrorEnabled()) {
-            logger.error(String.format("Calendar not implemented for locale=%s and year=%d", locale, year));
+        final var holidayLocale = HolidayLocale.of(locale);
+        if (holidayLocale.isEmpty() || year < MIN_YEAR || year > MAX_YEAR) {
+            if (logger.isErrorEnabled()) {
+                logger.error(String.format("Calendar not implemented for locale=%s and year=%d", locale, year));
+            }
+            throw new CalendarNotFoundException("Calendar not available for this locale and this year");
         }
-        throw new CalendarNotFoundException("Calendar not available for this locale and this year");
+        return calendars.computeIfAbsent(holidayLocale.get().name() + "-" + year,
+                key -> new HolidayCalendar(holidayLocale.get(), year));
     }
 
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.timeutils;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A set of days of a period, one bit per day from the first day of the period.
+ * The sets of a period are compared with bitwise operations instead of comparing lists of dates.
+ */
+public final class DayBitSet {
+
+    private final LocalDate from;
+
+    private final int length;
+
+    private final BitSet days;
+
+    /**
+     * @param from is the first day of the period, included
+     * @param to   is the last day of the period, included
+     */
+    public DayBitSet(LocalDate from, LocalDate to) {
+        this(from, (int) ChronoUnit.DAYS.between(from, to) + 1, new BitSet());
+    }
+
+    private DayBitSet(LocalDate from, int length, BitSet days) {
+        this.from = from;
+        this.length = length;
+        this.days = days;
+    }
+
+    /**
+     * Adds a day, a day out of the period is ignored
+     */
+    public DayBitSet add(LocalDate day) {
+        final long index = ChronoUnit.DAYS.between(from, day);
+        if (index >= 0 && index < length) {
+            days.set((int) index);
+        }
+        return this;
+    }
+
+    public DayBitSet addAll(Collection<LocalDate> days) {
+        days.forEach(this::add);
+        return this;
+    }
+
+    /**
+     * @return a new set with the days of this set which are not in the other set, of the same period
+     */
+    public DayBitSet minus(DayBitSet other) {
+        if (!from.equals(other.from) || length != other.length) {
+            throw new IllegalArgumentException("The sets of days must be of the same period");
+        }
+        final BitSet difference = (BitSet) days.clone();
+        difference.andNot(other.days);
+        return new DayBitSet(from, length, difference);
+    }
+
+    public boolean isEmpty() {
+        return days.isEmpty();
+    }
+
+    public int size() {
+        return days.cardinality();
+    }
+
+    /**
+     * @return the days, sorted
+     */
+    public List<LocalDate> toDates() {
+        final List<LocalDate> dates = new ArrayList<>(days.cardinality());
+        for (int i = days.nextSetBit(0); i >= 0; i = days.nextSetBit(i + 1)) {
+            dates.add(from.plusDays(i));
+        }
+        return dates;
+    }
+
+    @Override
+    public String toString() {
+        return "DayBitSet{" +
+                "from=" + from +
+                ", days=" + toDates() +
+                '}';
+    }
+}
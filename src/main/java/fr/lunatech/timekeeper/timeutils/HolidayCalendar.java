@@ -0,0 +1,132 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package fr.lunatech.timekeeper.timeutils;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The calendar of a country for a year, built once from the rules of its public holidays (see CalendarFactory).
+ * The business days are kept as one bit per day of the year, with the cumulative counts of business days and
+ * public holidays, so that a period of the year is counted or looked up without walking through its days.
+ */
+public final class HolidayCalendar implements Calendar {
+
+    private final int year;
+
+    private final LocalDate firstDay;
+
+    private final List<PublicHoliday> publicHolidays;
+
+    // bit i is set when the (i + 1)th day of the year is a business day
+    private final BitSet businessDays;
+
+    // businessDaysBefore[i] is the number of business days of the year before its (i + 1)th day
+    private final int[] businessDaysBefore;
+
+    // holidaysBefore[i] is the number of public holidays of the year before its (i + 1)th day
+    private final int[] holidaysBefore;
+
+    HolidayCalendar(HolidayLocale locale, int year) {
+        this.year = year;
+        this.firstDay = LocalDate.of(year, 1, 1);
+        this.publicHolidays = List.copyOf(locale.getPublicHolidays(year));
+
+        final int length = firstDay.lengthOfYear();
+        this.businessDays = new BitSet(length);
+        this.businessDaysBefore = new int[length + 1];
+        this.holidaysBefore = new int[length + 1];
+
+        final BitSet holidays = new BitSet(length);
+        final int[] holidaysOn = new int[length];
+        publicHolidays.forEach(publicHoliday -> {
+            holidays.set(publicHoliday.date.getDayOfYear() - 1);
+            holidaysOn[publicHoliday.date.getDayOfYear() - 1]++;
+        });
+        DayOfWeek dayOfWeek = firstDay.getDayOfWeek();
+        for (int i = 0; i < length; i++) {
+            if (dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY && !holidays.get(i)) {
+                businessDays.set(i);
+            }
+            businessDaysBefore[i + 1] = businessDaysBefore[i] + (businessDays.get(i) ? 1 : 0);
+            holidaysBefore[i + 1] = holidaysBefore[i] + holidaysOn[i];
+            dayOfWeek = dayOfWeek.plus(1);
+        }
+    }
+
+    @Override
+    public List<LocalDate> getBusinessDays() {
+        return businessDays.stream()
+                .mapToObj(firstDay::plusDays)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public boolean isBusinessDay(LocalDate date) {
+        return date.getYear() == year && businessDays.get(date.getDayOfYear() - 1);
+    }
+
+    @Override
+    public int businessDaysBetween(LocalDate from, LocalDate to) {
+        final int first = firstIndex(from);
+        final int last = lastIndex(to);
+        return first > last ? 0 : businessDaysBefore[last + 1] - businessDaysBefore[first];
+    }
+
+    @Override
+    public List<PublicHoliday> getPublicHolidays() {
+        return publicHolidays;
+    }
+
+    @Override
+    public List<PublicHoliday> getPublicHolidaysForWeekNumber(final Integer weekNumber) {
+        final LocalDate monday = TimeKeeperDateUtils.getFirstDayOfWeekFromWeekNumber(year, weekNumber);
+        return publicHolidaysBetween(monday, TimeKeeperDateUtils.adjustToLastDayOfWeek(monday));
+    }
+
+    @Override
+    public List<PublicHoliday> getPublicHolidaysForMonthNumber(final Integer monthNumber) {
+        final LocalDate monday = TimeKeeperDateUtils.getFirstDayOfSixWeeksFromMonth(year, monthNumber);
+        return publicHolidaysBetween(monday, TimeKeeperDateUtils.adjustToLastDayOfWeek(monday.plusWeeks(5)));
+    }
+
+    /**
+     * @return the public holidays of this year between two days, both included, in the order of their dates
+     */
+    private List<PublicHoliday> publicHolidaysBetween(LocalDate from, LocalDate to) {
+        final int first = firstIndex(from);
+        final int last = lastIndex(to);
+        return first > last ? List.of() : publicHolidays.subList(holidaysBefore[first], holidaysBefore[last + 1]);
+    }
+
+    // the index in this year of the first day of a period starting at the given day
+    private int firstIndex(LocalDate from) {
+        if (from.getYear() < year) return 0;
+        if (from.getYear() > year) return firstDay.lengthOfYear();
+        return from.getDayOfYear() - 1;
+    }
+
+    // the index in this year of the last day of a period ending at the given day
+    private int lastIndex(LocalDate to) {
+        if (to.getYear() < year) return -1;
+        if (to.getYear() > year) return firstDay.lengthOfYear() - 1;
+        return to.getDayOfYear() - 1;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.timeutils;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static fr.lunatech.timekeeper.timeutils.HolidayRule.fixed;
+import static fr.lunatech.timekeeper.timeutils.HolidayRule.fromEaster;
+
+/**
+ * The public holidays of each country, as rules : see https://date.nager.at/ for the list of a year
+ */
+public enum HolidayLocale {
+
+    FR(
+            holiday(fixed(1, 1), "Jour de l'an", "New Year's Day"),
+            holiday(fromEaster(1), "Lundi de Pâques", "Easter Monday"),
+            holiday(fixed(5, 1), "Fête du premier mai", "Labour Day"),
+            holiday(fixed(5, 8), "Fête de la Victoire", "Victory in Europe Day"),
+            holiday(fromEaster(39), "Jour de l'Ascension", "Ascension Day"),
+            holiday(fromEaster(50), "Lundi de Pentecôte", "Whit Monday"),
+            holiday(fixed(7, 14), "Fête nationale", "Bastille Day"),
+            holiday(fixed(8, 15), "L'Assomption de Marie", "Assumption Day"),
+            holiday(fixed(11, 1), "La Toussaint", "All Saints' Day"),
+            holiday(fixed(11, 11), "Armistice de 1918", "Armistice Day"),
+            holiday(fixed(12, 25), "Noël", "Christmas Day")
+    ),
+    BE(
+            holiday(fixed(1, 1), "Nouvel An", "New Year's Day"),
+            holiday(fromEaster(1), "Lundi de Pâques", "Easter Monday"),
+            holiday(fixed(5, 1), "Fête du Travail", "Labour Day"),
+            holiday(fromEaster(39), "Ascension", "Ascension Day"),
+            holiday(fromEaster(50), "Lundi de Pentecôte", "Whit Monday"),
+            holiday(fixed(7, 21), "Fête nationale", "Belgian National Day"),
+            holiday(fixed(8, 15), "Assomption", "Assumption Day"),
+            holiday(fixed(11, 1), "Toussaint", "All Saints' Day"),
+            holiday(fixed(11, 11), "Jour de l'armistice", "Armistice Day"),
+            holiday(fixed(12, 25), "Noël", "Christmas Day")
+    ),
+    NL(
+            holiday(fixed(1, 1), "Nieuwjaarsdag", "New Year's Day"),
+            holiday(fromEaster(-2), "Goede Vrijdag", "Good Friday"),
+            holiday(fromEaster(0), "Eerste Paasdag", "Easter Sunday"),
+            holiday(fromEaster(1), "Tweede Paasdag", "Easter Monday"),
+            // The King's day is the 26th of April when the 27th is a sunday
+            holiday(year -> Optional.of(LocalDate.of(year, 4, 27))
+                    .filter(day -> day.getDayOfWeek() != DayOfWeek.SUNDAY)
+                    .orElse(LocalDate.of(year, 4, 26)), "Koningsdag", "King's Day"),
+            holiday(fixed(5, 5), "Bevrijdingsdag", "Liberation Day"),
+            holiday(fromEaster(39), "Hemelvaartsdag", "Ascension Day"),
+            holiday(fromEaster(49), "Eerste Pinksterdag", "Pentecost"),
+            holiday(fromEaster(50), "Tweede Pinksterdag", "Whit Monday"),
+            holiday(fixed(12, 25), "Eerste Kerstdag", "Christmas Day"),
+            holiday(fixed(12, 26), "Tweede Kerstdag", "St. Stephen's Day")
+    );
+
+    private final List<Holiday> holidays;
+
+    HolidayLocale(Holiday... holidays) {
+        this.holidays = List.of(holidays);
+    }
+
+    /**
+     * @param locale is a country code, e.g. FR
+     * @return the HolidayLocale of this country, or empty if its public holidays are not known
+     */
+    public static Optional<HolidayLocale> of(String locale) {
+        return Stream.of(values())
+                .filter(holidayLocale -> holidayLocale.name().equalsIgnoreCase(locale))
+                .findFirst();
+    }
+
+    /**
+     * @param year is a 4 digit year
+     * @return the public holidays of this year, sorted by date
+     */
+    public List<PublicHoliday> getPublicHolidays(int year) {
+        return holidays.stream()
+                .map(holiday -> new PublicHoliday(holiday.rule.dateFor(year), holiday.localName, holiday.name, name()))
+                .sorted(Comparator.comparing(publicHoliday -> publicHoliday.date))
+                .collect(Collectors.toList());
+    }
+
+    private static Holiday holiday(HolidayRule rule, String localName, String name) {
+        return new Holiday(rule, localName, name);
+    }
+
+    private static final class Holiday {
+
+        private final HolidayRule rule;
+        private final String localName;
+        private final String name;
+
+        private Holiday(HolidayRule rule, String localName, String name) {
+            this.rule = rule;
+            this.localName = localName;
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.timeutils;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+
+/**
+ * The date of a public holiday for any year : a fixed day of the year, or a number of days from Easter Sunday
+ */
+@FunctionalInterface
+public interface HolidayRule {
+
+    LocalDate dateFor(int year);
+
+    static HolidayRule fixed(int month, int dayOfMonth) {
+        final MonthDay monthDay = MonthDay.of(month, dayOfMonth);
+        return monthDay::atYear;
+    }
+
+    static HolidayRule fromEaster(int days) {
+        return year -> easterSunday(year).plusDays(days);
+    }
+
+    /**
+     * Computes the Easter Sunday of the Gregorian calendar (anonymous algorithm, Meeus/Jones/Butcher)
+     *
+     * @param year is a 4 digit year
+     * @return the Easter Sunday of this year
+     */
+    static LocalDate easterSunday(int year) {
+        final int a = year % 19;
+        final int b = year / 100;
+        final int c = year % 100;
+        final int d = b / 4;
+        final int e = b % 4;
+        final int f = (b + 8) / 25;
+        final int g = (b - f + 1) / 3;
+        final int h = (19 * a + b - d - g + 15) % 30;
+        final int i = c / 4;
+        final int k = c % 4;
+        final int l = (32 + 2 * e + 2 * i - h - k) % 7;
+        final int m = (a + 11 * h + 22 * l) / 451;
+        final int month = (h + l - 7 * m + 114) / 31;
+        final int day = ((h + l - 7 * m + 114) % 31) + 1;
+        return LocalDate.of(year, month, day);
+    }
+}
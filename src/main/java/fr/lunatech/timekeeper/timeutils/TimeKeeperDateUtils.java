@@ -22,11 +22,10 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.*;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * @author created by N.Martignole, Lunatech, on 2020-06-10.
@@ -160,6 +159,20 @@ public class TimeKeeperDateUtils {
         return LocalDateTime.parse(dateString, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
     }
 
+    /**
+     * Returns the Monday of the first of the six weeks displayed for a month, that is the Monday of the
+     * week that contains the first day of the month.
+     *
+     * @param year
+     * @param monthNumber
+     * @return the first day of the six weeks of the month
+     */
+    public static LocalDate getFirstDayOfSixWeeksFromMonth(final Integer year, final Integer monthNumber) {
+        validateYear(year);
+        validateMonth(monthNumber);
+        return adjustToFirstDayOfWeek(LocalDate.of(year, monthNumber, 1));
+    }
+
     /**
      * Return a predicate that test if the input date is included in the six weeks of the month
      * The calendars view usually displays six weeks for the month view
@@ -169,11 +182,7 @@ public class TimeKeeperDateUtils {
      * @return a predicate to test if the input date is included in the six weeks of the month
      */
     public static Predicate<LocalDate> isIncludedInSixWeeksFromMonth(final Integer year, final Integer monthNumber) {
-        validateYear(year);
-        validateMonth(monthNumber);
-        LocalDate firstDayOfMonth = LocalDate.of(year, monthNumber, 1);
-        Integer weekNumber = getWeekNumberFromDate(firstDayOfMonth);
-        LocalDate firstDayOfFirstWeek = getFirstDayOfWeekFromWeekNumber(year, weekNumber);
+        LocalDate firstDayOfFirstWeek = getFirstDayOfSixWeeksFromMonth(year, monthNumber);
         LocalDate lastDayOfLastWeek = adjustToLastDayOfWeek(firstDayOfFirstWeek.plusWeeks(5));
         return inputDate -> inputDate.isAfter(firstDayOfFirstWeek.minusDays(1)) && inputDate.isBefore(lastDayOfLastWeek.plusDays(1));
     }
@@ -199,13 +208,33 @@ public class TimeKeeperDateUtils {
      * @param to   is a LocalDate
      * @return the business days between two LocalDate as a List of LocalDate
      */
-    private static List<LocalDate> getBusinessDays(LocalDate from, LocalDate to) {
-        return IntStream.rangeClosed(from.getYear(), to.getYear())
-                .boxed()
-                .map(year -> CalendarFactory.instanceFor("FR", year))
-                .flatMap(calendar -> calendar.getBusinessDays().stream())
-                .filter(date -> date.isAfter(from) && date.isBefore(to) || date.equals(from) || date.equals(to))
-                .collect(Collectors.toList());
+    public static List<LocalDate> getBusinessDays(LocalDate from, LocalDate to) {
+        final List<LocalDate> businessDays = new ArrayList<>();
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            final Calendar calendar = CalendarFactory.instanceFor("FR", year);
+            final LocalDate last = year == to.getYear() ? to : LocalDate.of(year, 12, 31);
+            for (LocalDate day = year == from.getYear() ? from : LocalDate.of(year, 1, 1); !day.isAfter(last); day = day.plusDays(1)) {
+                if (calendar.isBusinessDay(day)) {
+                    businessDays.add(day);
+                }
+            }
+        }
+        return businessDays;
+    }
+
+    /**
+     * Count the business days between two LocalDate, without listing them
+     *
+     * @param from is a LocalDate, included
+     * @param to   is a LocalDate, included
+     * @return the number of business days between two LocalDate
+     */
+    public static int countBusinessDays(LocalDate from, LocalDate to) {
+        int businessDays = 0;
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            businessDays += CalendarFactory.instanceFor("FR", year).businessDaysBetween(from, to);
+        }
+        return businessDays;
     }
 
     /**
@@ -242,7 +271,7 @@ public class TimeKeeperDateUtils {
             throw new IllegalArgumentException("StartDateTime must be before EndDateTime and in the business hours range");
         }
 
-        final int businessDays = getBusinessDays(startDateTime.toLocalDate(), endDateTime.toLocalDate()).size();
+        final int businessDays = countBusinessDays(startDateTime.toLocalDate(), endDateTime.toLocalDate());
         final int hoursFromStartToEndOfDay = endOfDay.getHour() - startDateTime.toLocalTime().getHour();
         final int hoursFromEndToEndOfDay = endOfDay.getHour() - endDateTime.toLocalTime().getHour();
 
@@ -16,7 +16,6 @@
 
 package fr.lunatech.timekeeper.timeutils;
 
-import fr.lunatech.timekeeper.models.time.TimeEntry;
 import fr.lunatech.timekeeper.models.time.TimeSheet;
 
 public class TimeSheetUtils {
@@ -29,14 +28,13 @@ public class TimeSheetUtils {
 
     public static Long computeLeftOver(TimeSheet sheet) {
         if (null != sheet.maxDuration && sheet.maxDuration > 0) {
-            // Early exit if no entry : left = maxDuration
-            if (sheet.entries == null || sheet.entries.isEmpty()) {
+            // Early exit if nothing was consumed : left = maxDuration
+            if (sheet.consumedHours == null || sheet.consumedHours == 0L) {
                 return sheet.maxDuration.longValue();
             }
 
-            long consumedHours = sheet.entries.stream()
-                    .mapToLong(TimeEntry::getRoundedNumberOfHours)
-                    .sum();
+            // Persisted total of the entries, the entries are not loaded
+            long consumedHours = sheet.consumedHours;
 
             // Compute what's left based on durationUnit type (see constant)
             if (sheet.durationUnit != null) {
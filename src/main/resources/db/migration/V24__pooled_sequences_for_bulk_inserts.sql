@@ -0,0 +1,23 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+-- The entities created in bulk get their ids from these sequences with the Hibernate pooled optimizer (see PooledSequenceGenerator)
+-- A sequence value is the upper bound of a block of ${id_allocation_size} ids, so that Hibernate can batch the inserts
+-- The increment must be equal to timekeeper.id.allocation-size
+alter sequence projects_users_id_seq increment by ${id_allocation_size};
+alter sequence timesheets_id_seq increment by ${id_allocation_size};
+alter sequence timeentries_id_seq increment by ${id_allocation_size};
+alter table user_events alter column id set increment by ${id_allocation_size};
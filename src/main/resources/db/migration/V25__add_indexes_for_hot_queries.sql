@@ -0,0 +1,34 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+-- Secondary indexes of the queries run by the services, checked by QueryPlanTest
+-- user_events(owner_id, startdatetime, enddatetime) already exists, see V23
+
+-- Timesheets of a user, and the timesheet of a user for a project
+create index idx_timesheets_user_id_project_id
+    ON timesheets (user_id, project_id);
+
+-- Entries of a timesheet for the week and month views
+create index idx_timeentries_timesheet_id_startdatetime
+    ON timeentries (timesheet_id, startdatetime);
+
+-- UserEvents (attendees) of an event template
+create index idx_user_events_eventtemplate_id
+    ON user_events (eventtemplate_id);
+
+-- UserEvents of an organization, paginated on the id
+create index idx_user_events_organization_id_id
+    ON user_events (organization_id, id);
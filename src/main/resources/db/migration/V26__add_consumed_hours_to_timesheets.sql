@@ -0,0 +1,27 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+-- Sum of the rounded hours of the entries of a timesheet, used to compute the leftOver without loading the entries
+-- Kept in sync by TimeEntryService, and recomputed by ConsumedHoursRepairJob
+ALTER TABLE timesheets ADD COLUMN consumedhours bigint not null default 0;
+
+UPDATE timesheets ts
+SET consumedhours = totals.hours
+FROM (SELECT te.timesheet_id, sum(floor(extract(epoch from (te.enddatetime - te.startdatetime)) / 3600)) as hours
+      FROM timeentries te
+      WHERE te.enddatetime >= te.startdatetime
+      GROUP BY te.timesheet_id) totals
+WHERE ts.id = totals.timesheet_id;
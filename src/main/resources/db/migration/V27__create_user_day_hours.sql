@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+-- Hours of a user for a day : time entries (by start date) and userEvents (split by day, see UserEvent.hoursPerDay)
+-- Kept in sync by DailyHoursService on the time entry and userEvent writes
+create table user_day_hours
+(
+    user_id     bigint not null
+        constraint fk_user_day_hours_users
+            references users
+            on delete cascade,
+    day         date   not null,
+    entry_hours bigint not null default 0,
+    event_hours bigint not null default 0,
+    constraint user_day_hours_pkey
+        primary key (user_id, day)
+);
+
+insert into user_day_hours (user_id, day, entry_hours)
+select ts.user_id, cast(te.startdatetime as date), sum(floor(extract(epoch from (te.enddatetime - te.startdatetime)) / 3600))
+from timeentries te
+         join timesheets ts on ts.id = te.timesheet_id
+where te.enddatetime >= te.startdatetime
+group by ts.user_id, cast(te.startdatetime as date);
+
+-- A userEvent on several days counts from its start to 5PM the first day, 8 hours the days in between
+-- and from 9AM to its end the last day
+insert into user_day_hours (user_id, day, event_hours)
+select hours.owner_id, hours.day, sum(hours.event_hours)
+from (select ue.owner_id,
+             cast(d as date) as day,
+             greatest(0, floor(extract(epoch from (
+                 case when cast(ue.enddatetime as date) = cast(d as date) then date_trunc('minute', ue.enddatetime)
+                      else cast(d as date) + time '17:00' end
+                 -
+                 case when cast(ue.startdatetime as date) = cast(d as date) then date_trunc('minute', ue.startdatetime)
+                      else cast(d as date) + time '09:00' end
+                 )) / 3600)) as event_hours
+      from user_events ue
+               cross join generate_series(cast(ue.startdatetime as date), cast(ue.enddatetime as date), interval '1 day') d
+      where ue.owner_id is not null
+        and ue.enddatetime >= ue.startdatetime) hours
+group by hours.owner_id, hours.day
+on conflict (user_id, day) do update set event_hours = excluded.event_hours;
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+-- Monthly snapshots of the billable and non billable hours per client, project and user, written by MonthlySnapshotJob
+-- once a month is closed. A snapshot is never updated : it is what was invoiced, even if the entries change afterwards.
+-- The ids are not foreign keys, a snapshot outlives the deletion of a project or a user.
+create table monthly_snapshots
+(
+    month      date      not null
+        constraint monthly_snapshots_pkey
+            primary key,
+    created_at timestamp not null default now()
+);
+
+create table monthly_hours
+(
+    month              date   not null
+        constraint fk_monthly_hours_monthly_snapshots
+            references monthly_snapshots,
+    organization_id    bigint not null,
+    client_id          bigint,
+    project_id         bigint not null,
+    user_id            bigint not null,
+    billable_hours     bigint not null,
+    non_billable_hours bigint not null,
+    constraint monthly_hours_pkey
+        primary key (month, project_id, user_id)
+);
+
+create index idx_monthly_hours_organization_id_month
+    ON monthly_hours (organization_id, month);
+
+create function forbid_snapshot_change() returns trigger as
+$$
+begin
+    raise exception 'The monthly snapshots are immutable';
+end;
+$$ language plpgsql;
+
+create trigger monthly_snapshots_immutable
+    before update or delete
+    on monthly_snapshots
+    for each row
+execute procedure forbid_snapshot_change();
+
+create trigger monthly_hours_immutable
+    before update or delete
+    on monthly_hours
+    for each row
+execute procedure forbid_snapshot_change();
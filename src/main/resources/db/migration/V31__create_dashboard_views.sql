@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+-- Materialized views of the organization dashboard, refreshed by DashboardRefreshJob (see DashboardService).
+-- The dashboard endpoints only read these views, never the tables written by the time entries and userEvents.
+-- A refresh concurrently needs a unique index on each view.
+
+-- Hours of the time entries per project and month, same hours and billable rules as ReportService
+create materialized view dashboard_project_hours as
+select p.organization_id,
+       p.id                                                                     as project_id,
+       p.name                                                                   as project_name,
+       cast(date_trunc('month', te.startdatetime) as date)                      as month,
+       sum(case when coalesce(p.billable and ts.defaultisbillable, false)
+                    then greatest(floor(extract(epoch from (te.enddatetime - te.startdatetime)) / 3600), 0)
+                else 0 end)                                                     as billable_hours,
+       sum(case when coalesce(p.billable and ts.defaultisbillable, false)
+                    then 0
+                else greatest(floor(extract(epoch from (te.enddatetime - te.startdatetime)) / 3600), 0) end) as non_billable_hours
+from timeentries te
+         join timesheets ts on ts.id = te.timesheet_id
+         join projects p on p.id = ts.project_id
+group by p.organization_id, p.id, p.name, cast(date_trunc('month', te.startdatetime) as date);
+
+create unique index dashboard_project_hours_pkey on dashboard_project_hours (project_id, month);
+create index dashboard_project_hours_organization_month on dashboard_project_hours (organization_id, month);
+
+-- Week days (monday to friday) covered by the userEvents, per week and event type
+create materialized view dashboard_absences as
+select u.organization_id,
+       cast(date_trunc('week', d) as date)      as week,
+       coalesce(ue.eventtype, 'PERSONAL')       as event_type,
+       count(distinct ue.owner_id)              as users,
+       count(distinct (ue.owner_id, cast(d as date))) as days
+from user_events ue
+         join users u on u.id = ue.owner_id
+         cross join generate_series(cast(ue.startdatetime as date), cast(ue.enddatetime as date), interval '1 day') d
+where ue.enddatetime >= ue.startdatetime
+  and extract(isodow from d) < 6
+group by u.organization_id, cast(date_trunc('week', d) as date), coalesce(ue.eventtype, 'PERSONAL');
+
+create unique index dashboard_absences_pkey on dashboard_absences (organization_id, week, event_type);
+
+-- Hours of the time entries and userEvents per week, and the members of the organization, to compute the fill rate
+create materialized view dashboard_fill_rate as
+select u.organization_id,
+       cast(date_trunc('week', d.day) as date)  as week,
+       members.members,
+       sum(d.entry_hours + d.event_hours)       as filled_hours
+from user_day_hours d
+         join users u on u.id = d.user_id
+         join (select organization_id, count(*) as members from users group by organization_id) members
+              on members.organization_id = u.organization_id
+where extract(isodow from d.day) < 6
+group by u.organization_id, cast(date_trunc('week', d.day) as date), members.members;
+
+create unique index dashboard_fill_rate_pkey on dashboard_fill_rate (organization_id, week);
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+-- Business days of absence of a user per year and event type (see AbsenceCounterService)
+-- Kept in sync on the userEvent writes, and rebuilt with the public holidays of the calendar by AbsenceCountersRepairJob
+create table user_absence_days
+(
+    user_id    bigint      not null
+        constraint fk_user_absence_days_users
+            references users
+            on delete cascade,
+    year       integer     not null,
+    event_type varchar(50) not null,
+    days       bigint      not null default 0,
+    constraint user_absence_days_pkey
+        primary key (user_id, year, event_type)
+);
+
+-- Monday to friday of the existing userEvents, the public holidays are deducted by the first run of the repair job
+insert into user_absence_days (user_id, year, event_type, days)
+select ue.owner_id, extract(year from d), coalesce(ue.eventtype, 'PERSONAL'), count(*)
+from user_events ue
+         cross join generate_series(cast(ue.startdatetime as date), cast(ue.enddatetime as date), interval '1 day') d
+where ue.owner_id is not null
+  and ue.enddatetime >= ue.startdatetime
+  and extract(isodow from d) < 6
+group by ue.owner_id, extract(year from d), coalesce(ue.eventtype, 'PERSONAL');
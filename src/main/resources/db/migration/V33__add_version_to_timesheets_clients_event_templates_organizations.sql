@@ -0,0 +1,21 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+-- Optimistic locking and entity tags (see VersionTag) : the existing rows start at version 0
+alter table timesheets add column version bigint not null default 0;
+alter table clients add column version bigint not null default 0;
+alter table event_template add column version bigint not null default 0;
+alter table organizations add column version bigint not null default 0;
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.gauges;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DashboardRefreshGaugeTest {
+
+    @Test
+    void shouldBeZeroBeforeTheFirstRefresh() {
+        final DashboardRefreshGauge dashboardRefreshGauge = new DashboardRefreshGauge();
+        assertEquals(0L, dashboardRefreshGauge.lastRefreshTime().longValue());
+        assertEquals(0L, dashboardRefreshGauge.lastRefreshDuration().longValue());
+    }
+
+    @Test
+    void shouldKeepTheLastRefresh() {
+        final DashboardRefreshGauge dashboardRefreshGauge = new DashboardRefreshGauge();
+        dashboardRefreshGauge.refreshed(1000L, 20L);
+        dashboardRefreshGauge.refreshed(2000L, 30L);
+        assertEquals(2000L, dashboardRefreshGauge.lastRefreshTime().longValue());
+        assertEquals(30L, dashboardRefreshGauge.lastRefreshDuration().longValue());
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.resources;
+
+import fr.lunatech.timekeeper.services.DashboardService;
+import fr.lunatech.timekeeper.services.requests.ClientRequest;
+import fr.lunatech.timekeeper.services.requests.ProjectRequest;
+import fr.lunatech.timekeeper.services.requests.TimeEntryRequest;
+import fr.lunatech.timekeeper.services.requests.UserEventRequest;
+import fr.lunatech.timekeeper.services.responses.ClientResponse;
+import fr.lunatech.timekeeper.testcontainers.KeycloakTestResource;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static fr.lunatech.timekeeper.resources.utils.ResourceDefinition.DashboardAbsencesDef;
+import static fr.lunatech.timekeeper.resources.utils.ResourceDefinition.DashboardFillRateDef;
+import static fr.lunatech.timekeeper.resources.utils.ResourceDefinition.DashboardProjectHoursDef;
+import static fr.lunatech.timekeeper.resources.utils.ResourceFactory.create;
+import static fr.lunatech.timekeeper.resources.utils.ResourceValidation.getValidation;
+import static fr.lunatech.timekeeper.testcontainers.KeycloakTestResource.getAdminAccessToken;
+import static fr.lunatech.timekeeper.testcontainers.KeycloakTestResource.getUserAccessToken;
+import static javax.ws.rs.core.Response.Status.FORBIDDEN;
+import static javax.ws.rs.core.Response.Status.OK;
+import static org.hamcrest.CoreMatchers.is;
+
+@QuarkusTest
+@QuarkusTestResource(KeycloakTestResource.class)
+@Tag("integration")
+class DashboardResourceTest {
+
+    @Inject
+    Flyway flyway;
+
+    @Inject
+    DashboardService dashboardService;
+
+    @AfterEach
+    void cleanDB() {
+        flyway.clean();
+        flyway.migrate();
+    }
+
+    @Test
+    void shouldReadTheDashboardAsOfTheLastRefresh() {
+        final String adminToken = getAdminAccessToken();
+        final String jimmyToken = getUserAccessToken();
+        create(adminToken);
+        final var jimmy = create(jimmyToken);
+        final ClientResponse client = create(new ClientRequest("NewClient", "NewDescription"), adminToken);
+        final List<ProjectRequest.ProjectUserRequest> newUsers = List.of(new ProjectRequest.ProjectUserRequest(jimmy.getId(), false));
+        final var project = create(new ProjectRequest("Some Project", true, "some description", client.getId(), true, newUsers, 1L), adminToken);
+
+        create(1L, new TimeEntryRequest("Tuesday", LocalDateTime.of(2020, 1, 7, 9, 0), 8), jimmyToken);
+        create(new UserEventRequest(jimmy.getId(), "Vacations", "Two days", LocalDateTime.of(2020, 1, 8, 9, 0),
+                LocalDateTime.of(2020, 1, 9, 17, 0), jimmy.getId()), adminToken);
+
+        getValidation(DashboardProjectHoursDef.uriWithArgs("2020-01-01", "2020-01-31"), adminToken)
+                .statusCode(is(OK.getStatusCode()))
+                .body("size()", is(0));
+
+        dashboardService.refresh();
+
+        getValidation(DashboardProjectHoursDef.uriWithArgs("2020-01-01", "2020-01-31"), adminToken)
+                .statusCode(is(OK.getStatusCode()))
+                .body("size()", is(1))
+                .body("[0].projectId", is(project.getId().intValue()))
+                .body("[0].month", is("2020-01-01"))
+                .body("[0].billableHours", is(8))
+                .body("[0].nonBillableHours", is(0));
+
+        getValidation(DashboardAbsencesDef.uriWithArgs("2020-01-01", "2020-01-31"), adminToken)
+                .statusCode(is(OK.getStatusCode()))
+                .body("size()", is(1))
+                .body("[0].week", is("2020-01-06"))
+                .body("[0].eventType", is("PERSONAL"))
+                .body("[0].users", is(1))
+                .body("[0].days", is(2));
+
+        getValidation(DashboardFillRateDef.uriWithArgs("2020-01-01", "2020-01-31"), adminToken)
+                .statusCode(is(OK.getStatusCode()))
+                .body("size()", is(1))
+                .body("[0].week", is("2020-01-06"))
+                .body("[0].members", is(2))
+                .body("[0].filledHours", is(24))
+                .body("[0].expectedHours", is(80));
+    }
+
+    @Test
+    void shouldNotReadTheDashboardForAUser() {
+        final String jimmyToken = getUserAccessToken();
+        create(jimmyToken);
+
+        getValidation(DashboardFillRateDef.uriWithArgs("2020-01-01", "2020-01-31"), jimmyToken)
+                .statusCode(is(FORBIDDEN.getStatusCode()));
+    }
+}
@@ -20,6 +20,7 @@ import fr.lunatech.timekeeper.resources.utils.HttpTestRuntimeException;
 import fr.lunatech.timekeeper.resources.utils.TimeKeeperTestUtils;
 import fr.lunatech.timekeeper.services.requests.ClientRequest;
 import fr.lunatech.timekeeper.services.requests.ProjectRequest;
+import fr.lunatech.timekeeper.services.requests.TimeEntryRequest;
 import fr.lunatech.timekeeper.services.requests.TimeSheetRequest;
 import fr.lunatech.timekeeper.services.responses.ProjectResponse;
 import fr.lunatech.timekeeper.services.responses.TimeSheetResponse;
@@ -34,11 +35,13 @@ import org.junit.jupiter.api.Test;
 
 import javax.inject.Inject;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static fr.lunatech.timekeeper.resources.providers.PaginationProvider.NEXT_CURSOR;
 import static fr.lunatech.timekeeper.resources.utils.ResourceDefinition.*;
 import static fr.lunatech.timekeeper.resources.utils.ResourceFactory.create;
 import static fr.lunatech.timekeeper.resources.utils.ResourceFactory.update;
@@ -52,7 +55,9 @@ import static java.util.Collections.emptyList;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.Response.Status.*;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 @QuarkusTest
 
@@ -161,6 +166,60 @@ class ProjectResourceTest {
         getValidation(ProjectDef.uriPlusId(originalProject.getId()), adminToken).body(is(timeKeeperTestUtils.toJson(expectedUpdatedProject))).statusCode(is(OK.getStatusCode()));
     }
 
+    @Test
+    void shouldNotReturnAnUnmodifiedProjectUntilItIsUpdated() {
+        // GIVEN
+        final String adminToken = getAdminAccessToken();
+        final var client = create(new ClientRequest("Client 12", "New Description 1"), adminToken);
+        final var project = create(new ProjectRequest("Some Project 12", true, "some description", client.getId(), true, emptyList(), 1L), adminToken);
+        final String entityTag = getValidation(ProjectDef.uriPlusId(project.getId()), adminToken).statusCode(is(OK.getStatusCode())).extract().header("ETag");
+
+        // THEN
+        given().auth().preemptive().oauth2(adminToken).header("If-None-Match", entityTag)
+                .when().get(ProjectDef.uriPlusId(project.getId()))
+                .then().statusCode(is(NOT_MODIFIED.getStatusCode()));
+
+        // WHEN
+        update(new ProjectRequest("Some Project 12 updated", true, "some description", client.getId(), true, emptyList(), 1L), ProjectDef.uriPlusId(project.getId()), adminToken);
+
+        // THEN
+        given().auth().preemptive().oauth2(adminToken).header("If-None-Match", entityTag)
+                .when().get(ProjectDef.uriPlusId(project.getId()))
+                .then().statusCode(is(OK.getStatusCode()));
+    }
+
+    @Test
+    void shouldChangeTheTagOfAProjectWhenAMemberIsAddedOrRemoved() {
+        // GIVEN
+        final String adminToken = getAdminAccessToken();
+        final String jimmyToken = getUserAccessToken();
+        create(adminToken);
+        final var jimmy = create(jimmyToken);
+        final var client = create(new ClientRequest("Client 13", "New Description 1"), adminToken);
+        final var project = create(new ProjectRequest("Some Project 13", true, "some description", client.getId(), true, emptyList(), 1L), adminToken);
+        final String withoutMember = getValidation(ProjectDef.uriPlusId(project.getId()), adminToken).statusCode(is(OK.getStatusCode())).extract().header("ETag");
+
+        // WHEN a member is added
+        update(new ProjectRequest("Some Project 13", true, "some description", client.getId(), true,
+                List.of(new ProjectRequest.ProjectUserRequest(jimmy.getId(), false)), 1L), ProjectDef.uriPlusId(project.getId()), adminToken);
+
+        // THEN
+        final String withMember = given().auth().preemptive().oauth2(adminToken).header("If-None-Match", withoutMember)
+                .when().get(ProjectDef.uriPlusId(project.getId()))
+                .then().statusCode(is(OK.getStatusCode()))
+                .extract().header("ETag");
+
+        // WHEN the member is removed
+        update(new ProjectRequest("Some Project 13", true, "some description", client.getId(), true, emptyList(), 2L), ProjectDef.uriPlusId(project.getId()), adminToken);
+
+        // THEN
+        final String afterRemoval = given().auth().preemptive().oauth2(adminToken).header("If-None-Match", withMember)
+                .when().get(ProjectDef.uriPlusId(project.getId()))
+                .then().statusCode(is(OK.getStatusCode()))
+                .extract().header("ETag");
+        assertNotEquals(withoutMember, afterRemoval);
+    }
+
     @Test
     void shouldNotModifyProjectAsUserNotInProject() {
         // GIVEN
@@ -931,4 +990,97 @@ class ProjectResourceTest {
 
         getValidation(ProjectDef.uri, userToken).body(is(timeKeeperTestUtils.listOfTasJson(expectedUpdatedProject))).statusCode(is(OK.getStatusCode()));
     }
+
+    @Test
+    void shouldPaginateProjectsWithACursor() {
+        final String adminToken = getAdminAccessToken();
+
+        final var client = create(new ClientRequest("Client 10", "This is a client for test"), adminToken);
+        final var project1 = create(new ProjectRequest("Some Project 1", true, "some description", client.getId(), true, emptyList(), 1L), adminToken);
+        final var project2 = create(new ProjectRequest("Some Project 2", true, "some description", client.getId(), true, emptyList(), 1L), adminToken);
+        final var project3 = create(new ProjectRequest("Some Project 3", true, "some description", client.getId(), true, emptyList(), 1L), adminToken);
+
+        getValidation(ProjectDef.uri + "?limit=2", adminToken)
+                .body(is(timeKeeperTestUtils.listOfTasJson(project1, project2)))
+                .header(NEXT_CURSOR, is(project2.getId().toString()))
+                .statusCode(is(OK.getStatusCode()));
+
+        getValidation(ProjectDef.uri + "?limit=2&after=" + project2.getId(), adminToken)
+                .body(is(timeKeeperTestUtils.listOfTasJson(project3)))
+                .header(NEXT_CURSOR, nullValue())
+                .statusCode(is(OK.getStatusCode()));
+    }
+
+    @Test
+    void shouldNotPaginateProjectsWithAnInvalidPageSize() {
+        final String adminToken = getAdminAccessToken();
+        getValidation(ProjectDef.uri + "?limit=0", adminToken).statusCode(is(BAD_REQUEST.getStatusCode()));
+    }
+
+    @Test
+    void shouldComputeTheBurnDownOfAProject() {
+        final String adminToken = getAdminAccessToken();
+        final String jimmyToken = getUserAccessToken();
+        create(adminToken);
+        final var jimmy = create(jimmyToken);
+        final var client = create(new ClientRequest("NewClient", "NewDescription"), adminToken);
+        final var project = create(new ProjectRequest("Some Project", true, "some description", client.getId(), true,
+                List.of(new ProjectRequest.ProjectUserRequest(jimmy.getId(), false)), 1L), adminToken);
+
+        // A budget of 10 days, 80 hours
+        update(new TimeSheetRequest(TimeUnit.HOURLY, true, null, 10, TimeUnit.DAY, LocalDate.now()), TimeSheetDef.uriPlusId(1L), jimmyToken);
+        create(1L, new TimeEntryRequest("Before the burn-down", LocalDateTime.of(2020, 6, 15, 9, 0), 8), jimmyToken);
+        create(1L, new TimeEntryRequest("A day", LocalDateTime.of(2020, 6, 18, 9, 0), 8), jimmyToken);
+        create(1L, new TimeEntryRequest("Half a day", LocalDateTime.of(2020, 6, 19, 9, 0), 4), jimmyToken);
+
+        getValidation(ProjectBurnDownDef.uriWithArgs(project.getId(), "2020-06-17", "2020-06-30", "day"), adminToken)
+                .statusCode(is(OK.getStatusCode()))
+                .body("total.budgetHours", is(80))
+                .body("total.points.size()", is(2))
+                .body("total.points[1].date", is("2020-06-19"))
+                .body("total.points[1].cumulativeHours", is(20))
+                .body("total.points[1].remainingHours", is(60))
+                .body("members.size()", is(1))
+                .body("members[0].userId", is(jimmy.getId().intValue()))
+                .body("members[0].points[0].date", is("2020-06-18"))
+                .body("members[0].points[0].hours", is(8))
+                .body("members[0].points[0].cumulativeHours", is(16));
+
+        getValidation(ProjectBurnDownDef.uriWithArgs(project.getId(), "2020-06-17", "2020-06-30", "week"), adminToken)
+                .statusCode(is(OK.getStatusCode()))
+                .body("total.points.size()", is(1))
+                .body("total.points[0].date", is("2020-06-15"))
+                .body("total.points[0].hours", is(12));
+    }
+
+    @Test
+    void shouldNotComputeTheBudgetOfTheBurnDownWhenAMemberHasNone() {
+        final String adminToken = getAdminAccessToken();
+        final String jimmyToken = getUserAccessToken();
+        final var sam = create(adminToken);
+        final var jimmy = create(jimmyToken);
+        final var client = create(new ClientRequest("NewClient", "NewDescription"), adminToken);
+        final var project = create(new ProjectRequest("Some Project", true, "some description", client.getId(), true,
+                List.of(new ProjectRequest.ProjectUserRequest(jimmy.getId(), false), new ProjectRequest.ProjectUserRequest(sam.getId(), true)), 1L), adminToken);
+
+        // Only the timesheet of jimmy has a budget, of 10 days
+        update(new TimeSheetRequest(TimeUnit.HOURLY, true, null, 10, TimeUnit.DAY, LocalDate.now()), TimeSheetDef.uriPlusId(1L), jimmyToken);
+        create(1L, new TimeEntryRequest("A day", LocalDateTime.of(2020, 6, 18, 9, 0), 8), jimmyToken);
+
+        getValidation(ProjectBurnDownDef.uriWithArgs(project.getId(), "2020-06-17", "2020-06-30", "day"), adminToken)
+                .statusCode(is(OK.getStatusCode()))
+                .body("total.budgetHours", nullValue())
+                .body("total.points[0].cumulativeHours", is(8))
+                .body("total.points[0].remainingHours", nullValue())
+                .body("members.find { it.userId == " + jimmy.getId() + " }.budgetHours", is(80))
+                .body("members.find { it.userId == " + sam.getId() + " }.budgetHours", nullValue());
+    }
+
+    @Test
+    void shouldNotComputeTheBurnDownWithAnInvalidGranularity() {
+        final String adminToken = getAdminAccessToken();
+        create(adminToken);
+        getValidation(ProjectBurnDownDef.uriWithArgs(1L, "2020-06-17", "2020-06-30", "year"), adminToken)
+                .statusCode(is(BAD_REQUEST.getStatusCode()));
+    }
 }
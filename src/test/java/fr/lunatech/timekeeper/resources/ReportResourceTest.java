@@ -0,0 +1,215 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.resources;
+
+import fr.lunatech.timekeeper.services.MonthlySnapshotService;
+import fr.lunatech.timekeeper.services.requests.ClientRequest;
+import fr.lunatech.timekeeper.services.requests.ProjectRequest;
+import fr.lunatech.timekeeper.services.requests.TimeEntryRequest;
+import fr.lunatech.timekeeper.services.responses.ClientResponse;
+import fr.lunatech.timekeeper.testcontainers.KeycloakTestResource;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static fr.lunatech.timekeeper.resources.utils.ResourceDefinition.ReportHoursDef;
+import static fr.lunatech.timekeeper.resources.utils.ResourceDefinition.ReportMissingDaysDef;
+import static fr.lunatech.timekeeper.resources.utils.ResourceDefinition.ReportTimeEntriesDef;
+import static fr.lunatech.timekeeper.resources.utils.ResourceFactory.create;
+import static fr.lunatech.timekeeper.resources.utils.ResourceValidation.getValidation;
+import static fr.lunatech.timekeeper.testcontainers.KeycloakTestResource.getAdminAccessToken;
+import static fr.lunatech.timekeeper.testcontainers.KeycloakTestResource.getUserAccessToken;
+import static io.restassured.RestAssured.given;
+import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
+import static javax.ws.rs.core.Response.Status.FORBIDDEN;
+import static javax.ws.rs.core.Response.Status.OK;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@QuarkusTestResource(KeycloakTestResource.class)
+@Tag("integration")
+class ReportResourceTest {
+
+    @Inject
+    Flyway flyway;
+
+    @Inject
+    MonthlySnapshotService monthlySnapshotService;
+
+    @AfterEach
+    void cleanDB() {
+        flyway.clean();
+        flyway.migrate();
+    }
+
+    @Test
+    void shouldReportTheHoursGroupedByProjectAndMonth() {
+        final String adminToken = getAdminAccessToken();
+        final String jimmyToken = getUserAccessToken();
+        create(adminToken);
+        final var jimmy = create(jimmyToken);
+        final ClientResponse client = create(new ClientRequest("NewClient", "NewDescription"), adminToken);
+        final List<ProjectRequest.ProjectUserRequest> newUsers = List.of(new ProjectRequest.ProjectUserRequest(jimmy.getId(), false));
+        final var project = create(new ProjectRequest("Some Project", true, "some description", client.getId(), true, newUsers, 1L), adminToken);
+
+        create(1L, new TimeEntryRequest("A day", LocalDateTime.of(2020, 1, 1, 9, 0), 8), jimmyToken);
+        create(1L, new TimeEntryRequest("Half a day", LocalDateTime.of(2020, 1, 31, 9, 0), 4), jimmyToken);
+        create(1L, new TimeEntryRequest("Next month", LocalDateTime.of(2020, 2, 3, 9, 0), 8), jimmyToken);
+
+        getValidation(ReportHoursDef.uriWithArgs("2020-01-01", "2020-01-31", "project,month"), adminToken)
+                .statusCode(is(OK.getStatusCode()))
+                .body("rows.size()", is(1))
+                .body("rows[0].projectId", is(project.getId().intValue()))
+                .body("rows[0].projectName", is("Some Project"))
+                .body("rows[0].period", is("2020-01-01"))
+                .body("rows[0].userId", nullValue())
+                .body("rows[0].hours", is(12))
+                .body("totalHours", is(12));
+
+        getValidation(ReportHoursDef.uriWithArgs("2020-01-01", "2020-02-29", "user,billable,month"), adminToken)
+                .statusCode(is(OK.getStatusCode()))
+                .body("rows.size()", is(2))
+                .body("rows[0].userId", is(jimmy.getId().intValue()))
+                .body("rows[0].billable", is(true))
+                .body("rows[1].period", is("2020-02-01"))
+                .body("rows[1].hours", is(8));
+    }
+
+    @Test
+    void shouldNotReportTheHoursForAUser() {
+        final String jimmyToken = getUserAccessToken();
+        create(jimmyToken);
+
+        getValidation(ReportHoursDef.uriWithArgs("2020-01-01", "2020-01-31", "project"), jimmyToken)
+                .statusCode(is(FORBIDDEN.getStatusCode()));
+    }
+
+    @Test
+    void shouldRejectAnUnknownDimension() {
+        final String adminToken = getAdminAccessToken();
+        create(adminToken);
+
+        getValidation(ReportHoursDef.uriWithArgs("2020-01-01", "2020-01-31", "project,year"), adminToken)
+                .statusCode(is(BAD_REQUEST.getStatusCode()));
+    }
+
+    @Test
+    void shouldExportTheTimeEntriesAsCsv() {
+        final String adminToken = getAdminAccessToken();
+        final String jimmyToken = getUserAccessToken();
+        create(adminToken);
+        final var jimmy = create(jimmyToken);
+        final ClientResponse client = create(new ClientRequest("NewClient", "NewDescription"), adminToken);
+        final List<ProjectRequest.ProjectUserRequest> newUsers = List.of(new ProjectRequest.ProjectUserRequest(jimmy.getId(), false));
+        create(new ProjectRequest("Some Project", true, "some description", client.getId(), true, newUsers, 1L), adminToken);
+
+        create(1L, new TimeEntryRequest("Tests, and \"quotes\"", LocalDateTime.of(2020, 1, 1, 9, 0), 8), jimmyToken);
+        create(1L, new TimeEntryRequest("Next month", LocalDateTime.of(2020, 2, 3, 9, 0), 8), jimmyToken);
+
+        final String csv = given()
+                .auth().preemptive().oauth2(adminToken)
+                .accept("text/csv")
+                .when()
+                .get(ReportTimeEntriesDef.uriWithArgs("2020-01-01", "2020-01-31"))
+                .then()
+                .statusCode(is(OK.getStatusCode()))
+                .header("Content-Disposition", containsString("time-entries-2020-01-01-2020-01-31.csv"))
+                .extract().asString();
+
+        final String[] lines = csv.split("\r\n");
+        assertEquals(2, lines.length);
+        assertEquals("user,project,client,start,hours,comment,billable", lines[0]);
+        assertTrue(lines[1].endsWith(",Some Project,NewClient,2020-01-01T09:00,8,\"Tests, and \"\"quotes\"\"\",true"), lines[1]);
+    }
+
+    @Test
+    void shouldReportAClosedMonthFromItsSnapshot() {
+        final String adminToken = getAdminAccessToken();
+        final String jimmyToken = getUserAccessToken();
+        create(adminToken);
+        final var jimmy = create(jimmyToken);
+        final ClientResponse client = create(new ClientRequest("NewClient", "NewDescription"), adminToken);
+        final List<ProjectRequest.ProjectUserRequest> newUsers = List.of(new ProjectRequest.ProjectUserRequest(jimmy.getId(), false));
+        create(new ProjectRequest("Some Project", true, "some description", client.getId(), true, newUsers, 1L), adminToken);
+        create(1L, new TimeEntryRequest("A day", LocalDateTime.of(2020, 1, 1, 9, 0), 8), jimmyToken);
+
+        assertTrue(monthlySnapshotService.snapshot(YearMonth.of(2020, 1)));
+        assertFalse(monthlySnapshotService.snapshot(YearMonth.of(2020, 1)));
+
+        // An entry added after the snapshot is not reported for the snapshotted month
+        create(1L, new TimeEntryRequest("Too late", LocalDateTime.of(2020, 1, 2, 9, 0), 4), jimmyToken);
+
+        getValidation(ReportHoursDef.uriWithArgs("2020-01-01", "2020-01-31", "client,user,billable,month"), adminToken)
+                .statusCode(is(OK.getStatusCode()))
+                .body("rows.size()", is(1))
+                .body("rows[0].clientName", is("NewClient"))
+                .body("rows[0].userId", is(jimmy.getId().intValue()))
+                .body("rows[0].billable", is(true))
+                .body("rows[0].period", is("2020-01-01"))
+                .body("rows[0].hours", is(8));
+
+        // A report by day reads the entries
+        getValidation(ReportHoursDef.uriWithArgs("2020-01-01", "2020-01-31", "day"), adminToken)
+                .statusCode(is(OK.getStatusCode()))
+                .body("totalHours", is(12));
+    }
+
+    @Test
+    void shouldCatchUpTheMonthsWithoutSnapshot() {
+        assertEquals(List.of(YearMonth.of(2020, 4)), monthlySnapshotService.findMonthsToSnapshot(YearMonth.of(2020, 4)));
+
+        assertTrue(monthlySnapshotService.snapshot(YearMonth.of(2020, 1)));
+
+        assertEquals(List.of(YearMonth.of(2020, 2), YearMonth.of(2020, 3), YearMonth.of(2020, 4)),
+                monthlySnapshotService.findMonthsToSnapshot(YearMonth.of(2020, 4)));
+        assertEquals(List.of(), monthlySnapshotService.findMonthsToSnapshot(YearMonth.of(2020, 1)));
+    }
+
+    @Test
+    void shouldFindTheBusinessDaysThatAreNotFilled() {
+        final String adminToken = getAdminAccessToken();
+        final String jimmyToken = getUserAccessToken();
+        create(adminToken);
+        final var jimmy = create(jimmyToken);
+        final ClientResponse client = create(new ClientRequest("NewClient", "NewDescription"), adminToken);
+        final List<ProjectRequest.ProjectUserRequest> newUsers = List.of(new ProjectRequest.ProjectUserRequest(jimmy.getId(), false));
+        create(new ProjectRequest("Some Project", true, "some description", client.getId(), true, newUsers, 1L), adminToken);
+
+        // The week of the 13th of July 2020 has 4 business days, the 14th is a public holiday
+        create(1L, new TimeEntryRequest("A day", LocalDateTime.of(2020, 7, 13, 9, 0), 8), jimmyToken);
+        create(1L, new TimeEntryRequest("A day", LocalDateTime.of(2020, 7, 15, 9, 0), 8), jimmyToken);
+        create(1L, new TimeEntryRequest("Half a day", LocalDateTime.of(2020, 7, 16, 9, 0), 4), jimmyToken);
+
+        getValidation(ReportMissingDaysDef.uriWithArgs("2020-07-13", "2020-07-19"), adminToken)
+                .statusCode(is(OK.getStatusCode()))
+                .body("find { it.userId == " + jimmy.getId() + " }.missingDays", is(List.of("2020-07-16", "2020-07-17")));
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.resources;
+
+import fr.lunatech.timekeeper.services.requests.ClientRequest;
+import fr.lunatech.timekeeper.services.requests.ProjectRequest;
+import fr.lunatech.timekeeper.services.requests.TimeEntryRequest;
+import fr.lunatech.timekeeper.services.responses.ClientResponse;
+import fr.lunatech.timekeeper.testcontainers.KeycloakTestResource;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static fr.lunatech.timekeeper.resources.utils.ResourceDefinition.ProjectTeamWeekDef;
+import static fr.lunatech.timekeeper.resources.utils.ResourceDefinition.TeamWeekDef;
+import static fr.lunatech.timekeeper.resources.utils.ResourceFactory.create;
+import static fr.lunatech.timekeeper.resources.utils.ResourceValidation.getValidation;
+import static fr.lunatech.timekeeper.testcontainers.KeycloakTestResource.getAdminAccessToken;
+import static fr.lunatech.timekeeper.testcontainers.KeycloakTestResource.getUserAccessToken;
+import static javax.ws.rs.core.Response.Status.FORBIDDEN;
+import static javax.ws.rs.core.Response.Status.NOT_FOUND;
+import static javax.ws.rs.core.Response.Status.OK;
+import static org.hamcrest.CoreMatchers.is;
+
+@QuarkusTest
+@QuarkusTestResource(KeycloakTestResource.class)
+@Tag("integration")
+class TeamResourceTest {
+
+    @Inject
+    Flyway flyway;
+
+    @AfterEach
+    void cleanDB() {
+        flyway.clean();
+        flyway.migrate();
+    }
+
+    @Test
+    void shouldReturnTheWeekOfTheOrganizationForAnAdmin() {
+        final String adminToken = getAdminAccessToken();
+        final String jimmyToken = getUserAccessToken();
+        final var admin = create(adminToken);
+        final var jimmy = create(jimmyToken);
+        final ClientResponse client = create(new ClientRequest("NewClient", "NewDescription"), adminToken);
+        final List<ProjectRequest.ProjectUserRequest> newUsers = List.of(new ProjectRequest.ProjectUserRequest(jimmy.getId(), false));
+        final var project = create(new ProjectRequest("Some Project", true, "some description", client.getId(), true, newUsers, 1L), adminToken);
+
+        create(1L, new TimeEntryRequest("Tuesday", LocalDateTime.of(2020, 1, 7, 9, 0), 8), jimmyToken);
+        create(1L, new TimeEntryRequest("Next week", LocalDateTime.of(2020, 1, 13, 9, 0), 8), jimmyToken);
+
+        getValidation(TeamWeekDef.uriWithMultiInt(2020, 2), adminToken)
+                .statusCode(is(OK.getStatusCode()))
+                .body("firstDayOfWeek", is("2020-01-06"))
+                .body("members.size()", is(2))
+                .body("members[0].userId", is(admin.getId().intValue()))
+                .body("members[0].entries.size()", is(0))
+                .body("members[1].userId", is(jimmy.getId().intValue()))
+                .body("members[1].hours", is(List.of(0, 8, 0, 0, 0, 0, 0)))
+                .body("members[1].entries.size()", is(1))
+                .body("members[1].entries[0].comment", is("Tuesday"))
+                .body("members[1].entries[0].projectId", is(project.getId().intValue()))
+                .body("projects.'" + project.getId() + "'", is("Some Project"));
+    }
+
+    @Test
+    void shouldReturnTheWeekOfAProjectForItsManager() {
+        final String adminToken = getAdminAccessToken();
+        final String jimmyToken = getUserAccessToken();
+        create(adminToken);
+        final var jimmy = create(jimmyToken);
+        final ClientResponse client = create(new ClientRequest("NewClient", "NewDescription"), adminToken);
+        final var managed = create(new ProjectRequest("Managed", true, "some description", client.getId(), true,
+                List.of(new ProjectRequest.ProjectUserRequest(jimmy.getId(), true)), 1L), adminToken);
+        final var notManaged = create(new ProjectRequest("Not managed", true, "some description", client.getId(), true,
+                List.of(new ProjectRequest.ProjectUserRequest(jimmy.getId(), false)), 1L), adminToken);
+
+        getValidation(ProjectTeamWeekDef.uriWithMultiId(2020L, 2L, managed.getId()), jimmyToken)
+                .statusCode(is(OK.getStatusCode()))
+                .body("members.size()", is(1))
+                .body("members[0].userId", is(jimmy.getId().intValue()));
+
+        getValidation(ProjectTeamWeekDef.uriWithMultiId(2020L, 2L, notManaged.getId()), jimmyToken)
+                .statusCode(is(FORBIDDEN.getStatusCode()));
+    }
+
+    @Test
+    void shouldOnlyReturnTheEntriesOfTheProjectToItsManager() {
+        final String adminToken = getAdminAccessToken();
+        final String jimmyToken = getUserAccessToken();
+        create(adminToken);
+        final var jimmy = create(jimmyToken);
+        final ClientResponse client = create(new ClientRequest("NewClient", "NewDescription"), adminToken);
+        final var managed = create(new ProjectRequest("Managed", true, "some description", client.getId(), true,
+                List.of(new ProjectRequest.ProjectUserRequest(jimmy.getId(), true)), 1L), adminToken);
+        create(new ProjectRequest("Confidential", true, "some description", client.getId(), false,
+                List.of(new ProjectRequest.ProjectUserRequest(jimmy.getId(), false)), 1L), adminToken);
+
+        create(1L, new TimeEntryRequest("On the managed project", LocalDateTime.of(2020, 1, 7, 9, 0), 4), jimmyToken);
+        create(2L, new TimeEntryRequest("On the confidential project", LocalDateTime.of(2020, 1, 7, 13, 0), 4), jimmyToken);
+
+        getValidation(ProjectTeamWeekDef.uriWithMultiId(2020L, 2L, managed.getId()), jimmyToken)
+                .statusCode(is(OK.getStatusCode()))
+                .body("members[0].hours", is(List.of(0, 8, 0, 0, 0, 0, 0)))
+                .body("members[0].entries.size()", is(1))
+                .body("members[0].entries[0].comment", is("On the managed project"))
+                .body("projects.size()", is(1))
+                .body("projects.'" + managed.getId() + "'", is("Managed"));
+    }
+
+    @Test
+    void shouldNotReturnTheWeekOfTheOrganizationForAUser() {
+        final String jimmyToken = getUserAccessToken();
+        create(jimmyToken);
+
+        getValidation(TeamWeekDef.uriWithMultiInt(2020, 2), jimmyToken)
+                .statusCode(is(FORBIDDEN.getStatusCode()));
+    }
+
+    @Test
+    void shouldNotFindTheWeekOfAnUnknownProject() {
+        final String adminToken = getAdminAccessToken();
+        create(adminToken);
+
+        getValidation(ProjectTeamWeekDef.uriWithMultiId(2020L, 2L, 42L), adminToken)
+                .statusCode(is(NOT_FOUND.getStatusCode()));
+    }
+}
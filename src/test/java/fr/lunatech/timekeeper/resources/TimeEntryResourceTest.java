@@ -16,8 +16,10 @@
 
 package fr.lunatech.timekeeper.resources;
 
+import fr.lunatech.timekeeper.models.time.TimeSheet;
 import fr.lunatech.timekeeper.resources.utils.HttpTestRuntimeException;
 import fr.lunatech.timekeeper.resources.utils.TimeKeeperTestUtils;
+import fr.lunatech.timekeeper.services.TimeSheetService;
 import fr.lunatech.timekeeper.services.requests.ClientRequest;
 import fr.lunatech.timekeeper.services.requests.ProjectRequest;
 import fr.lunatech.timekeeper.services.requests.TimeEntryRequest;
@@ -39,6 +41,7 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 
+import static fr.lunatech.timekeeper.resources.utils.ResourceDefinition.TeamWeekDef;
 import static fr.lunatech.timekeeper.resources.utils.ResourceDefinition.TimeEntryDef;
 import static fr.lunatech.timekeeper.resources.utils.ResourceDefinition.TimeSheetPerProjectPerUserDef;
 import static fr.lunatech.timekeeper.resources.utils.ResourceFactory.create;
@@ -65,6 +68,9 @@ class TimeEntryResourceTest {
     @Inject
     TimeKeeperTestUtils timeKeeperTestUtils;
 
+    @Inject
+    TimeSheetService timeSheetService;
+
     @AfterEach
     void cleanDB() {
         flyway.clean();
@@ -105,6 +111,31 @@ class TimeEntryResourceTest {
         getValidation(TimeSheetPerProjectPerUserDef.uriWithMultiId(project.getId(), jimmy.getId()), adminToken).body(is(expected)).statusCode(is(OK.getStatusCode()));
     }
 
+    @Test
+    void shouldKeepTheConsumedHoursOfTheTimeSheetInSync() {
+        final String adminToken = getAdminAccessToken();
+        final String jimmyToken = getUserAccessToken();
+        create(adminToken);
+        var jimmy = create(jimmyToken);
+        final ClientResponse client = create(new ClientRequest("NewClient", "NewDescription"), adminToken);
+        final List<ProjectRequest.ProjectUserRequest> newUsers = List.of(new ProjectRequest.ProjectUserRequest(jimmy.getId(), false));
+        create(new ProjectRequest("Some Project", true, "some description", client.getId(), true, newUsers, 1L), adminToken);
+
+        // WHEN jimmy adds a day and a half day to his timesheet
+        create(1L, new TimeEntryRequest("A day", LocalDateTime.of(2020, 1, 1, 9, 0), 8), jimmyToken);
+        create(1L, new TimeEntryRequest("Half a day", LocalDateTime.of(2020, 1, 2, 9, 0), 4), jimmyToken);
+
+        // THEN the counter is up to date and the repair job has nothing to fix
+        assertEquals(12L, TimeSheet.<TimeSheet>findById(1L).consumedHours);
+        assertEquals(0, timeSheetService.repairConsumedHours());
+
+        // AND the daily hours of jimmy are up to date, the week of the 30th of December 2019 is the first week of 2020
+        getValidation(TeamWeekDef.uriWithMultiInt(2020, 1), adminToken)
+                .statusCode(is(OK.getStatusCode()))
+                .body("members[1].userId", is(jimmy.getId().intValue()))
+                .body("members[1].hours", is(List.of(0, 0, 8, 4, 0, 0, 0)));
+    }
+
     @Test
     void shouldCreateTimeEntryHalfDay() {
         final String adminToken = getAdminAccessToken();
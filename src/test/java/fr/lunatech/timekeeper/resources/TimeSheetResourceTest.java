@@ -19,6 +19,7 @@ package fr.lunatech.timekeeper.resources;
 import fr.lunatech.timekeeper.resources.utils.TimeKeeperTestUtils;
 import fr.lunatech.timekeeper.services.requests.ClientRequest;
 import fr.lunatech.timekeeper.services.requests.ProjectRequest;
+import fr.lunatech.timekeeper.services.requests.TimeEntryRequest;
 import fr.lunatech.timekeeper.services.requests.TimeSheetRequest;
 import fr.lunatech.timekeeper.services.responses.ClientResponse;
 import fr.lunatech.timekeeper.services.responses.TimeSheetResponse;
@@ -44,6 +45,8 @@ import static fr.lunatech.timekeeper.resources.utils.ResourceValidation.getValid
 import static fr.lunatech.timekeeper.resources.utils.ResourceValidation.putValidation;
 import static fr.lunatech.timekeeper.testcontainers.KeycloakTestResource.getAdminAccessToken;
 import static fr.lunatech.timekeeper.testcontainers.KeycloakTestResource.getUserAccessToken;
+import static io.restassured.RestAssured.given;
+import static javax.ws.rs.core.Response.Status.NOT_MODIFIED;
 import static javax.ws.rs.core.Response.Status.NO_CONTENT;
 import static javax.ws.rs.core.Response.Status.OK;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -127,6 +130,30 @@ class TimeSheetResourceTest {
         getValidation(TimeSheetDef.uriPlusId(timeSheetId), adminToken).body(is(timeKeeperTestUtils.toJson(expectedUpdatedTimeSheetSam))).statusCode(CoreMatchers.is(OK.getStatusCode()));
     }
 
+    @Test
+    void shouldChangeTheTagOfATimeSheetWithItsEntriesWithoutConflictingWithAnUpdate() {
+        // GIVEN : a project with 1 member and the tag of its timesheet
+        final String adminToken = getAdminAccessToken();
+        final var sam = create(adminToken);
+        final var client = create(new ClientRequest("NewClient", "NewDescription"), adminToken);
+        create(new ProjectRequest("Some Project", true, "some description", client.getId(), true, List.of(new ProjectRequest.ProjectUserRequest(sam.getId(), true)), 1L), adminToken);
+        final Long timeSheetId = 1L;
+        final String entityTag = getValidation(TimeSheetDef.uriPlusId(timeSheetId), adminToken).statusCode(is(OK.getStatusCode())).extract().header("ETag");
+        given().auth().preemptive().oauth2(adminToken).header("If-None-Match", entityTag)
+                .when().get(TimeSheetDef.uriPlusId(timeSheetId))
+                .then().statusCode(is(NOT_MODIFIED.getStatusCode()));
+
+        // WHEN : an entry is added
+        create(timeSheetId, new TimeEntryRequest("An entry", START_DATE.atTime(9, 0), 8), adminToken);
+
+        // THEN : the timesheet is returned again, and it can still be updated
+        given().auth().preemptive().oauth2(adminToken).header("If-None-Match", entityTag)
+                .when().get(TimeSheetDef.uriPlusId(timeSheetId))
+                .then().statusCode(is(OK.getStatusCode()));
+        final TimeSheetRequest updatedTimeSheet = new TimeSheetRequest(TimeUnit.DAY, true, null, 60, TimeUnit.DAY, START_DATE);
+        putValidation(TimeSheetDef.uriPlusId(timeSheetId), adminToken, timeKeeperTestUtils.toJson(updatedTimeSheet)).statusCode(NO_CONTENT.getStatusCode());
+    }
+
     @Test
     void shouldHaveDefaultStartDateDuringCreation() {
         // GIVEN : a project with 1 member
@@ -32,6 +32,7 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
 import javax.inject.Inject;
+import java.time.LocalDateTime;
 
 import static fr.lunatech.timekeeper.resources.utils.DataTestProvider.*;
 import static fr.lunatech.timekeeper.resources.utils.ResourceDefinition.*;
@@ -177,4 +178,27 @@ class UserEventResourceTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldCountTheBusinessDaysOfAbsenceOfTheOrganization() {
+        final String adminToken = getAdminAccessToken();
+        final String jimmyToken = getUserAccessToken();
+        final var sam = create(adminToken);
+        final var jimmy = create(jimmyToken);
+        // From monday to friday, the 14th of July is a public holiday
+        final var eventName = dataTestProvider.generateRandomEventName();
+        create(dataTestProvider.generateUserEventRequest(eventName, LocalDateTime.of(2020, 7, 13, 9, 0), LocalDateTime.of(2020, 7, 17, 17, 0), jimmy.getId(), jimmy.getId()), adminToken);
+
+        getValidation(UserEventAbsencesDef.uriWithMultiInt(2020), adminToken)
+                .statusCode(CoreMatchers.is(OK.getStatusCode()))
+                .body("size()", CoreMatchers.is(2))
+                .body("[0].userId", CoreMatchers.is(sam.getId().intValue()))
+                .body("[0].days.PERSONAL", CoreMatchers.is(0))
+                .body("[1].userId", CoreMatchers.is(jimmy.getId().intValue()))
+                .body("[1].days.PERSONAL", CoreMatchers.is(4))
+                .body("[1].days.COMPANY", CoreMatchers.is(0));
+
+        getValidation(UserEventAbsencesDef.uriWithMultiInt(2021), adminToken)
+                .statusCode(CoreMatchers.is(OK.getStatusCode()))
+                .body("[1].days.PERSONAL", CoreMatchers.is(0));
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.resources.providers;
+
+import fr.lunatech.timekeeper.models.Organization;
+import fr.lunatech.timekeeper.models.Profile;
+import fr.lunatech.timekeeper.services.AuthenticationContext;
+import fr.lunatech.timekeeper.services.requests.AuthenticationRequest;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Constructor;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthenticationContextCacheTest {
+
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(5);
+
+    private final AuthenticationRequest jimmy = new AuthenticationRequest("Jimmy", "James", "jimmy@lunatech.fr", "", List.of(Profile.USER), "lunatech.fr");
+
+    private final TestClock clock = new TestClock();
+
+    @Test
+    void shouldReturnTheContextOfTheSameSubjectAndClaims() throws Exception {
+        final AuthenticationContextCache cache = new AuthenticationContextCache(10, TIME_TO_LIVE, clock);
+        final AuthenticationContext context = context(1L);
+        cache.put("jimmy-subject", jimmy, context);
+
+        assertSame(context, cache.get("jimmy-subject", jimmy).orElseThrow());
+        assertFalse(cache.get("sam-subject", jimmy).isPresent());
+    }
+
+    @Test
+    void shouldAuthenticateAgainWhenTheClaimsChange() throws Exception {
+        final AuthenticationContextCache cache = new AuthenticationContextCache(10, TIME_TO_LIVE, clock);
+        cache.put("jimmy-subject", jimmy, context(1L));
+
+        final AuthenticationRequest jimmyAsAdmin = new AuthenticationRequest("Jimmy", "James", "jimmy@lunatech.fr", "", List.of(Profile.USER, Profile.ADMIN), "lunatech.fr");
+        assertFalse(cache.get("jimmy-subject", jimmyAsAdmin).isPresent());
+    }
+
+    @Test
+    void shouldExpireTheContextAfterTheTimeToLive() throws Exception {
+        final AuthenticationContextCache cache = new AuthenticationContextCache(10, TIME_TO_LIVE, clock);
+        cache.put("jimmy-subject", jimmy, context(1L));
+
+        clock.advance(TIME_TO_LIVE.minusSeconds(1));
+        assertTrue(cache.get("jimmy-subject", jimmy).isPresent());
+        clock.advance(Duration.ofSeconds(1));
+        assertFalse(cache.get("jimmy-subject", jimmy).isPresent());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldDropTheLeastRecentlyUsedContext() throws Exception {
+        final AuthenticationContextCache cache = new AuthenticationContextCache(2, TIME_TO_LIVE, clock);
+        cache.put("first", jimmy, context(1L));
+        cache.put("second", jimmy, context(2L));
+        cache.get("first", jimmy);
+        cache.put("third", jimmy, context(3L));
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.get("first", jimmy).isPresent());
+        assertFalse(cache.get("second", jimmy).isPresent());
+    }
+
+    @Test
+    void shouldNotKeepAnyContextWithoutSize() throws Exception {
+        final AuthenticationContextCache cache = new AuthenticationContextCache(0, TIME_TO_LIVE, clock);
+        cache.put("jimmy-subject", jimmy, context(1L));
+
+        assertFalse(cache.isEnabled());
+        assertFalse(cache.get("jimmy-subject", jimmy).isPresent());
+    }
+
+    // The contexts are only created by the UserService
+    private static AuthenticationContext context(Long userId) throws Exception {
+        final Organization organization = new Organization();
+        organization.id = 1L;
+        final Constructor<AuthenticationContext> constructor = AuthenticationContext.class.getDeclaredConstructor(Long.class, Organization.class, List.class);
+        constructor.setAccessible(true);
+        return constructor.newInstance(userId, organization, List.of(Profile.USER));
+    }
+
+    private static final class TestClock extends Clock {
+
+        private Instant instant = Instant.parse("2020-07-14T09:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -31,16 +31,26 @@ public enum ResourceDefinition {
     OrganizationDef("/api/organizations", apply(OrganizationRequest.class, OrganizationResponse.class)),
     UserDef("/api/users", apply(Void.class, UserResponse.class)),
     ProjectDef("/api/projects", apply(ProjectRequest.class, ProjectResponse.class)),
+    ProjectBurnDownDef("/api/projects/%d/burn-down?from=%s&to=%s&granularity=%s", apply(Void.class, BurnDownResponse.class)),
     TimeSheetPerProjectPerUserDef("/api/projects/%d/users/%d", apply(Void.class, TimeSheetResponse.class)),
     TimeEntryDef("/api/timeSheet/%d/timeEntry", apply(TimeEntryRequest.class, Void.class)),
     TimeSheetDef("/api/time-sheets", apply(TimeSheetRequest.class, TimeSheetResponse.class)),
     PersonalTimeSheetsWeekDef("/api/my/%d?weekNumber=%d", apply(Void.class, WeekResponse.class)),
     PersonalTimeSheetsMonthDef("/api/my/%d/month?monthNumber=%d", apply(Void.class, MonthResponse.class)),
+    TeamWeekDef("/api/team/%d?weekNumber=%d", apply(Void.class, TeamWeekResponse.class)),
+    ProjectTeamWeekDef("/api/team/%d?weekNumber=%d&projectId=%d", apply(Void.class, TeamWeekResponse.class)),
     PersonnalUserEventsDef("/api/user-events?userId=%d", apply(Void.class, UserEventResponse.class)),
     PersonnalUserEventsByOrganizationIdDef("/api/user-events/organization/%d", apply(Void.class, UserEventResponse.class)),
     UserEventsDef("/api/user-events", apply(UserEventRequest.class, UserEventResponse.class)),
+    UserEventAbsencesDef("/api/user-events/absences/%d", apply(Void.class, AbsenceCountersResponse.class)),
     TemplateEventDef("/api/events-template", apply(EventTemplateRequest.class, EventTemplateResponse.class)),
-    EventUsersDef("/api/events-template/%d/users", apply(Void.class, UserResponse.class));
+    EventUsersDef("/api/events-template/%d/users", apply(Void.class, UserResponse.class)),
+    ReportHoursDef("/api/reports/hours?from=%s&to=%s&groupBy=%s", apply(Void.class, ReportResponse.class)),
+    ReportTimeEntriesDef("/api/reports/time-entries?from=%s&to=%s", apply(Void.class, Void.class)),
+    ReportMissingDaysDef("/api/reports/missing-days?from=%s&to=%s", apply(Void.class, MissingDaysResponse.class)),
+    DashboardProjectHoursDef("/api/dashboard/project-hours?from=%s&to=%s", apply(Void.class, DashboardProjectHoursResponse.class)),
+    DashboardAbsencesDef("/api/dashboard/absences?from=%s&to=%s", apply(Void.class, DashboardAbsencesResponse.class)),
+    DashboardFillRateDef("/api/dashboard/fill-rate?from=%s&to=%s", apply(Void.class, DashboardFillRateResponse.class));
 
     final public String uri;
     final public TypeDefinition typeDef;
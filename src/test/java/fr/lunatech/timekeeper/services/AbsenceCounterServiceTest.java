@@ -0,0 +1,84 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services;
+
+import fr.lunatech.timekeeper.models.time.EventType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AbsenceCounterServiceTest {
+
+    private static final LocalDateTime MONDAY_13_JULY_9_AM = LocalDateTime.of(2020, 7, 13, 9, 0);
+
+    @Test
+    void shouldNotCountThePublicHolidays() {
+        // The 14th of July is a public holiday
+        assertEquals(Map.of(2020, 4L), AbsenceCounterService.countBusinessDays(LocalDate.of(2020, 7, 13), LocalDate.of(2020, 7, 19)));
+    }
+
+    @Test
+    void shouldCountTheBusinessDaysOfEachYear() {
+        // The 1st of January 2021 is a public holiday
+        assertEquals(Map.of(2020, 4L, 2021, 5L), AbsenceCounterService.countBusinessDays(LocalDate.of(2020, 12, 26), LocalDate.of(2021, 1, 8)));
+    }
+
+    @Test
+    void shouldCountTheWeekDaysOfAYearWithoutCalendar() {
+        assertEquals(Map.of(2200, 5L), AbsenceCounterService.countBusinessDays(LocalDate.of(2200, 12, 25), LocalDate.of(2200, 12, 31)));
+    }
+
+    @Test
+    void shouldCountTheDaysByEventType() {
+        final AbsenceCounterService.Changes changes = new AbsenceCounterService.Changes()
+                .addEvent(1L, EventType.PERSONAL, MONDAY_13_JULY_9_AM, MONDAY_13_JULY_9_AM.plusDays(4).plusHours(8))
+                .addEvent(1L, null, MONDAY_13_JULY_9_AM.plusWeeks(1), MONDAY_13_JULY_9_AM.plusWeeks(1).plusHours(8))
+                .addEvent(1L, EventType.COMPANY, MONDAY_13_JULY_9_AM.plusWeeks(2), MONDAY_13_JULY_9_AM.plusWeeks(2).plusHours(4));
+
+        assertTrue(changes.hasChanges());
+        assertEquals(5L, changes.getDays(1L, 2020, EventType.PERSONAL));
+        assertEquals(1L, changes.getDays(1L, 2020, EventType.COMPANY));
+        assertEquals(0L, changes.getDays(2L, 2020, EventType.PERSONAL));
+    }
+
+    @Test
+    void shouldCountAPartialDayAsAFullDay() {
+        final AbsenceCounterService.Changes changes = new AbsenceCounterService.Changes()
+                .addEvent(1L, EventType.PERSONAL, MONDAY_13_JULY_9_AM, MONDAY_13_JULY_9_AM.plusHours(4))
+                .addEvent(1L, EventType.PERSONAL, MONDAY_13_JULY_9_AM.plusDays(2).plusHours(4), MONDAY_13_JULY_9_AM.plusDays(3).plusHours(4));
+
+        assertEquals(3L, changes.getDays(1L, 2020, EventType.PERSONAL));
+    }
+
+    @Test
+    void shouldMergeAUserEventRemovedAndAddedBack() {
+        final AbsenceCounterService.Changes changes = new AbsenceCounterService.Changes()
+                .removeEvent(1L, EventType.COMPANY, MONDAY_13_JULY_9_AM, MONDAY_13_JULY_9_AM.plusDays(1))
+                .addEvent(1L, EventType.COMPANY, MONDAY_13_JULY_9_AM, MONDAY_13_JULY_9_AM.plusDays(1))
+                .addEvent(null, EventType.COMPANY, MONDAY_13_JULY_9_AM, MONDAY_13_JULY_9_AM.plusDays(1))
+                .addEvent(2L, EventType.COMPANY, MONDAY_13_JULY_9_AM, MONDAY_13_JULY_9_AM.minusDays(1));
+
+        assertFalse(changes.hasChanges());
+    }
+}
@@ -914,4 +914,21 @@ class AuthenticationContextTest {
         assertNull(tested.getOrganization());
         assertNotNull(tested.toString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void isAdmin_and_isSuperAdmin_should_follow_the_profiles(){
+        final Organization organization = new Organization();
+        organization.id = 100L;
+
+        final AuthenticationContext user = new AuthenticationContext(1L, organization, List.of(Profile.USER));
+        final AuthenticationContext admin = new AuthenticationContext(2L, organization, List.of(Profile.USER, Profile.ADMIN));
+        final AuthenticationContext superAdmin = new AuthenticationContext(3L, organization, List.of(Profile.SUPER_ADMIN));
+
+        assertFalse(user.isAdmin());
+        assertFalse(user.isSuperAdmin());
+        assertTrue(admin.isAdmin());
+        assertFalse(admin.isSuperAdmin());
+        assertFalse(superAdmin.isAdmin());
+        assertTrue(superAdmin.isSuperAdmin());
+    }
+}
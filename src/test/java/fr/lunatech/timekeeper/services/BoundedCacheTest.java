@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package fr.lunatech.timekeeper.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedCacheTest {
+
+    @Test
+    void shouldLoadAValueOnce() {
+        final BoundedCache<String, String> cache = new BoundedCache<>(10);
+        cache.get("key", () -> "first");
+
+        assertEquals("first", cache.get("key", () -> "second"));
+    }
+
+    @Test
+    void shouldNotKeepAValueLoadedDuringAnInvalidation() {
+        final BoundedCache<String, String> cache = new BoundedCache<>(10);
+        cache.put("other", "other");
+
+        final String loaded = cache.get("key", () -> {
+            cache.invalidate("other"::equals);
+            return "stale";
+        });
+
+        assertEquals("stale", loaded);
+        assertFalse(cache.get("key").isPresent());
+        assertFalse(cache.get("other").isPresent());
+        assertEquals("fresh", cache.get("key", () -> "fresh"));
+        assertTrue(cache.get("key").isPresent());
+    }
+
+    @Test
+    void shouldNotKeepAnyValueWithoutSizeOrTimeToLive() {
+        final BoundedCache<String, String> withoutSize = new BoundedCache<>(0);
+        final BoundedCache<String, String> withoutTimeToLive = new BoundedCache<>(10, Duration.ZERO, Clock.systemUTC());
+        withoutSize.put("key", "value");
+        withoutTimeToLive.put("key", "value");
+
+        assertFalse(withoutSize.isEnabled());
+        assertFalse(withoutTimeToLive.isEnabled());
+        assertEquals(0, withoutSize.size());
+        assertEquals(0, withoutTimeToLive.size());
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services;
+
+import fr.lunatech.timekeeper.services.exceptions.IllegalEntityStateException;
+import fr.lunatech.timekeeper.services.requests.BurnDownRequest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BurnDownServiceTest {
+
+    @Test
+    void shouldGroupTheEntriesByWeekByDefault() {
+        assertEquals(BurnDownRequest.Granularity.WEEK, BurnDownRequest.of("2020-06-01", "2020-06-30", null).getGranularity());
+        assertEquals(BurnDownRequest.Granularity.DAY, BurnDownRequest.of("2020-06-01", "2020-06-30", "Day").getGranularity());
+        assertThrows(IllegalEntityStateException.class, () -> BurnDownRequest.of("2020-06-01", "2020-06-30", "month"));
+        assertThrows(IllegalEntityStateException.class, () -> BurnDownRequest.of("2020-06-30", "2020-06-01", "day"));
+    }
+
+    @Test
+    void shouldAccumulateTheHoursWithAWindowFunction() {
+        final String query = BurnDownService.buildQuery(BurnDownRequest.Granularity.WEEK);
+
+        assertTrue(query.contains("sum(k.hours) over (partition by b.total, b.user_id order by k.bucket)"), query);
+        assertTrue(query.contains("group by grouping sets ((s.user_id, cast(date_trunc('week', te.startdatetime) as date)), (cast(date_trunc('week', te.startdatetime) as date)))"), query);
+        assertFalse(query.contains("%"), query);
+    }
+}
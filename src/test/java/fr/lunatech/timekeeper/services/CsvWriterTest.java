@@ -0,0 +1,58 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvWriterTest {
+
+    @Test
+    void shouldWriteTheLinesWithTheSeparators() throws IOException {
+        final StringWriter output = new StringWriter();
+        final CsvWriter csv = new CsvWriter(output);
+
+        csv.writeLine("user", "hours");
+        csv.writeLine("Jimmy", "8");
+
+        assertEquals("user,hours\r\nJimmy,8\r\n", output.toString());
+    }
+
+    @Test
+    void shouldQuoteTheFieldsWithSpecialCharacters() {
+        assertEquals("\"a, b\"", CsvWriter.escape("a, b"));
+        assertEquals("\"a \"\"quoted\"\" text\"", CsvWriter.escape("a \"quoted\" text"));
+        assertEquals("\"two\nlines\"", CsvWriter.escape("two\nlines"));
+        assertEquals("plain", CsvWriter.escape("plain"));
+    }
+
+    @Test
+    void shouldWriteNullAsAnEmptyField() {
+        assertEquals("", CsvWriter.escape(null));
+    }
+
+    @Test
+    void shouldNotLetASpreadsheetEvaluateAFormula() {
+        assertEquals("'=SUM(A1:A2)", CsvWriter.escape("=SUM(A1:A2)"));
+        assertEquals("'@cmd", CsvWriter.escape("@cmd"));
+    }
+}
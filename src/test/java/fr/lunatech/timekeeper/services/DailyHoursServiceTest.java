@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package fr.lunatech.timekeeper.services;
+
+import fr.lunatech.timekeeper.models.time.UserEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DailyHoursServiceTest {
+
+    private static final LocalDateTime MONDAY_9_AM = LocalDateTime.of(2020, 6, 22, 9, 0);
+
+    @Test
+    void shouldSplitAUserEventByDay() {
+        // From Monday 2PM to Wednesday 11:30AM
+        final Map<LocalDate, Long> hours = UserEvent.hoursPerDay(MONDAY_9_AM.plusHours(5), MONDAY_9_AM.plusDays(2).plusMinutes(150));
+
+        assertEquals(Map.of(
+                LocalDate.of(2020, 6, 22), 3L,
+                LocalDate.of(2020, 6, 23), 8L,
+                LocalDate.of(2020, 6, 24), 2L), hours);
+    }
+
+    @Test
+    void shouldCountAUserEventOfOneDayFromItsStartToItsEnd() {
+        assertEquals(Map.of(LocalDate.of(2020, 6, 22), 4L), UserEvent.hoursPerDay(MONDAY_9_AM, MONDAY_9_AM.plusHours(4)));
+        assertTrue(UserEvent.hoursPerDay(MONDAY_9_AM, null).isEmpty());
+        assertTrue(UserEvent.hoursPerDay(MONDAY_9_AM, MONDAY_9_AM.minusHours(1)).isEmpty());
+    }
+
+    @Test
+    void shouldMergeTheChangesOfTheSameDay() {
+        // An entry moved from 8 to 4 hours on the same day, and an event that did not move
+        final DailyHoursService.Changes changes = new DailyHoursService.Changes()
+                .removeEntry(1L, MONDAY_9_AM, 8L)
+                .addEntry(1L, MONDAY_9_AM, 4L)
+                .removeEvent(2L, MONDAY_9_AM, MONDAY_9_AM.plusHours(8))
+                .addEvent(2L, MONDAY_9_AM, MONDAY_9_AM.plusHours(8));
+        assertTrue(changes.hasChanges());
+
+        final DailyHoursService.Changes unchanged = new DailyHoursService.Changes()
+                .removeEvent(2L, MONDAY_9_AM, MONDAY_9_AM.plusHours(8))
+                .addEvent(2L, MONDAY_9_AM, MONDAY_9_AM.plusHours(8))
+                .addEntry(null, MONDAY_9_AM, 8L);
+        assertFalse(unchanged.hasChanges());
+    }
+}
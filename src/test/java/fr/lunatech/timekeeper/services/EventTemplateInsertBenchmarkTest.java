@@ -0,0 +1,165 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package fr.lunatech.timekeeper.services;
+
+import fr.lunatech.timekeeper.models.Organization;
+import fr.lunatech.timekeeper.models.Profile;
+import fr.lunatech.timekeeper.models.User;
+import fr.lunatech.timekeeper.models.PooledSequenceGenerator;
+import fr.lunatech.timekeeper.services.requests.EventTemplateRequest;
+import fr.lunatech.timekeeper.services.requests.UserEventRequest;
+import fr.lunatech.timekeeper.testcontainers.KeycloakTestResource;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.flywaydb.core.Flyway;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.transaction.UserTransaction;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the creation of an eventTemplate with many attendees, with and without the JDBC batches of inserts,
+ * and checks that the batched creation uses fewer statements.
+ * Not part of the unit or integration tests, run it with the benchmark profile and compare the allocation sizes :
+ * <pre>
+ * mvn test -Pbenchmark -Dtimekeeper.id.allocation-size=1
+ * mvn test -Pbenchmark -Dtimekeeper.id.allocation-size=50
+ * </pre>
+ */
+@QuarkusTest
+@QuarkusTestResource(KeycloakTestResource.class)
+@Tag("benchmark")
+class EventTemplateInsertBenchmarkTest {
+
+    private static Logger logger = LoggerFactory.getLogger(EventTemplateInsertBenchmarkTest.class);
+
+    private static final int ATTENDEES = 1000;
+
+    private static final LocalDateTime START = LocalDateTime.of(2020, 12, 24, 9, 0);
+
+    // Same as quarkus.hibernate-orm.jdbc.statement-batch-size
+    private static final int JDBC_BATCH_SIZE = 50;
+
+    @Inject
+    Flyway flyway;
+
+    @Inject
+    EntityManagerFactory entityManagerFactory;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    EventTemplateService eventTemplateService;
+
+    @Inject
+    UserTransaction transaction;
+
+    @ConfigProperty(name = PooledSequenceGenerator.ALLOCATION_SIZE)
+    int allocationSize;
+
+    @AfterEach
+    void cleanDB() {
+        flyway.clean();
+        flyway.migrate();
+    }
+
+    @Test
+    void createAnEventTemplateWithManyAttendees() throws Exception {
+        final List<Long> userIds = createUsers(ATTENDEES);
+        final Organization organization = Organization.findById(1L);
+        final AuthenticationContext ctx = new AuthenticationContext(userIds.get(0), organization, List.of(Profile.ADMIN));
+
+        // The first run warms up the JIT, it is not compared. Each run is on its own day, the attendees are not busy
+        create("Warm-up", START, userIds, JDBC_BATCH_SIZE, ctx);
+        final Run unbatched = create("Unbatched", START.plusDays(1), userIds, 1, ctx);
+        final Run batched = create("Batched", START.plusDays(2), userIds, JDBC_BATCH_SIZE, ctx);
+
+        logger.info("allocation-size={}, {} attendees : unbatched in {} ms with {} prepared statements, batched in {} ms with {} prepared statements, {}x faster",
+                allocationSize, ATTENDEES, unbatched.elapsedMillis, unbatched.statements, batched.elapsedMillis, batched.statements,
+                String.format("%.1f", (double) unbatched.elapsedMillis / batched.elapsedMillis));
+        assertEquals(ATTENDEES + 1L, batched.inserts);
+        assertEquals(ATTENDEES + 1L, unbatched.inserts);
+        // Each batch of inserts is prepared once, and a block of ids is reserved with one call to the sequence
+        assertTrue(batched.statements < unbatched.statements,
+                String.format("%d statements batched, %d unbatched", batched.statements, unbatched.statements));
+        assertTrue(batched.statements <= ATTENDEES / allocationSize + 2 * ATTENDEES / JDBC_BATCH_SIZE + 50,
+                String.format("%d statements batched", batched.statements));
+    }
+
+    // Creates an eventTemplate for all the users, with a JDBC batch size for the session of the transaction
+    private Run create(String name, LocalDateTime start, List<Long> userIds, int jdbcBatchSize, AuthenticationContext ctx) throws Exception {
+        final EventTemplateRequest request = new EventTemplateRequest(name, "Day off", start, start.plusHours(8),
+                userIds.stream().map(userId -> new UserEventRequest(userId, userIds.get(0))).collect(Collectors.toList()));
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        final long startNanos = System.nanoTime();
+        transaction.begin();
+        entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+        eventTemplateService.create(request, ctx);
+        transaction.commit();
+        final long elapsedMillis = Math.max(1L, (System.nanoTime() - startNanos) / 1_000_000);
+        return new Run(elapsedMillis, statistics.getPrepareStatementCount(), statistics.getEntityInsertCount());
+    }
+
+    private static final class Run {
+        private final long elapsedMillis;
+        private final long statements;
+        private final long inserts;
+
+        private Run(long elapsedMillis, long statements, long inserts) {
+            this.elapsedMillis = elapsedMillis;
+            this.statements = statements;
+            this.inserts = inserts;
+        }
+    }
+
+    private List<Long> createUsers(int count) throws Exception {
+        transaction.begin();
+        final Organization organization = Organization.findById(1L);
+        final List<User> users = IntStream.range(0, count)
+                .mapToObj(i -> {
+                    final User user = new User(null, "First" + i, "Last" + i, "user" + i + "@lunatech.fr", "picture.png");
+                    user.organization = organization;
+                    user.profiles = List.of(Profile.USER);
+                    user.projects = Collections.emptyList();
+                    return user;
+                })
+                .collect(Collectors.toList());
+        User.persist(users);
+        transaction.commit();
+        return users.stream().map(user -> user.id).collect(Collectors.toList());
+    }
+}
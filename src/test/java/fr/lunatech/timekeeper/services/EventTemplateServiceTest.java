@@ -21,7 +21,9 @@ import fr.lunatech.timekeeper.resources.exceptions.CreateResourceException;
 import fr.lunatech.timekeeper.resources.exceptions.UpdateResourceException;
 import fr.lunatech.timekeeper.resources.utils.DataTestProvider;
 import fr.lunatech.timekeeper.services.requests.EventTemplateRequest;
+import fr.lunatech.timekeeper.services.requests.PageRequest;
 import fr.lunatech.timekeeper.services.responses.EventTemplateResponse;
+import fr.lunatech.timekeeper.services.responses.UserEventResponse;
 import fr.lunatech.timekeeper.testcontainers.KeycloakTestResource;
 import io.quarkus.test.common.QuarkusTestResource;
 import io.quarkus.test.junit.QuarkusTest;
@@ -56,6 +58,8 @@ class EventTemplateServiceTest {
     EventTemplateService eventTemplateService;
     @Inject
     DataTestProvider dataTestProvider;
+    @Inject
+    UserEventService userEventService;
 
     @AfterEach
     void cleanUp() {
@@ -79,9 +83,10 @@ class EventTemplateServiceTest {
                 Collections.emptyList()
         );
 
-        final List<EventTemplateResponse> eventsBefore = eventTemplateService.getAllEventsTemplate(ctx);
+        final PageRequest page = new PageRequest(PageRequest.FIRST_PAGE, 10);
+        final List<EventTemplateResponse> eventsBefore = eventTemplateService.getAllEventsTemplate(ctx, page, Optional.empty()).getItems();
         eventTemplateService.create(eventTemplateRequest, ctx);
-        final List<EventTemplateResponse> eventsAfter = eventTemplateService.getAllEventsTemplate(ctx);
+        final List<EventTemplateResponse> eventsAfter = eventTemplateService.getAllEventsTemplate(ctx, page, Optional.empty()).getItems();
 
         Assertions.assertTrue(eventsBefore.isEmpty());
         Assertions.assertEquals(1, eventsAfter.size());
@@ -182,6 +187,39 @@ class EventTemplateServiceTest {
         assertTrue(updatedEvent.getAttendees().isEmpty());
     }
 
+    @Test
+    void update_should_keep_the_user_event_of_a_kept_attendee() {
+        final String samToken = getAdminAccessToken();
+        var sam = create(samToken);
+        var jimmy = create(getUserAccessToken());
+
+        final Organization organization = dataTestProvider.generateOrganization();
+        final AuthenticationContext ctx = new AuthenticationContext(
+                sam.getId(),
+                organization,
+                Collections.emptyList()
+        );
+        final PageRequest page = new PageRequest(PageRequest.FIRST_PAGE, 10);
+
+        var maybeEventId = eventTemplateService.create(
+                dataTestProvider.generateEventTemplateRequest("an event", THE_18_TH_JULY_2020_AT_10_AM, THE_18_TH_JULY_2020_AT_10_AM.plusHours(6), sam.getId(), jimmy.getId()), ctx);
+        assertTrue(maybeEventId.isPresent());
+        final List<UserEventResponse> samEventsBefore = userEventService.getAllPersonalEventsForAnUser(sam.getId(), page, ctx).getItems();
+
+        // Jimmy is removed, Sam is kept and the event is moved to the next day
+        final EventTemplateRequest updatedEventTemplateRequest =
+                dataTestProvider.generateEventTemplateRequest("updated name", THE_18_TH_JULY_2020_AT_10_AM.plusDays(1), THE_18_TH_JULY_2020_AT_10_AM.plusDays(1).plusHours(6), sam.getId());
+        assertEquals(1L, eventTemplateService.update(maybeEventId.get(), updatedEventTemplateRequest, ctx));
+
+        final List<UserEventResponse> samEventsAfter = userEventService.getAllPersonalEventsForAnUser(sam.getId(), page, ctx).getItems();
+        assertEquals(1, samEventsBefore.size());
+        assertEquals(1, samEventsAfter.size());
+        assertEquals(samEventsBefore.get(0).getId(), samEventsAfter.get(0).getId());
+        assertEquals("updated name", samEventsAfter.get(0).getName());
+        assertNotEquals(samEventsBefore.get(0).getStartDateTime(), samEventsAfter.get(0).getStartDateTime());
+        assertTrue(userEventService.getAllPersonalEventsForAnUser(jimmy.getId(), page, ctx).getItems().isEmpty());
+    }
+
     @Test
     void create_should_not_update_if_start_date_is_null() {
         final String samToken = getAdminAccessToken();
@@ -335,4 +373,39 @@ class EventTemplateServiceTest {
         assertTrue(response.isPresent());
         assertFalse(response.get().getAttendees().isEmpty(), "Jimmy should be an attendee of the 2nd event");
     }
+
+    @Test
+    void getAllEventsTemplate_should_load_the_attendees_or_only_their_number() {
+        final String samToken = getAdminAccessToken();
+        final var sam = create(samToken);
+
+        final String jimmyToken = getUserAccessToken();
+        final var jimmy = create(jimmyToken);
+
+        final Organization organization = dataTestProvider.generateOrganization();
+        final AuthenticationContext ctx = new AuthenticationContext(
+                sam.getId(),
+                organization,
+                Collections.emptyList()
+        );
+
+        eventTemplateService.create(dataTestProvider.generateEventTemplateRequest("Agira", THE_18_TH_JULY_2020_AT_10_AM, THE_18_TH_JULY_2020_AT_6_PM, sam.getId(), jimmy.getId()), ctx);
+        eventTemplateService.create(dataTestProvider.generateEventTemplateRequest("Hackbreakfast", THE_24_TH_JUNE_2020_AT_8_AM, THE_24_TH_JUNE_2020_AT_5_PM), ctx);
+
+        final PageRequest page = new PageRequest(PageRequest.FIRST_PAGE, 10);
+        final List<EventTemplateResponse> events = eventTemplateService.getAllEventsTemplate(ctx, page, Optional.empty()).getItems();
+        final List<EventTemplateResponse> optimizedEvents = eventTemplateService.getAllEventsTemplate(ctx, page, Optional.of(true)).getItems();
+
+        assertEquals(2, events.size());
+        assertEquals(2, events.get(0).getAttendees().size());
+        assertEquals(2L, events.get(0).getAttendeesCount());
+        assertTrue(events.get(1).getAttendees().isEmpty());
+        assertEquals(0L, events.get(1).getAttendeesCount());
+
+        assertEquals(2, optimizedEvents.size());
+        assertNull(optimizedEvents.get(0).getAttendees());
+        assertEquals(2L, optimizedEvents.get(0).getAttendeesCount());
+        assertNull(optimizedEvents.get(1).getAttendees());
+        assertEquals(0L, optimizedEvents.get(1).getAttendeesCount());
+    }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package fr.lunatech.timekeeper.services;
+
+import fr.lunatech.timekeeper.models.Profile;
+import fr.lunatech.timekeeper.models.User;
+import fr.lunatech.timekeeper.services.requests.ClientRequest;
+import fr.lunatech.timekeeper.services.requests.PageRequest;
+import fr.lunatech.timekeeper.services.requests.ProjectRequest;
+import fr.lunatech.timekeeper.testcontainers.KeycloakTestResource;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import javax.persistence.EntityManagerFactory;
+import javax.transaction.UserTransaction;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static fr.lunatech.timekeeper.resources.utils.ResourceFactory.create;
+import static fr.lunatech.timekeeper.testcontainers.KeycloakTestResource.getAdminAccessToken;
+import static fr.lunatech.timekeeper.testcontainers.KeycloakTestResource.getUserAccessToken;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The listings must run the same number of SQL statements whatever the number of rows.
+ * The member of the projects is in more projects than quarkus.hibernate-orm.batch-fetch-size (32),
+ * so that a collection or an association read by batches would add statements.
+ */
+@QuarkusTest
+@QuarkusTestResource(KeycloakTestResource.class)
+@Tag("integration")
+class ListingQueryCountTest {
+
+    private static final int PROJECTS = 40;
+
+    private static final PageRequest PAGE = new PageRequest(PageRequest.FIRST_PAGE, 500);
+
+    @Inject
+    Flyway flyway;
+
+    @Inject
+    EntityManagerFactory entityManagerFactory;
+
+    @Inject
+    UserTransaction transaction;
+
+    @Inject
+    ProjectService projectService;
+
+    @Inject
+    UserService userService;
+
+    @Inject
+    TimeSheetService timeSheetService;
+
+    @Inject
+    WeekService weekService;
+
+    private AuthenticationContext admin;
+
+    private AuthenticationContext jimmy;
+
+    @BeforeEach
+    void createProjects() throws Exception {
+        final String adminToken = getAdminAccessToken();
+        final var sam = create(adminToken);
+        final var jimmyUser = create(getUserAccessToken());
+        final var client = create(new ClientRequest("Client", "Description"), adminToken);
+        for (int i = 0; i < PROJECTS; i++) {
+            create(new ProjectRequest("Project " + i, true, "description " + i, client.getId(), true,
+                    List.of(new ProjectRequest.ProjectUserRequest(jimmyUser.getId(), false)), 1L), adminToken);
+        }
+        transaction.begin();
+        admin = new AuthenticationContext(sam.getId(), User.<User>findById(sam.getId()).organization, List.of(Profile.ADMIN));
+        jimmy = new AuthenticationContext(jimmyUser.getId(), User.<User>findById(jimmyUser.getId()).organization, List.of(Profile.USER));
+        transaction.commit();
+    }
+
+    @AfterEach
+    void cleanDB() {
+        flyway.clean();
+        flyway.migrate();
+    }
+
+    @Test
+    void shouldListProjectsWithTheirMembersWithTwoQueries() throws Exception {
+        assertEquals(PROJECTS, countStatements(2, () -> projectService.listAllResponses(admin, PAGE)).getItems().size());
+    }
+
+    @Test
+    void shouldTagTheProjectsWithTheirMembersWithTwoQueries() throws Exception {
+        countStatements(2, () -> projectService.listAllVersionTag(admin, PAGE));
+    }
+
+    @Test
+    void shouldListUsersWithTheirProjectsWithTwoQueries() throws Exception {
+        assertEquals(2, countStatements(2, () -> userService.listAllResponses(admin, PAGE)).getItems().size());
+    }
+
+    @Test
+    void shouldListTimeSheetsOfTheWeekWithThreeQueries() throws Exception {
+        // The entries of the week, the timesheets with their projects, and the members of the projects
+        assertEquals(PROJECTS, countStatements(3, () -> timeSheetService.findAllActivesForUser(jimmy, LocalDate.of(2020, 5, 25), LocalDate.of(2020, 6, 1))).size());
+    }
+
+    @Test
+    void shouldLoadTheWeekOfATeamWithFourQueries() throws Exception {
+        // The members, their hours per day, their time entries and their userEvents
+        assertEquals(2, countStatements(4, () -> weekService.getTeamWeek(admin, 2020, 22, Optional.empty())).orElseThrow().getMembers().size());
+    }
+
+    // Runs the listing in a new transaction, so that nothing is read from the entity manager of a previous listing
+    private <R> R countStatements(long expectedStatements, Supplier<R> listing) throws Exception {
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transaction.begin();
+        statistics.clear();
+        final R result = listing.get();
+        final long statements = statistics.getPrepareStatementCount();
+        transaction.commit();
+        assertEquals(expectedStatements, statements);
+        return result;
+    }
+}
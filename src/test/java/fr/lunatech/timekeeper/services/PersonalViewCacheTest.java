@@ -0,0 +1,112 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services;
+
+import fr.lunatech.timekeeper.gauges.PersonalViewCacheGauge;
+import fr.lunatech.timekeeper.services.events.PersonalDaysChangedEvent;
+import fr.lunatech.timekeeper.services.responses.MonthResponse;
+import fr.lunatech.timekeeper.services.responses.WeekResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PersonalViewCacheTest {
+
+    // The week 29 of 2020 is from monday 13 to sunday 19 of July
+    private static final LocalDate MONDAY_13_JULY = LocalDate.of(2020, 7, 13);
+
+    private PersonalViewCache cache;
+
+    @BeforeEach
+    void createCache() {
+        cache = new PersonalViewCache();
+        cache.cacheSize = 10;
+        cache.gauge = new PersonalViewCacheGauge();
+        cache.initCache();
+    }
+
+    @Test
+    void shouldLoadAWeekOnce() {
+        final WeekResponse first = cache.getWeek(1L, 2020, 29, PersonalViewCacheTest::week);
+        final WeekResponse second = cache.getWeek(1L, 2020, 29, PersonalViewCacheTest::week);
+
+        assertSame(first, second);
+        assertEquals(1L, cache.gauge.hits());
+        assertEquals(1L, cache.gauge.misses());
+        assertEquals(0.5d, cache.gauge.hitRatio());
+        assertEquals(1L, cache.gauge.size());
+    }
+
+    @Test
+    void shouldEvictOnlyTheViewsOfTheChangedUserAndDays() {
+        final WeekResponse week = cache.getWeek(1L, 2020, 29, PersonalViewCacheTest::week);
+        final WeekResponse nextWeek = cache.getWeek(1L, 2020, 30, PersonalViewCacheTest::week);
+        final WeekResponse otherUserWeek = cache.getWeek(2L, 2020, 29, PersonalViewCacheTest::week);
+
+        cache.onPersonalDaysChanged(PersonalDaysChangedEvent.of(List.of(1L), MONDAY_13_JULY.plusDays(6), MONDAY_13_JULY.plusDays(6)));
+
+        assertNotSame(week, cache.getWeek(1L, 2020, 29, PersonalViewCacheTest::week));
+        assertSame(nextWeek, cache.getWeek(1L, 2020, 30, PersonalViewCacheTest::week));
+        assertSame(otherUserWeek, cache.getWeek(2L, 2020, 29, PersonalViewCacheTest::week));
+        assertEquals(1L, cache.gauge.evictions());
+    }
+
+    @Test
+    void shouldEvictAllTheViewsOfAUser() {
+        cache.getWeek(1L, 2020, 29, PersonalViewCacheTest::week);
+        cache.getMonth(1L, 2020, 7, () -> new MonthResponse(Collections.emptyList(), Collections.emptyList(), Collections.emptyList()));
+        cache.getWeek(2L, 2020, 29, PersonalViewCacheTest::week);
+
+        cache.onPersonalDaysChanged(PersonalDaysChangedEvent.allDays(List.of(1L)));
+
+        assertEquals(1L, cache.gauge.size());
+        assertEquals(2L, cache.gauge.evictions());
+    }
+
+    @Test
+    void shouldNotKeepAViewLoadedDuringAChange() {
+        final WeekResponse stale = cache.getWeek(1L, 2020, 29, () -> {
+            cache.onPersonalDaysChanged(PersonalDaysChangedEvent.of(List.of(1L), MONDAY_13_JULY, MONDAY_13_JULY));
+            return week();
+        });
+
+        assertNotSame(stale, cache.getWeek(1L, 2020, 29, PersonalViewCacheTest::week));
+    }
+
+    @Test
+    void shouldDropTheLeastRecentlyUsedView() {
+        cache.cacheSize = 1;
+        cache.initCache();
+        final WeekResponse week = cache.getWeek(1L, 2020, 29, PersonalViewCacheTest::week);
+        cache.getWeek(1L, 2020, 30, PersonalViewCacheTest::week);
+
+        assertNotSame(week, cache.getWeek(1L, 2020, 29, PersonalViewCacheTest::week));
+        assertEquals(1L, cache.gauge.size());
+    }
+
+    private static WeekResponse week() {
+        return new WeekResponse(MONDAY_13_JULY, Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+    }
+}
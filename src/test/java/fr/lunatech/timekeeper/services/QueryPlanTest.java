@@ -0,0 +1,232 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package fr.lunatech.timekeeper.services;
+
+import fr.lunatech.timekeeper.models.Organization;
+import fr.lunatech.timekeeper.models.Profile;
+import fr.lunatech.timekeeper.services.requests.BurnDownRequest;
+import fr.lunatech.timekeeper.services.requests.PageRequest;
+import fr.lunatech.timekeeper.services.requests.PeriodRequest;
+import fr.lunatech.timekeeper.services.requests.ReportRequest;
+import fr.lunatech.timekeeper.testcontainers.KeycloakTestResource;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.transaction.UserTransaction;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Calls the services on a seeded dataset large enough for the planner to prefer an index, records the SQL generated
+ * by Hibernate with {@link RecordingStatementInspector}, and fails if the plan of one of these queries reads a large
+ * table with a sequential scan.
+ * The queries are planned with a generic plan, as their parameters are not known when they are recorded.
+ */
+@QuarkusTest
+@QuarkusTestResource(KeycloakTestResource.class)
+@Tag("integration")
+class QueryPlanTest {
+
+    // Tables that must not be read with a sequential scan
+    private static final List<String> LARGE_TABLES = List.of("timesheets", "timeentries", "user_events", "projects_users");
+
+    private static final PageRequest PAGE = new PageRequest(PageRequest.FIRST_PAGE, 500);
+
+    @Inject
+    Flyway flyway;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    UserTransaction transaction;
+
+    @Inject
+    ProjectService projectService;
+
+    @Inject
+    UserService userService;
+
+    @Inject
+    ClientService clientService;
+
+    @Inject
+    TimeSheetService timeSheetService;
+
+    @Inject
+    UserEventService userEventService;
+
+    @Inject
+    EventTemplateService eventTemplateService;
+
+    @Inject
+    WeekService weekService;
+
+    @Inject
+    MonthService monthService;
+
+    @Inject
+    ReportService reportService;
+
+    @Inject
+    CompletenessService completenessService;
+
+    @Inject
+    BurnDownService burnDownService;
+
+    @BeforeEach
+    void seed() throws Exception {
+        transaction.begin();
+        executeAll(
+                "insert into clients (name, description, organization_id)" +
+                        " select 'Client ' || i, 'description', 1 + i % 2 from generate_series(1, 20) i",
+                "insert into projects (name, description, billable, publicaccess, client_id, organization_id, version)" +
+                        " select 'Project ' || i, 'description', true, i % 2 = 0, c.id, c.organization_id, 0" +
+                        " from generate_series(1, 200) i join clients c on c.name = 'Client ' || (1 + i % 20)",
+                "insert into users (email, firstname, lastname, picture, profiles, organization_id)" +
+                        " select 'user' || i || '@lunatech.fr', 'First', 'Last', 'picture.png', 'USER', 1 + i % 2" +
+                        " from generate_series(1, 2000) i",
+                "insert into projects_users (manager, project_id, user_id)" +
+                        " select u.id % 10 = 0, p.id, u.id from users u join projects p on p.id % 20 = u.id % 20",
+                "insert into timesheets (user_id, project_id, timeunit, defaultisbillable, durationunit, startdate)" +
+                        " select pu.user_id, pu.project_id, 'HOURLY', true, 'DAY', '2020-01-01' from projects_users pu",
+                "insert into timeentries (comment, startdatetime, enddatetime, timesheet_id)" +
+                        " select 'entry', timestamp '2020-01-06 09:00' + (d * interval '7 day'), timestamp '2020-01-06 17:00' + (d * interval '7 day'), ts.id" +
+                        " from timesheets ts cross join generate_series(0, 4) d",
+                "insert into event_template (name, description, startdatetime, enddatetime, organization_id)" +
+                        " select 'Event ' || i, 'description', timestamp '2020-01-01 09:00' + (i * interval '1 day')," +
+                        " timestamp '2020-01-01 17:00' + (i * interval '1 day'), 1 + i % 2 from generate_series(1, 300) i",
+                "insert into user_events (name, description, eventtype, startdatetime, enddatetime, eventtemplate_id, owner_id, creator_id, organization_id)" +
+                        " select et.name, et.description, 'COMPANY', et.startdatetime, et.enddatetime, et.id, u.id, u.id, u.organization_id" +
+                        " from event_template et join users u on u.id % 100 = et.id % 100",
+                "analyze"
+        );
+        transaction.commit();
+    }
+
+    @AfterEach
+    void cleanDB() {
+        flyway.clean();
+        flyway.migrate();
+    }
+
+    @Test
+    void shouldNotReadALargeTableWithASequentialScan() throws Exception {
+        transaction.begin();
+        final Organization organization = Organization.findById(1L);
+        final Long userId = firstId("select min(id) from users where organization_id = 1");
+        final Long projectId = firstId("select min(p.id) from projects p join projects_users pu on pu.project_id = p.id" +
+                " where p.organization_id = 1 and pu.user_id = " + userId);
+        final List<Long> templateIds = List.of(firstId("select min(id) from event_template where organization_id = 1"),
+                firstId("select max(id) from event_template where organization_id = 1"));
+        final AuthenticationContext user = new AuthenticationContext(userId, organization, List.of(Profile.USER));
+        final AuthenticationContext admin = new AuthenticationContext(userId, organization, List.of(Profile.ADMIN));
+        final LocalDate from = LocalDate.of(2020, 1, 6);
+        final LocalDate to = LocalDate.of(2020, 1, 31);
+
+        RecordingStatementInspector.start();
+        // Listings, with the visibility of the projects for a user
+        projectService.listAllResponses(user, PAGE);
+        projectService.listAllVersionTag(user, PAGE);
+        projectService.listAllResponses(admin, PAGE);
+        userService.listAllResponses(user, PAGE);
+        clientService.listAllResponses(user, PAGE);
+        eventTemplateService.getAllEventsTemplate(admin, PAGE, Optional.empty());
+        // Time sheets and personal views
+        timeSheetService.findAllActivesForUser(user, from, to);
+        timeSheetService.findFirstForProjectForUser(projectId, userId);
+        timeSheetService.userHasNoTimeSheet(projectId, userId);
+        weekService.getWeek(user, 2020, 2);
+        monthService.getMonth(user, 2020, 1);
+        weekService.getTeamWeek(admin, 2020, 2, Optional.of(projectId));
+        weekService.getTeamWeek(admin, 2020, 2, Optional.empty());
+        // Events
+        userEventService.getEventsByUserForWeekNumber(userId, 2, 2020);
+        userEventService.getAllPersonalEventsForAnUser(userId, PAGE, user);
+        userEventService.getEventsByOrganizationId(organization.id, PAGE, admin);
+        userEventService.findAllUsersFromEventTemplate(templateIds.get(0));
+        userEventService.findAllAttendeesFromEventTemplates(templateIds);
+        userEventService.countAttendeesFromEventTemplates(templateIds);
+        userEventService.findBusyUsersForDates(List.of(userId, userId + 2), from.atTime(9, 0), from.atTime(17, 0));
+        // Reports, up to today so that they are computed from the entries and not read from the cache
+        reportService.hours(new ReportRequest(from, LocalDate.now(), List.of(ReportRequest.Dimension.PROJECT, ReportRequest.Dimension.USER, ReportRequest.Dimension.DAY)), admin);
+        completenessService.findMissingDays(new PeriodRequest(from, to), admin);
+        burnDownService.findForProject(projectId, new BurnDownRequest(from, to, BurnDownRequest.Granularity.DAY), admin);
+        final List<String> queries = RecordingStatementInspector.stop().stream()
+                .filter(sql -> sql.trim().toLowerCase().startsWith("select") || sql.trim().toLowerCase().startsWith("with"))
+                .distinct()
+                .collect(Collectors.toList());
+
+        final List<Executable> checks = new ArrayList<>();
+        for (String query : queries) {
+            final String plan = explain(query);
+            LARGE_TABLES.forEach(table -> checks.add(() -> assertFalse(plan.contains("Seq Scan on " + table + " "),
+                    () -> "Sequential scan on " + table + " for the query " + query + "\n" + plan)));
+        }
+        transaction.commit();
+        assertFalse(queries.isEmpty(), "No query was recorded, is the statement inspector registered ?");
+        assertAll(checks);
+    }
+
+    private void executeAll(String... statements) {
+        for (String statement : statements) {
+            entityManager.createNativeQuery(statement).executeUpdate();
+        }
+    }
+
+    private Long firstId(String sql) {
+        return ((Number) entityManager.createNativeQuery(sql).getSingleResult()).longValue();
+    }
+
+    /**
+     * Plans a query with a generic plan, as a prepared statement of the services is planned when its parameters are
+     * not used to choose the plan : its ? parameters become $n parameters, and are given null values.
+     */
+    @SuppressWarnings("unchecked")
+    private String explain(String sql) {
+        final StringBuilder prepared = new StringBuilder();
+        int parameters = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                prepared.append('$').append(++parameters);
+            } else {
+                prepared.append(c);
+            }
+        }
+        entityManager.createNativeQuery("set local plan_cache_mode = force_generic_plan").executeUpdate();
+        entityManager.createNativeQuery("prepare planned_query as " + prepared).executeUpdate();
+        final String values = parameters == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parameters, "null")) + ")";
+        final List<Object> lines = entityManager.createNativeQuery("explain execute planned_query" + values).getResultList();
+        entityManager.createNativeQuery("deallocate planned_query").executeUpdate();
+        return lines.stream().map(String::valueOf).collect(Collectors.joining("\n")) + "\n";
+    }
+}
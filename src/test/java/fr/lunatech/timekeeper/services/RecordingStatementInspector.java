@@ -0,0 +1,53 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package fr.lunatech.timekeeper.services;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the SQL prepared by Hibernate, including the native queries, between {@link #start()} and {@link #stop()}.
+ * It is registered for the tests in hibernate.properties.
+ */
+public class RecordingStatementInspector implements StatementInspector {
+
+    private static final List<String> statements = new ArrayList<>();
+
+    private static boolean recording = false;
+
+    public static synchronized void start() {
+        statements.clear();
+        recording = true;
+    }
+
+    public static synchronized List<String> stop() {
+        recording = false;
+        return List.copyOf(statements);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (RecordingStatementInspector.class) {
+            if (recording) {
+                statements.add(sql);
+            }
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services;
+
+import fr.lunatech.timekeeper.services.events.HoursChangedEvent;
+import fr.lunatech.timekeeper.services.requests.ReportRequest;
+import fr.lunatech.timekeeper.services.responses.ReportResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import static fr.lunatech.timekeeper.services.requests.ReportRequest.Dimension.BILLABLE;
+import static fr.lunatech.timekeeper.services.requests.ReportRequest.Dimension.CLIENT;
+import static fr.lunatech.timekeeper.services.requests.ReportRequest.Dimension.MONTH;
+import static fr.lunatech.timekeeper.services.requests.ReportRequest.Dimension.USER;
+import static fr.lunatech.timekeeper.services.requests.ReportRequest.Dimension.WEEK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportServiceTest {
+
+    private final ReportRequest january = ReportRequest.of("2020-01-01", "2020-01-31", List.of("project"));
+    private final ReportRequest february = ReportRequest.of("2020-02-01", "2020-02-29", List.of("project"));
+
+    @Test
+    void shouldOnlyCloseThePeriodsEndedBeforeTheCurrentMonth() {
+        assertTrue(ReportService.isClosed(january, LocalDate.of(2020, 2, 1)));
+        assertFalse(ReportService.isClosed(february, LocalDate.of(2020, 2, 29)));
+        assertFalse(ReportService.isClosed(january, LocalDate.of(2020, 1, 31)));
+    }
+
+    @Test
+    void shouldGroupByTheDimensionsInTheDatabase() {
+        final String query = ReportService.buildQuery(ReportService.Source.ENTRIES, List.of(USER, CLIENT, WEEK), true);
+
+        assertTrue(query.startsWith("select u.id, concat_ws(' ', u.firstname, u.lastname), c.id, c.name, cast(date_trunc('week', te.startdatetime) as date), "), query);
+        assertTrue(query.contains(" and p.organization_id = ?3"), query);
+        assertTrue(query.endsWith(" group by u.id, u.firstname, u.lastname, c.id, c.name, cast(date_trunc('week', te.startdatetime) as date)" +
+                " order by u.id, u.firstname, u.lastname, c.id, c.name, cast(date_trunc('week', te.startdatetime) as date)"), query);
+        assertFalse(ReportService.buildQuery(ReportService.Source.ENTRIES, List.of(USER), false).contains("?3"));
+    }
+
+    @Test
+    void shouldReadTheBillableFlagAndTheMonthFromTheSnapshots() {
+        final String query = ReportService.buildQuery(ReportService.Source.SNAPSHOTS, List.of(BILLABLE, MONTH), true);
+
+        assertTrue(query.startsWith("select h.billable, s.month, cast(sum(h.hours) as bigint) from monthly_hours s"), query);
+        assertTrue(query.contains(" and s.organization_id = ?3"), query);
+        assertTrue(query.endsWith(" group by h.billable, s.month order by h.billable, s.month"), query);
+    }
+
+    @Test
+    void shouldOnlyUseTheSnapshotsForWholeMonths() {
+        assertTrue(ReportService.canUseSnapshots(ReportRequest.of("2020-01-01", "2020-02-29", List.of("client,billable,month"))));
+        assertTrue(ReportService.canUseSnapshots(february));
+        assertFalse(ReportService.canUseSnapshots(ReportRequest.of("2020-01-02", "2020-01-31", List.of("project"))));
+        assertFalse(ReportService.canUseSnapshots(ReportRequest.of("2020-02-01", "2020-02-28", List.of("project"))));
+        assertFalse(ReportService.canUseSnapshots(ReportRequest.of("2020-01-01", "2020-01-31", List.of("project,week"))));
+    }
+
+    @Test
+    void shouldEvictTheReportsOfTheChangedDays() {
+        final ReportCache cache = new ReportCache(10);
+        cache.get(1L, january, () -> response(january));
+        cache.get(1L, february, () -> response(february));
+        cache.get(null, january, () -> response(january));
+
+        assertTrue(cache.get(1L, ReportRequest.of("2020-01-01", "2020-01-31", List.of("project"))).isPresent());
+        assertFalse(cache.get(2L, january).isPresent());
+
+        cache.evict(HoursChangedEvent.of(LocalDate.of(2020, 1, 31)));
+
+        assertEquals(1, cache.size());
+        assertTrue(cache.get(1L, february).isPresent());
+
+        cache.evict(HoursChangedEvent.allDays());
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldDropTheLeastRecentlyUsedReport() {
+        final ReportCache cache = new ReportCache(2);
+        cache.get(1L, january, () -> response(january));
+        cache.get(2L, january, () -> response(january));
+        cache.get(1L, january);
+        cache.get(3L, january, () -> response(january));
+
+        assertTrue(cache.get(1L, january).isPresent());
+        assertFalse(cache.get(2L, january).isPresent());
+        assertTrue(cache.get(3L, january).isPresent());
+    }
+
+    @Test
+    void shouldNotKeepAReportComputedDuringAnEviction() {
+        final ReportCache cache = new ReportCache(10);
+        cache.get(1L, january, () -> {
+            cache.evict(HoursChangedEvent.of(LocalDate.of(2020, 1, 31)));
+            return response(january);
+        });
+
+        assertFalse(cache.get(1L, january).isPresent());
+        cache.get(1L, january, () -> response(january));
+        assertTrue(cache.get(1L, january).isPresent());
+    }
+
+    private static ReportResponse response(ReportRequest request) {
+        return new ReportResponse(request.getFrom(), request.getTo(), request.getGroupBy(), Collections.emptyList());
+    }
+}
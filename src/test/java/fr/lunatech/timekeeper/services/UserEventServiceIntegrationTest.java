@@ -16,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import javax.inject.Inject;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 import static fr.lunatech.timekeeper.resources.utils.DataTestProvider.THE_24_TH_JUNE_2020_AT_5_PM;
 import static fr.lunatech.timekeeper.resources.utils.DataTestProvider.THE_24_TH_JUNE_2020_AT_9_AM;
@@ -54,9 +55,10 @@ class UserEventServiceIntegrationTest {
         //WHEN: an eventTemplate is created with the 1 attendee
         final EventTemplateRequest newEventTemplate = dataTestProvider.generateEventTemplateRequest("Event Name 1", THE_24_TH_JUNE_2020_AT_9_AM, THE_24_TH_JUNE_2020_AT_5_PM, userSam.getId());
         create(newEventTemplate, adminToken);
-        final var expected = userEventService.getEventsByUser(userSam.getId(), TimeKeeperDateUtils.getWeekNumberFromDate(THE_24_TH_JUNE_2020_AT_9_AM.toLocalDate()), 2020, TimeKeeperDateUtils::getWeekNumberFromDate);
+        final var actual = userEventService.getEventsByUserForWeekNumber(userSam.getId(), TimeKeeperDateUtils.getWeekNumberFromDate(THE_24_TH_JUNE_2020_AT_9_AM.toLocalDate()), 2020);
 
-        assertEquals(expected, userEventService.getEventsByUserForWeekNumber(userSam.getId(), TimeKeeperDateUtils.getWeekNumberFromDate(THE_24_TH_JUNE_2020_AT_9_AM.toLocalDate()), 2020));
+        assertEquals(1, actual.size());
+        assertEquals("Event Name 1", actual.get(0).getName());
     }
 
     @Test
@@ -74,19 +76,32 @@ class UserEventServiceIntegrationTest {
                         userSam.getId()
                 );
         create(newEventTemplate, adminToken);
-        final var expected = userEventService.getEventsByUser(
-                userSam.getId(),
-                TimeKeeperDateUtils.getMonthNumberFromDate(
-                        THE_24_TH_JUNE_2020_AT_9_AM.toLocalDate()
-                ), 2020, TimeKeeperDateUtils::getMonthNumberFromDate
-        );
         final var actual = userEventService.getEventsByUserForMonthNumber(
                 userSam.getId(),
                 TimeKeeperDateUtils.getMonthNumberFromDate(THE_24_TH_JUNE_2020_AT_9_AM.toLocalDate()),
                 2020
         );
-        assertEquals(expected, actual);
+        assertEquals(1, actual.size());
+        assertEquals("Event Name 2", actual.get(0).getName());
+    }
+
+    @Test
+    void shouldGetEventsByUserForEachWeekOfAnEventSpanningSeveralWeeks() {
+        //Given
+        final String adminToken = getAdminAccessToken();
+        final UserResponse userSam = create(adminToken);
+
+        //WHEN: an eventTemplate from the 24th of June to the 7th of July is created with the 1 attendee
+        final LocalDateTime end = THE_24_TH_JUNE_2020_AT_5_PM.plusDays(13);
+        final EventTemplateRequest newEventTemplate = dataTestProvider.generateEventTemplateRequest("Event Name 5", THE_24_TH_JUNE_2020_AT_9_AM, end, userSam.getId());
+        create(newEventTemplate, adminToken);
 
+        //THEN the event belongs to the three weeks it overlaps, and not to the following one
+        final int firstWeek = TimeKeeperDateUtils.getWeekNumberFromDate(THE_24_TH_JUNE_2020_AT_9_AM.toLocalDate());
+        assertEquals(1, userEventService.getEventsByUserForWeekNumber(userSam.getId(), firstWeek, 2020).size());
+        assertEquals(1, userEventService.getEventsByUserForWeekNumber(userSam.getId(), firstWeek + 1, 2020).size());
+        assertEquals(1, userEventService.getEventsByUserForWeekNumber(userSam.getId(), firstWeek + 2, 2020).size());
+        assertEquals(List.of(), userEventService.getEventsByUserForWeekNumber(userSam.getId(), firstWeek + 3, 2020));
     }
 
     @Test
@@ -216,4 +231,25 @@ class UserEventServiceIntegrationTest {
         final LocalDateTime endBefore = newEventTemplate.getEndDateTime().plusHours(1);
         assertFalse(userEventService.isUserAvailableForDates(sam.getId(), startBefore, endBefore));
     }
+
+    @Test
+    void shouldFindOnlyTheBusyUsersWithOneQuery() {
+        //WITH: Unique EventName
+        final String eventName = RandomStringUtils.randomAlphabetic(15);
+
+        //GIVEN: 2 user
+        final String samToken = getAdminAccessToken();
+        final var sam = create(samToken);
+        final var jimmy = create(getUserAccessToken());
+
+        //WHEN: an eventTemplateRequest is created with SAM as an attendee
+        final EventTemplateRequest newEventTemplate = dataTestProvider.generateEventTemplateRequest(eventName, THE_24_TH_JUNE_2020_AT_9_AM, THE_24_TH_JUNE_2020_AT_5_PM, sam.getId());
+        create(newEventTemplate, samToken);
+
+        //THEN only SAM is busy during an overlapping event
+        final LocalDateTime startAfter = newEventTemplate.getStartDateTime().plusHours(1);
+        final LocalDateTime endAfter = newEventTemplate.getEndDateTime().plusHours(1);
+        assertEquals(Set.of(sam.getId()), userEventService.findBusyUsersForDates(List.of(sam.getId(), jimmy.getId()), startAfter, endAfter));
+        assertEquals(Set.of(), userEventService.findBusyUsersForDates(List.of(sam.getId(), jimmy.getId()), startAfter.plusDays(1), endAfter.plusDays(1)));
+    }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class VersionTagTest {
+
+    @Test
+    void shouldBuildTheSameValueFromTheSameVersions() {
+        final String first = new VersionTag().add("Project", 1L, 2L).add("Client", 3L, 0L).value();
+        final String second = new VersionTag().add("Project", 1L, 2L).add("Client", 3L, 0L).value();
+
+        assertEquals(first, second);
+        assertEquals(64, first.length());
+    }
+
+    @Test
+    void shouldChangeTheValueWhenAVersionChanges() {
+        final String before = new VersionTag().add("Project", 1L, 2L).add("Client", 3L, 0L).value();
+        final String after = new VersionTag().add("Project", 1L, 2L).add("Client", 3L, 1L).value();
+
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void shouldChangeTheValueWhenAnEntityIsAdded() {
+        final String before = new VersionTag().add("Project", 1L, 2L).value();
+        final String after = new VersionTag().add("Project", 1L, 2L).add("Project", 4L, 0L).value();
+
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void shouldTellApartEntitiesOfDifferentTypes() {
+        final String project = new VersionTag().add("Project", 1L, 0L).value();
+        final String client = new VersionTag().add("Client", 1L, 0L).value();
+
+        assertNotEquals(project, client);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.services.requests;
+
+import fr.lunatech.timekeeper.services.exceptions.IllegalEntityStateException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static fr.lunatech.timekeeper.services.requests.ReportRequest.Dimension.BILLABLE;
+import static fr.lunatech.timekeeper.services.requests.ReportRequest.Dimension.MONTH;
+import static fr.lunatech.timekeeper.services.requests.ReportRequest.Dimension.PROJECT;
+import static fr.lunatech.timekeeper.services.requests.ReportRequest.Dimension.USER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReportRequestTest {
+
+    @Test
+    void shouldParseTheDimensionsInTheRequestedOrder() {
+        final ReportRequest request = ReportRequest.of("2020-01-01", "2020-01-31", List.of("user, Project", "month", "billable", "user"));
+
+        assertEquals(LocalDate.of(2020, 1, 1), request.getFrom());
+        assertEquals(LocalDate.of(2020, 1, 31), request.getTo());
+        assertEquals(List.of(USER, PROJECT, MONTH, BILLABLE), request.getGroupBy());
+    }
+
+    @Test
+    void shouldAcceptASingleDay() {
+        final ReportRequest request = ReportRequest.of("2020-01-01", "2020-01-01", List.of("project"));
+
+        assertEquals(request.getFrom(), request.getTo());
+    }
+
+    @Test
+    void shouldRejectAnInvalidRequest() {
+        assertThrows(IllegalEntityStateException.class, () -> ReportRequest.of(null, "2020-01-31", List.of("project")));
+        assertThrows(IllegalEntityStateException.class, () -> ReportRequest.of("01/01/2020", "2020-01-31", List.of("project")));
+        assertThrows(IllegalEntityStateException.class, () -> ReportRequest.of("2020-02-01", "2020-01-31", List.of("project")));
+        assertThrows(IllegalEntityStateException.class, () -> ReportRequest.of("2020-01-01", "2020-01-31", null));
+        assertThrows(IllegalEntityStateException.class, () -> ReportRequest.of("2020-01-01", "2020-01-31", List.of(" , ")));
+        assertThrows(IllegalEntityStateException.class, () -> ReportRequest.of("2020-01-01", "2020-01-31", List.of("project,year")));
+        assertThrows(IllegalEntityStateException.class, () -> ReportRequest.of("2020-01-01", "2020-01-31", List.of("week,month")));
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package fr.lunatech.timekeeper.services.responses;
+
+import fr.lunatech.timekeeper.models.User;
+import fr.lunatech.timekeeper.models.time.EventTemplate;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class EventTemplateResponseTest {
+
+    private EventTemplate eventTemplate() {
+        final EventTemplate eventTemplate = new EventTemplate();
+        eventTemplate.id = 1L;
+        eventTemplate.name = "Hackbreakfast";
+        eventTemplate.description = "description";
+        eventTemplate.startDateTime = LocalDateTime.of(2020, 6, 24, 8, 0);
+        eventTemplate.endDateTime = LocalDateTime.of(2020, 6, 24, 10, 0);
+        return eventTemplate;
+    }
+
+    @Test
+    void shouldCountTheAttendees() {
+        final User sam = new User(1L, "Sam", "Uell", "sam@lunatech.fr", "sam.png");
+        final User jimmy = new User(2L, "Jimmy", "James", "jimmy@lunatech.fr", "jimmy.png");
+
+        final EventTemplateResponse tested = EventTemplateResponse.bind(eventTemplate(), List.of(sam, jimmy));
+
+        assertEquals(2, tested.getAttendees().size());
+        assertEquals(2L, tested.getAttendeesCount());
+    }
+
+    @Test
+    void shouldBindOnlyTheNumberOfAttendees() {
+        final EventTemplateResponse tested = EventTemplateResponse.bindWithAttendeesCount(eventTemplate(), 12L);
+
+        assertNull(tested.getAttendees());
+        assertEquals(12L, tested.getAttendeesCount());
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package fr.lunatech.timekeeper.services.responses;
+
+import fr.lunatech.timekeeper.services.requests.PageRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PageResponseTest {
+
+    @Test
+    void shouldReturnAnEmptyPageWithoutCursor() {
+        final PageResponse<String> tested = PageResponse.bind(Collections.<Long>emptyList(), new PageRequest(PageRequest.FIRST_PAGE, 2), Function.identity(), String::valueOf);
+
+        assertTrue(tested.getItems().isEmpty());
+        assertEquals(Optional.empty(), tested.getNextCursor());
+    }
+
+    @Test
+    void shouldReturnTheLastPageWithoutCursor() {
+        final PageResponse<String> tested = PageResponse.bind(List.of(3L, 4L), new PageRequest(2L, 2), Function.identity(), String::valueOf);
+
+        assertEquals(List.of("3", "4"), tested.getItems());
+        assertEquals(Optional.empty(), tested.getNextCursor());
+    }
+
+    @Test
+    void shouldDropTheExtraRowAndReturnTheCursorOfTheLastItem() {
+        final PageResponse<String> tested = PageResponse.bind(List.of(3L, 4L, 7L), new PageRequest(2L, 2), Function.identity(), String::valueOf);
+
+        assertEquals(List.of("3", "4"), tested.getItems());
+        assertEquals(Optional.of(4L), tested.getNextCursor());
+    }
+}
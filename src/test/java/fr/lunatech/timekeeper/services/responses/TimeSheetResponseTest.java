@@ -16,6 +16,10 @@
 
 package fr.lunatech.timekeeper.services.responses;
 
+import fr.lunatech.timekeeper.models.Project;
+import fr.lunatech.timekeeper.models.User;
+import fr.lunatech.timekeeper.models.time.TimeEntry;
+import fr.lunatech.timekeeper.models.time.TimeSheet;
 import fr.lunatech.timekeeper.timeutils.TimeUnit;
 import org.junit.jupiter.api.Test;
 
@@ -25,115 +29,44 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class TimeSheetResponseTest {
 
     final LocalDate START_DATE = LocalDate.now();
 
     @Test
-    void shouldFilterSixWeeksTo_EmptyListIfTimeSheetResponseHasNoEntries(){
-        TimeSheetResponse tested = new TimeSheetResponse(
-                1L,
-                null,
-                2L,
-                TimeUnit.DAY,
-                true,
-                LocalDate.MAX,
-                -1,
-                "toto",
-                Collections.emptyList(),
-                3L,
-                START_DATE
-        );
-        assertTrue(tested.filterToSixWeeksRange(2020,2).entries.isEmpty());
-    }
-
-    @Test
-    void should_drop_entries_not_in_6_weeks_timerange(){
-        TimeSheetResponse.TimeEntryResponse july14 = new TimeSheetResponse.TimeEntryResponse(1L,
-                "comment",
-                LocalDateTime.of(2020,7,14,9,0),
-                8L
-        );
-        TimeSheetResponse.TimeEntryResponse august15 = new TimeSheetResponse.TimeEntryResponse(2L,
-                "comment",
-                LocalDateTime.of(2020,8,15,9,0),
-                8L
-        );
-        TimeSheetResponse.TimeEntryResponse junePreviousYear = new TimeSheetResponse.TimeEntryResponse(3L,
-                "comment",
-                LocalDateTime.of(2019,6,14,9,0),
-                4L
-        );
-
-        List<TimeSheetResponse.TimeEntryResponse> initialDates = List.of(july14,junePreviousYear,august15);
-        List<TimeSheetResponse.TimeEntryResponse> expectedList = List.of(july14);
+    void shouldBindOnlyTheGivenEntriesButComputeLeftOverFromTheTimeSheet(){
+        final Project project = new Project();
+        project.id = 1L;
+        project.name = "project";
+        project.billable = true;
+        project.description = "description";
+        project.publicAccess = true;
+        project.users = Collections.emptyList();
+        project.version = 0L;
 
+        final User owner = new User(2L, "Sam", "Doe", "sam@lunatech.fr", "");
 
-        TimeSheetResponse tested = new TimeSheetResponse(
-                1L,
-                null,
-                2L,
-                TimeUnit.DAY,
-                true,
-                LocalDate.MAX,
-                -1,
-                "toto",
-                initialDates,
-                3L,
-                START_DATE
-        );
-        assertEquals(expectedList, tested.filterToSixWeeksRange(2020,7).entries);
-    }
-
-    // Open the 2020 calendar on a Mac, go to the "Year" view and look at January 2020
-    // We expected to see the last week of 2019 and the first week of february on the "6 weeks view" of january 2020
-    @Test
-    void should_keepdates_in_6_weeks_timerange(){
-        TimeSheetResponse.TimeEntryResponse december29 = new TimeSheetResponse.TimeEntryResponse(1L,
-                "comment",
-                LocalDateTime.of(2019,12,29,9,0),
-                8L
-        );
-        TimeSheetResponse.TimeEntryResponse december30 = new TimeSheetResponse.TimeEntryResponse(2L,
-                "comment",
-                LocalDateTime.of(2019,12,30,9,00),
-                8L
-        );
-        TimeSheetResponse.TimeEntryResponse january20 = new TimeSheetResponse.TimeEntryResponse(3L,
-                "comment",
-                LocalDateTime.of(2020,1,20,9,00),
-                8L
-        );
-        TimeSheetResponse.TimeEntryResponse february9 = new TimeSheetResponse.TimeEntryResponse(4L,
-                "comment",
-                LocalDateTime.of(2020,2,9,9,00),
-                4L
-        );
-        TimeSheetResponse.TimeEntryResponse february10 = new TimeSheetResponse.TimeEntryResponse(5L,
-                "comment",
-                LocalDateTime.of(2020,2,10,9,00),
-                4L
-        );
+        final TimeSheet sheet = new TimeSheet(project, owner, TimeUnit.HOURLY, true, null, 10, TimeUnit.DAY, Collections.emptyList(), START_DATE);
+        final TimeEntry inWeek = new TimeEntry();
+        inWeek.id = 3L;
+        inWeek.comment = "in week";
+        inWeek.startDateTime = LocalDateTime.of(2020, 7, 14, 9, 0);
+        inWeek.endDateTime = inWeek.startDateTime.plusHours(8);
+        inWeek.timeSheet = sheet;
+        final TimeEntry outOfWeek = new TimeEntry();
+        outOfWeek.id = 4L;
+        outOfWeek.comment = "out of week";
+        outOfWeek.startDateTime = LocalDateTime.of(2020, 6, 14, 9, 0);
+        outOfWeek.endDateTime = outOfWeek.startDateTime.plusHours(8);
+        outOfWeek.timeSheet = sheet;
+        sheet.entries = List.of(inWeek, outOfWeek);
+        sheet.consumedHours = 16L;
 
-        List<TimeSheetResponse.TimeEntryResponse> initialDates = List.of(december29,december30,january20,february9,february10);
-        List<TimeSheetResponse.TimeEntryResponse> expectedList = List.of(december30,january20,february9);
+        final TimeSheetResponse tested = TimeSheetResponse.bind(sheet, List.of(inWeek));
 
-        TimeSheetResponse tested = new TimeSheetResponse(
-                1L,
-                null,
-                2L,
-                TimeUnit.DAY,
-                true,
-                LocalDate.MAX,
-                -1,
-                "toto",
-                initialDates,
-                3L,
-                START_DATE
-        );
-        assertEquals(expectedList, tested.filterToSixWeeksRange(2020,1).entries);
+        assertEquals(1, tested.entries.size());
+        assertEquals(inWeek.id, tested.entries.get(0).id);
+        assertEquals(8L, tested.leftOver);
     }
-
 }
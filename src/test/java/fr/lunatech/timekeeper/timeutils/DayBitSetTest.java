@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.timeutils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DayBitSetTest {
+
+    private final LocalDate monday = LocalDate.of(2020, 7, 13);
+    private final LocalDate sunday = LocalDate.of(2020, 7, 19);
+
+    @Test
+    void shouldReturnTheBusinessDaysThatAreNotFilled() {
+        final DayBitSet businessDays = new DayBitSet(monday, sunday)
+                .addAll(TimeKeeperDateUtils.getBusinessDays(monday, sunday));
+        final DayBitSet filled = new DayBitSet(monday, sunday)
+                .add(monday)
+                .add(monday.plusDays(2))
+                .add(sunday);
+
+        final DayBitSet missing = businessDays.minus(filled);
+
+        // The 14th of July is a public holiday
+        assertEquals(List.of(LocalDate.of(2020, 7, 16), LocalDate.of(2020, 7, 17)), missing.toDates());
+        assertEquals(2, missing.size());
+        assertEquals(4, businessDays.size());
+    }
+
+    @Test
+    void shouldIgnoreTheDaysOutOfThePeriod() {
+        final DayBitSet days = new DayBitSet(monday, sunday)
+                .add(monday.minusDays(1))
+                .add(sunday.plusDays(1));
+
+        assertTrue(days.isEmpty());
+    }
+
+    @Test
+    void shouldOnlyCompareTheSetsOfTheSamePeriod() {
+        final DayBitSet week = new DayBitSet(monday, sunday);
+        final DayBitSet nextWeek = new DayBitSet(monday.plusWeeks(1), sunday.plusWeeks(1));
+
+        assertThrows(IllegalArgumentException.class, () -> week.minus(nextWeek));
+    }
+}
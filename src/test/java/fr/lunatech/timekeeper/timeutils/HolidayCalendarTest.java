@@ -0,0 +1,127 @@
+/*
+ * Copyright 2020 Lunatech S.A.S
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package fr.lunatech.timekeeper.timeutils;
+
+import fr.lunatech.timekeeper.services.exceptions.CalendarNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HolidayCalendarTest {
+
+    @Test
+    void shouldComputeEasterSunday() {
+        assertEquals(LocalDate.of(2019, 4, 21), HolidayRule.easterSunday(2019));
+        assertEquals(LocalDate.of(2020, 4, 12), HolidayRule.easterSunday(2020));
+        assertEquals(LocalDate.of(2024, 3, 31), HolidayRule.easterSunday(2024));
+        assertEquals(LocalDate.of(2038, 4, 25), HolidayRule.easterSunday(2038));
+    }
+
+    @Test
+    void shouldListTheFrenchPublicHolidaysOf2021() {
+        assertEquals(List.of(
+                LocalDate.of(2021, 1, 1),
+                LocalDate.of(2021, 4, 5),
+                LocalDate.of(2021, 5, 1),
+                LocalDate.of(2021, 5, 8),
+                LocalDate.of(2021, 5, 13),
+                LocalDate.of(2021, 5, 24),
+                LocalDate.of(2021, 7, 14),
+                LocalDate.of(2021, 8, 15),
+                LocalDate.of(2021, 11, 1),
+                LocalDate.of(2021, 11, 11),
+                LocalDate.of(2021, 12, 25)
+        ), dates(CalendarFactory.instanceFor("FR", 2021).getPublicHolidays()));
+    }
+
+    @Test
+    void shouldMoveTheKingsDayBeforeASunday() {
+        final List<LocalDate> holidays = dates(CalendarFactory.instanceFor("nl", 2025).getPublicHolidays());
+        assertTrue(holidays.contains(LocalDate.of(2025, 4, 26)));
+        assertFalse(holidays.contains(LocalDate.of(2025, 4, 27)));
+        assertEquals("NL", CalendarFactory.instanceFor("NL", 2025).getPublicHolidays().get(0).getCountryCode());
+    }
+
+    @Test
+    void shouldNotCountTheWeekEndsAndPublicHolidaysAsBusinessDays() {
+        final List<LocalDate> businessDays = CalendarFactory.instanceFor("FR", 2020).getBusinessDays();
+        assertEquals(253, businessDays.size());
+        assertFalse(businessDays.contains(LocalDate.of(2020, 7, 14)));
+        assertFalse(businessDays.contains(LocalDate.of(2020, 7, 18)));
+        assertTrue(businessDays.contains(LocalDate.of(2020, 7, 15)));
+    }
+
+    @Test
+    void shouldCountTheBusinessDaysOfAPeriodOfTheYear() {
+        final Calendar calendar = CalendarFactory.instanceFor("FR", 2020);
+        assertEquals(253, calendar.businessDaysBetween(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31)));
+        assertEquals(4, calendar.businessDaysBetween(LocalDate.of(2020, 7, 13), LocalDate.of(2020, 7, 19)));
+        assertEquals(1, calendar.businessDaysBetween(LocalDate.of(2020, 7, 15), LocalDate.of(2020, 7, 15)));
+        assertEquals(0, calendar.businessDaysBetween(LocalDate.of(2020, 7, 14), LocalDate.of(2020, 7, 14)));
+        assertEquals(0, calendar.businessDaysBetween(LocalDate.of(2020, 7, 16), LocalDate.of(2020, 7, 15)));
+    }
+
+    @Test
+    void shouldCountOnlyTheDaysOfItsYear() {
+        final Calendar calendar = CalendarFactory.instanceFor("FR", 2020);
+        assertEquals(2, calendar.businessDaysBetween(LocalDate.of(2019, 12, 1), LocalDate.of(2020, 1, 3)));
+        assertEquals(2, calendar.businessDaysBetween(LocalDate.of(2020, 12, 30), LocalDate.of(2021, 1, 31)));
+        assertEquals(0, calendar.businessDaysBetween(LocalDate.of(2021, 1, 4), LocalDate.of(2021, 1, 8)));
+        assertFalse(calendar.isBusinessDay(LocalDate.of(2021, 1, 4)));
+    }
+
+    @Test
+    void shouldTellIfADayIsABusinessDay() {
+        final Calendar calendar = CalendarFactory.instanceFor("FR", 2020);
+        assertTrue(calendar.isBusinessDay(LocalDate.of(2020, 7, 15)));
+        assertFalse(calendar.isBusinessDay(LocalDate.of(2020, 7, 14)));
+        assertFalse(calendar.isBusinessDay(LocalDate.of(2020, 7, 18)));
+    }
+
+    @Test
+    void shouldListThePublicHolidaysOfAWeekAndOfTheSixWeeksOfAMonth() {
+        final Calendar calendar = CalendarFactory.instanceFor("FR", 2020);
+        assertEquals(List.of(LocalDate.of(2020, 7, 14)), dates(calendar.getPublicHolidaysForWeekNumber(29)));
+        assertEquals(List.of(), calendar.getPublicHolidaysForWeekNumber(30));
+        assertEquals(List.of(LocalDate.of(2020, 5, 1), LocalDate.of(2020, 5, 8), LocalDate.of(2020, 5, 21), LocalDate.of(2020, 6, 1)),
+                dates(calendar.getPublicHolidaysForMonthNumber(5)));
+    }
+
+    @Test
+    void shouldBuildEachCalendarOnce() {
+        assertSame(CalendarFactory.instanceFor("FR", 2030), CalendarFactory.instanceFor("fr", 2030));
+    }
+
+    @Test
+    void shouldNotFindACalendarForAnUnknownLocaleOrYear() {
+        assertThrows(CalendarNotFoundException.class, () -> CalendarFactory.instanceFor("XX", 2020));
+        assertThrows(CalendarNotFoundException.class, () -> CalendarFactory.instanceFor("FR", CalendarFactory.MAX_YEAR + 1));
+    }
+
+    private static List<LocalDate> dates(List<PublicHoliday> publicHolidays) {
+        return publicHolidays.stream().map(publicHoliday -> publicHoliday.date).collect(Collectors.toList());
+    }
+}
@@ -139,6 +139,23 @@ class TimeKeeperDateUtilsTest {
         assertEquals("2020-06-11", TimeKeeperDateUtils.formatToString(inputDate));
     }
 
+    @Test
+    void shouldReturnMondayOfFirstWeekOfMonth() {
+        // The 1st of February 2020 is a Saturday
+        assertEquals(LocalDate.of(2020, 1, 27), TimeKeeperDateUtils.getFirstDayOfSixWeeksFromMonth(2020, 2));
+    }
+
+    @Test
+    void shouldReturnFirstDayOfMonthWhenItIsAMonday() {
+        assertEquals(LocalDate.of(2020, 6, 1), TimeKeeperDateUtils.getFirstDayOfSixWeeksFromMonth(2020, 6));
+    }
+
+    @Test
+    void shouldReturnMondayOfPreviousYearForJanuary() {
+        // The 1st of January 2021 belongs to the week 53 of 2020
+        assertEquals(LocalDate.of(2020, 12, 28), TimeKeeperDateUtils.getFirstDayOfSixWeeksFromMonth(2021, 1));
+    }
+
     @Test
     void shouldBeTrueForFirstDayOfMonth() {
         LocalDate inputDate = LocalDate.of(2020, 2, 1);
@@ -563,6 +580,14 @@ class TimeKeeperDateUtilsTest {
     @Test
     void shouldThrowAnExceptionIfOneIsNotDefined() {
         Assertions.assertThrows(CalendarNotFoundException.class, () ->
+                TimeKeeperDateUtils.computeTotalNumberOfHours(
+                        LocalDateTime.of(2199, 12, 31, 16, 0), LocalDateTime.of(2200, 1, 2, 10, 0)));
+    }
+
+    @Test
+    void shouldComputeHoursBridgingNewYear2020() {
+        // The 1st of January is a public holiday
+        assertEquals(18L,
                 TimeKeeperDateUtils.computeTotalNumberOfHours(
                         THE_29_TH_DECEMBER_2019_AT_16_PM, THE_3_RD_JANUARY_2020_AT_10_AM));
     }
@@ -268,6 +268,28 @@ class TimeSheetUtilsTest {
         assertThat(TimeSheetUtils.computeLeftOver(timesheet),is(3L));
     }
 
+    @Test
+    void shouldComputeLeftOver_fromTheConsumedHoursWithoutTheEntries() {
+        //GIVEN a timeSheet with a limit of 10 DAYS, whose entries are not loaded
+        TimeSheet timesheet = new TimeSheet(
+                null,
+                null,
+                TimeUnit.HOURLY,
+                true,
+                null,
+                10,
+                TimeUnit.DAY,
+                null,
+                START_DATE
+        );
+
+        //WHEN 64 hours were consumed
+        timesheet.consumedHours = 64L;
+
+        //THEN: 2 days left
+        assertThat(TimeSheetUtils.computeLeftOver(timesheet), is(2L));
+    }
+
     private List<TimeEntry> generateTestEntries (int numberOfEntry, int hourPerEntry){
         LocalDateTime now = LocalDateTime.now();
         if (hourPerEntry < 0) throw new IllegalStateException("Invalid duration");